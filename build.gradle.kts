@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.4.4"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "uz.consorgroup"
@@ -92,6 +93,12 @@ dependencies {
     // Redis
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
 
+    // Caffeine
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
+    // LZ4
+    implementation("org.lz4:lz4-java:1.8.0")
+
     //Actuator
     implementation("org.springframework.boot:spring-boot-starter-actuator")
 
@@ -104,3 +111,7 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+jmh {
+    jmhVersion = "1.37"
+}
@@ -0,0 +1,102 @@
+package uz.consortgroup.userservice.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.convert.Bucket;
+import org.springframework.data.redis.core.convert.MappingRedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserStatus;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+import uz.consortgroup.userservice.service.cache.store.UserCacheEntityCodec;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Run with ./gradlew jmh; Redis-side overhead of the hash format comes on top of the printed payload
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserCacheCodecBenchmark {
+    private MappingRedisConverter converter;
+    private UserCacheEntityCodec codec;
+    private UserCacheEntity user;
+    private Map<byte[], byte[]> hash;
+    private byte[] binary;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        converter = new MappingRedisConverter(new RedisMappingContext(), null, null);
+        converter.afterPropertiesSet();
+        codec = new UserCacheEntityCodec(256);
+        user = UserCacheEntity.builder()
+                .id(UUID.randomUUID())
+                .language("UZBEK")
+                .firstName("John")
+                .middleName("Michael")
+                .lastName("Doe")
+                .bornDate(LocalDate.of(1990, 5, 17))
+                .phoneNumber("+998901234567")
+                .workPlace("Consort Group")
+                .email("john.doe@example.com")
+                .position("Engineer")
+                .pinfl("12345678901234")
+                .isVerified(true)
+                .role(UserRole.STUDENT)
+                .status(UserStatus.ACTIVE)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .lastLoginAt(LocalDateTime.now())
+                .build();
+
+        RedisData redisData = new RedisData();
+        converter.write(user, redisData);
+        hash = redisData.getBucket().rawMap();
+        binary = codec.encode(user);
+
+        int hashBytes = hash.entrySet().stream()
+                .mapToInt(entry -> entry.getKey().length + entry.getValue().length)
+                .sum();
+        System.out.printf("%nhash payload: %d fields, %d bytes; binary payload: %d bytes%n",
+                hash.size(), hashBytes, binary.length);
+    }
+
+    @Benchmark
+    public RedisData hashWrite() {
+        RedisData redisData = new RedisData();
+        converter.write(user, redisData);
+        return redisData;
+    }
+
+    @Benchmark
+    public UserCacheEntity hashRead() {
+        RedisData redisData = new RedisData(Bucket.newBucketFromRawMap(hash));
+        return converter.read(UserCacheEntity.class, redisData);
+    }
+
+    @Benchmark
+    public byte[] binaryWrite() {
+        return codec.encode(user);
+    }
+
+    @Benchmark
+    public UserCacheEntity binaryRead() {
+        return codec.decode(binary);
+    }
+}
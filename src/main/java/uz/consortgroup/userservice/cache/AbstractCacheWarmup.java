@@ -5,14 +5,22 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.math.BigInteger;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Slf4j
 public abstract class AbstractCacheWarmup<T, E> {
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    private static final UUID MAX_ID = new UUID(-1L, -1L);
+    private static final int MAX_ATTEMPTS = 3;
+
     @Value("${cache.redis-batch-size}")
     private int batchSize;
 
@@ -22,18 +30,34 @@ public abstract class AbstractCacheWarmup<T, E> {
     @Value("${cache.warmup.timeout:30000}")
     private int warmupTimeout;
 
+    @Value("${cache.warmup.parallelism:4}")
+    private int parallelism;
+
+    @Value("${cache.warmup.min-batch-size:100}")
+    private int minBatchSize;
+
+    @Value("${cache.warmup.max-batch-size:2000}")
+    private int maxBatchSize;
+
+    @Value("${cache.warmup.target-latency-ms:50}")
+    private long targetLatencyMs;
+
+    @Value("${cache.warmup.checkpoint-ttl:1h}")
+    private Duration checkpointTtl;
+
     private final ThreadPoolTaskExecutor taskExecutor;
+    private final WarmupCheckpointStore checkpointStore;
 
-    protected AbstractCacheWarmup(ThreadPoolTaskExecutor taskExecutor) {
+    protected AbstractCacheWarmup(ThreadPoolTaskExecutor taskExecutor, WarmupCheckpointStore checkpointStore) {
         this.taskExecutor = taskExecutor;
+        this.checkpointStore = checkpointStore;
     }
 
     @PostConstruct
     public void init() {
         if (warmupEnabled) {
             log.info("Starting {} cache warmup", getCacheName());
-            CompletableFuture.runAsync(this::warmUpCache, taskExecutor)
-                    .orTimeout(warmupTimeout, TimeUnit.MILLISECONDS)
+            warmUpCacheAsync()
                     .exceptionally(ex -> {
                         log.error("Cache warmup failed for {}", getCacheName(), ex);
                         return null;
@@ -44,47 +68,139 @@ public abstract class AbstractCacheWarmup<T, E> {
     }
 
     protected void warmUpCache() {
-        UUID lastId = new UUID(0L, 0L);
-        boolean hasMore;
-        int maxAttempts = 3;
+        warmUpCacheAsync().join();
+    }
+
+    protected CompletableFuture<Void> warmUpCacheAsync() {
+        int partitions = Math.max(1, parallelism);
+        long deadline = warmupDeadline();
+
+        CompletableFuture<?>[] workers = IntStream.range(0, partitions)
+                .mapToObj(partition -> CompletableFuture.runAsync(
+                        () -> warmUp(getCacheName(), partition, partitions, deadline, new IdRangeWalk(partition, partitions)),
+                        taskExecutor))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(workers)
+                .thenRun(() -> log.info("{} cache warmup completed", getCacheName()));
+    }
+
+    protected final long warmupDeadline() {
+        return warmupTimeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(warmupTimeout) : 0L;
+    }
+
+    protected void saveToCache(List<T> entities) {
+        List<E> cacheEntities = entities.stream()
+                .map(this::mapToCacheEntity)
+                .collect(Collectors.toList());
+        saveCache(cacheEntities);
+    }
+
+    protected final <C> void warmUp(String name, int partition, int partitions, long deadline, WarmupWalk<C, T> walk) {
+        C cursor = walk.start(checkpointStore.load(name, partition, partitions));
+        AdaptiveBatchSize adaptiveBatchSize = new AdaptiveBatchSize(batchSize, minBatchSize, maxBatchSize, targetLatencyMs);
+        long cached = 0;
         int attempt = 0;
+        boolean hasMore = true;
+
+        while (hasMore) {
+            if (deadline != 0L && System.nanoTime() - deadline > 0) {
+                log.warn("{} cache warmup of partition {}/{} timed out after {} entries, will resume from {}",
+                        name, partition, partitions, cached, cursor);
+                return;
+            }
 
-        do {
             try {
-                List<T> entities = fetchBatch(lastId, batchSize);
-                hasMore = !entities.isEmpty();
+                int requested = adaptiveBatchSize.current();
+                List<T> entities = walk.fetch(cursor, requested);
+                boolean fullPage = entities.size() >= requested;
 
-                if (hasMore) {
+                if (!entities.isEmpty()) {
+                    long start = System.nanoTime();
                     saveToCache(entities);
-                    lastId = getLastId(entities);
-                    log.debug("Cached {} {}, last ID: {}", entities.size(), getCacheName(), lastId);
-                    attempt = 0;
+                    adaptiveBatchSize.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+                    cursor = walk.advance(cursor, entities);
+                    checkpointStore.save(name, partition, partitions, walk.checkpoint(cursor), checkpointTtl);
+                    cached += entities.size();
+                    log.debug("Cached {} {} in partition {}/{}, cursor: {}, next batch size: {}",
+                            entities.size(), name, partition, partitions, cursor, adaptiveBatchSize.current());
                 }
+                hasMore = fullPage;
+                attempt = 0;
             } catch (Exception e) {
                 attempt++;
-                if (attempt >= maxAttempts) {
-                    log.error("Max attempts reached for {} cache warmup, aborting", getCacheName(), e);
-                    hasMore = false;
-                } else {
-                    log.warn("Retry attempt {}/{} for {} cache warmup", attempt, maxAttempts, getCacheName(), e);
-                    hasMore = true;
+                if (attempt >= MAX_ATTEMPTS) {
+                    log.error("Max attempts reached for {} cache warmup of partition {}/{}, aborting",
+                            name, partition, partitions, e);
+                    return;
                 }
+                log.warn("Retry attempt {}/{} for {} cache warmup of partition {}/{}",
+                        attempt, MAX_ATTEMPTS, name, partition, partitions, e);
             }
-        } while (hasMore);
+        }
 
-        log.info("{} cache warmup completed", getCacheName());
+        // Only timed-out or aborted partitions resume; a finished one starts over on the next warmup
+        checkpointStore.clear(name, partition, partitions);
+        log.info("{} cache partition {}/{} warmed with {} entries", name, partition, partitions, cached);
     }
 
-    protected void saveToCache(List<T> entities) {
-        List<E> cacheEntities = entities.stream()
-                .map(this::mapToCacheEntity)
-                .collect(Collectors.toList());
-        saveCache(cacheEntities);
+    // Exclusive lower bound of a partition in PostgreSQL's byte-wise uuid order, cut on the unsigned high bits
+    private static UUID bound(int index, int partitions) {
+        if (index == 0) {
+            return MIN_ID;
+        }
+        if (index == partitions) {
+            return MAX_ID;
+        }
+        long firstMostSigBits = BigInteger.ONE.shiftLeft(64)
+                .multiply(BigInteger.valueOf(index))
+                .divide(BigInteger.valueOf(partitions))
+                .longValue();
+        return new UUID(firstMostSigBits - 1, -1L);
     }
 
-    protected abstract List<T> fetchBatch(UUID lastId, int batchSize);
+    protected abstract List<T> fetchBatch(UUID lastId, UUID upperBound, int batchSize);
     protected abstract UUID getLastId(List<T> entities);
     protected abstract E mapToCacheEntity(T entity);
     protected abstract void saveCache(List<E> cacheEntities);
     protected abstract String getCacheName();
+
+    // Keyset walk over the entities and the cursor, which the checkpoint stores as the last cached ID
+    protected interface WarmupWalk<C, T> {
+        C start(Optional<UUID> checkpoint);
+        List<T> fetch(C cursor, int limit);
+        C advance(C cursor, List<T> page);
+        UUID checkpoint(C cursor);
+    }
+
+    private final class IdRangeWalk implements WarmupWalk<UUID, T> {
+        private final UUID lowerBound;
+        private final UUID upperBound;
+
+        private IdRangeWalk(int partition, int partitions) {
+            this.lowerBound = bound(partition, partitions);
+            this.upperBound = bound(partition + 1, partitions);
+        }
+
+        @Override
+        public UUID start(Optional<UUID> checkpoint) {
+            return checkpoint.orElse(lowerBound);
+        }
+
+        @Override
+        public List<T> fetch(UUID lastId, int limit) {
+            return fetchBatch(lastId, upperBound, limit);
+        }
+
+        @Override
+        public UUID advance(UUID lastId, List<T> page) {
+            return getLastId(page);
+        }
+
+        @Override
+        public UUID checkpoint(UUID lastId) {
+            return lastId;
+        }
+    }
 }
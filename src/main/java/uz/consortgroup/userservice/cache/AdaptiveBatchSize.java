@@ -0,0 +1,31 @@
+package uz.consortgroup.userservice.cache;
+
+// AIMD: grows by a quarter while writes stay under the target latency, halves when they exceed it
+final class AdaptiveBatchSize {
+    private final int min;
+    private final int max;
+    private final long targetLatencyMs;
+    private int current;
+
+    AdaptiveBatchSize(int initial, int min, int max, long targetLatencyMs) {
+        this.current = Math.max(1, initial);
+        this.min = Math.max(1, Math.min(min, current));
+        this.max = Math.max(current, max);
+        this.targetLatencyMs = targetLatencyMs;
+    }
+
+    int current() {
+        return current;
+    }
+
+    void record(long latencyMs) {
+        if (targetLatencyMs <= 0) {
+            return;
+        }
+        if (latencyMs > targetLatencyMs) {
+            current = Math.max(min, current / 2);
+        } else {
+            current = Math.min(max, current + Math.max(1, current / 4));
+        }
+    }
+}
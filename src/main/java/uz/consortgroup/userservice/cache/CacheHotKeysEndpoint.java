@@ -0,0 +1,33 @@
+package uz.consortgroup.userservice.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.service.cache.CacheHotKeyTracker;
+import uz.consortgroup.userservice.service.cache.CacheHotKeyTracker.HotKey;
+
+import java.util.List;
+import java.util.Map;
+
+// Exposed only with the ops profile, which moves actuator to the internal management port
+@Component
+@Endpoint(id = "cachehotkeys")
+@RequiredArgsConstructor
+public class CacheHotKeysEndpoint {
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final CacheHotKeyTracker cacheHotKeyTracker;
+
+    @ReadOperation
+    public Map<String, List<HotKey>> hotKeys(@Nullable Integer limit) {
+        return cacheHotKeyTracker.topKeys(limit != null ? limit : DEFAULT_LIMIT);
+    }
+
+    @ReadOperation
+    public List<HotKey> hotKeysOfCache(@Selector String cache, @Nullable Integer limit) {
+        return cacheHotKeyTracker.topKeys(cache, limit != null ? limit : DEFAULT_LIMIT);
+    }
+}
@@ -0,0 +1,53 @@
+package uz.consortgroup.userservice.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisWarmupCheckpointStore implements WarmupCheckpointStore {
+    private static final String PREFIX = "cache_warmup:checkpoint:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public Optional<UUID> load(String cacheName, int partition, int partitions) {
+        try {
+            String value = redisTemplate.opsForValue().get(key(cacheName, partition, partitions));
+            return Optional.ofNullable(value).map(UUID::fromString);
+        } catch (Exception e) {
+            log.warn("Failed to load warmup checkpoint for {} partition {}/{}, starting from its lower bound",
+                    cacheName, partition, partitions, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(String cacheName, int partition, int partitions, UUID lastId, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(key(cacheName, partition, partitions), lastId.toString(), ttl);
+        } catch (Exception e) {
+            log.warn("Failed to save warmup checkpoint for {} partition {}/{}", cacheName, partition, partitions, e);
+        }
+    }
+
+    @Override
+    public void clear(String cacheName, int partition, int partitions) {
+        try {
+            redisTemplate.delete(key(cacheName, partition, partitions));
+        } catch (Exception e) {
+            log.warn("Failed to clear warmup checkpoint for {} partition {}/{}", cacheName, partition, partitions, e);
+        }
+    }
+
+    private static String key(String cacheName, int partition, int partitions) {
+        return PREFIX + cacheName + ":" + partitions + ":" + partition;
+    }
+}
@@ -1,37 +1,97 @@
 package uz.consortgroup.userservice.cache;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import uz.consortgroup.userservice.entity.User;
 import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
 import uz.consortgroup.userservice.mapper.UserCacheMapper;
 import uz.consortgroup.userservice.repository.UserRepository;
+import uz.consortgroup.userservice.service.cache.CacheWriteReport;
 import uz.consortgroup.userservice.service.cache.UserCacheServiceImpl;
+import uz.consortgroup.userservice.service.cache.store.UserCacheStore;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
 public class UserCache extends AbstractCacheWarmup<User, UserCacheEntity> {
     private static final String USER_CACHE = "userCache";
+    private static final String STRATEGY_RECENCY = "recency";
+    private static final String RECENCY_CHECKPOINT = USER_CACHE + ":recency";
+    private static final UUID MAX_ID = new UUID(-1L, -1L);
+    private static final int PAYLOAD_SAMPLES_PER_BATCH = 16;
 
+    @Value("${cache.warmup.user.strategy:recency}")
+    private String strategy;
+
+    @Value("${cache.warmup.user.max-entries:100000}")
+    private long maxEntries;
+
+    @Value("${cache.warmup.user.max-bytes:256MB}")
+    private DataSize maxBytes;
+
+    private final ThreadPoolTaskExecutor taskExecutor;
     private final UserCacheServiceImpl userCacheServiceImpl;
     private final UserRepository userRepository;
     private final UserCacheMapper userCacheMapper;
+    private final UserCacheStore userCacheStore;
 
-    public UserCache(ThreadPoolTaskExecutor taskExecutor, UserCacheServiceImpl userCacheServiceImpl,
-                     UserRepository userRepository, UserCacheMapper userCacheMapper) {
-        super(taskExecutor);
+    public UserCache(ThreadPoolTaskExecutor taskExecutor, WarmupCheckpointStore checkpointStore,
+                     UserCacheServiceImpl userCacheServiceImpl, UserRepository userRepository,
+                     UserCacheMapper userCacheMapper, UserCacheStore userCacheStore) {
+        super(taskExecutor, checkpointStore);
+        this.taskExecutor = taskExecutor;
         this.userCacheServiceImpl = userCacheServiceImpl;
         this.userRepository = userRepository;
         this.userCacheMapper = userCacheMapper;
+        this.userCacheStore = userCacheStore;
+    }
+
+    @Override
+    protected CompletableFuture<Void> warmUpCacheAsync() {
+        if (!STRATEGY_RECENCY.equalsIgnoreCase(strategy)) {
+            return super.warmUpCacheAsync();
+        }
+        return CompletableFuture.runAsync(this::warmUpMostRecentlyActive, taskExecutor);
+    }
+
+    private void warmUpMostRecentlyActive() {
+        long start = System.nanoTime();
+        RecencyWalk walk = new RecencyWalk();
+        warmUp(RECENCY_CHECKPOINT, 0, 1, warmupDeadline(), walk);
+        log.info("{} warmed with {} most recently active users (~{} KB) in {} ms", USER_CACHE, walk.cached,
+                walk.estimatedBytes / 1024, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    // Extrapolated from a few measured entries
+    private long estimatePayloadBytes(List<User> users) {
+        int samples = Math.min(PAYLOAD_SAMPLES_PER_BATCH, users.size());
+        long sampledBytes = 0;
+        for (int i = 0; i < samples; i++) {
+            sampledBytes += userCacheStore.payloadSize(mapToCacheEntity(users.get(i * users.size() / samples)));
+        }
+        return samples > 0 ? sampledBytes * users.size() / samples : 0;
+    }
+
+    private static LocalDateTime lastActiveAt(User user) {
+        if (user.getLastLogin() != null) {
+            return user.getLastLogin();
+        }
+        return user.getUpdatedAt() != null ? user.getUpdatedAt() : user.getCreatedAt();
     }
 
     @Override
-    protected List<User> fetchBatch(UUID lastId, int batchSize) {
-        return userRepository.findUsersByBatch(lastId, batchSize);
+    protected List<User> fetchBatch(UUID lastId, UUID upperBound, int batchSize) {
+        return userRepository.findUsersByBatch(lastId, upperBound, Limit.of(batchSize));
     }
 
     @Override
@@ -46,11 +106,55 @@ public class UserCache extends AbstractCacheWarmup<User, UserCacheEntity> {
 
     @Override
     protected void saveCache(List<UserCacheEntity> cacheEntities) {
-        userCacheServiceImpl.cacheUsers(cacheEntities);
+        CacheWriteReport report = userCacheServiceImpl.cacheUsers(cacheEntities);
+        // Fails the page so the warmup retries it instead of moving past users that were not written
+        if (report.hasFailures()) {
+            throw new IllegalStateException(String.format("Failed to cache %d of %d users",
+                    report.failedIds().size(), report.requested()));
+        }
     }
 
     @Override
     protected String getCacheName() {
         return USER_CACHE;
     }
-}
\ No newline at end of file
+
+    private record RecencyCursor(LocalDateTime before, UUID lastId) {
+    }
+
+    // Most recently active first, until max-entries users or about max-bytes of payload are cached
+    private final class RecencyWalk implements WarmupWalk<RecencyCursor, User> {
+        private long cached;
+        private long estimatedBytes;
+
+        @Override
+        public RecencyCursor start(Optional<UUID> checkpoint) {
+            return checkpoint.flatMap(userRepository::findById)
+                    .map(user -> new RecencyCursor(lastActiveAt(user), user.getId()))
+                    .orElseGet(() -> new RecencyCursor(LocalDateTime.now().plusDays(1), MAX_ID));
+        }
+
+        @Override
+        public List<User> fetch(RecencyCursor cursor, int limit) {
+            long byteBudget = maxBytes.toBytes();
+            if (cursor.before() == null || cached >= maxEntries || (byteBudget > 0 && estimatedBytes >= byteBudget)) {
+                return List.of();
+            }
+            int requested = (int) Math.min(limit, maxEntries - cached);
+            return userRepository.findMostRecentlyActive(cursor.before(), cursor.lastId(), Limit.of(requested));
+        }
+
+        @Override
+        public RecencyCursor advance(RecencyCursor cursor, List<User> page) {
+            cached += page.size();
+            estimatedBytes += estimatePayloadBytes(page);
+            User last = page.get(page.size() - 1);
+            return new RecencyCursor(lastActiveAt(last), last.getId());
+        }
+
+        @Override
+        public UUID checkpoint(RecencyCursor cursor) {
+            return cursor.lastId();
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package uz.consortgroup.userservice.cache;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import uz.consortgroup.userservice.entity.User;
+import uz.consortgroup.userservice.repository.UserRepository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Catch-up starts catch-up-overlap before the watermark to cover transactions that committed late.
+// Deleted rows never show up in catch-up, so evictions are broadcast to the other instances instead.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDirectorySnapshot implements MessageListener {
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    private static final String INVALIDATION_CHANNEL = "user_directory:invalidations";
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+    private static final String SEPARATOR = "|";
+
+    @Value("${cache.snapshot.enabled:true}")
+    private boolean enabled;
+
+    // Must point at a mounted volume, a snapshot in a temp directory does not survive a container restart
+    @Value("${cache.snapshot.path:}")
+    private String location;
+
+    @Value("${cache.snapshot.catch-up-overlap:5m}")
+    private Duration catchUpOverlap;
+
+    @Value("${cache.snapshot.batch-size:1000}")
+    private int batchSize;
+
+    private final UserRepository userRepository;
+    private final ThreadPoolTaskExecutor taskExecutor;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    // Changes since file was written; an empty value hides the file's entry
+    private final Map<UUID, Optional<UserSnapshotEntry>> overlay = new ConcurrentHashMap<>();
+    private Path path;
+    private volatile UserSnapshotFile file = UserSnapshotFile.empty();
+    private volatile LocalDateTime watermark;
+    private volatile boolean restoredFromDisk;
+    // A restored file may hold users deleted while this instance was down
+    private volatile boolean deletionsUnchecked;
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("User directory snapshot is disabled");
+            return;
+        }
+        if (!StringUtils.hasText(location)) {
+            enabled = false;
+            log.warn("User directory snapshot is disabled, cache.snapshot.path is not set");
+            return;
+        }
+        path = Path.of(location);
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+
+        if (Files.exists(path)) {
+            long start = System.nanoTime();
+            try {
+                file = UserSnapshotFile.open(path);
+                watermark = file.watermark().orElse(null);
+                restoredFromDisk = true;
+                deletionsUnchecked = true;
+                log.info("Mapped user directory snapshot {} with {} users in {} ms, watermark {}", path, file.size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), watermark);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Discarding unreadable user directory snapshot {}: {}", path, e.getMessage());
+            }
+        }
+
+        taskExecutor.execute(() -> {
+            try {
+                catchUp();
+                if (!restoredFromDisk) {
+                    write();
+                }
+            } catch (Exception e) {
+                log.error("User directory snapshot catch-up failed, lookups stay on the database", e);
+            }
+        });
+    }
+
+    public Optional<UserSnapshotEntry> find(UUID id) {
+        if (!ready || id == null) {
+            return Optional.empty();
+        }
+        Optional<UserSnapshotEntry> changed = overlay.get(id);
+        if (changed != null) {
+            return changed;
+        }
+        try {
+            return file.find(id);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read user {} from snapshot: {}", id, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public Map<UUID, UserSnapshotEntry> findAll(Collection<UUID> ids) {
+        Map<UUID, UserSnapshotEntry> result = new HashMap<>();
+        if (!ready) {
+            return result;
+        }
+        for (UUID id : ids) {
+            find(id).ifPresent(entry -> result.put(id, entry));
+        }
+        return result;
+    }
+
+    public void refresh(User user) {
+        if (enabled && user != null && user.getId() != null) {
+            overlay.put(user.getId(), Optional.of(UserSnapshotEntry.from(user)));
+        }
+    }
+
+    public void invalidate(UUID id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        overlay.put(id, Optional.empty());
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, INSTANCE_ID + SEPARATOR + id);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast snapshot invalidation of user {}, peers keep it until reconciled", id, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = payload.indexOf(SEPARATOR);
+        if (!enabled || separator < 0 || payload.substring(0, separator).equals(INSTANCE_ID)) {
+            return;
+        }
+
+        try {
+            overlay.put(UUID.fromString(payload.substring(separator + 1)), Optional.empty());
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed snapshot invalidation: {}", payload, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.snapshot.catch-up-interval:60s}",
+            initialDelayString = "${cache.snapshot.catch-up-interval:60s}")
+    public synchronized void catchUp() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        LocalDateTime since = watermark != null ? watermark.minus(catchUpOverlap) : BEGINNING;
+        LocalDateTime cursor = since;
+        LocalDateTime newWatermark = watermark;
+        UUID lastId = MIN_ID;
+        int applied = 0;
+
+        while (true) {
+            List<UserSnapshotEntry> page = userRepository.findSnapshotEntriesChangedSince(cursor, lastId, Limit.of(batchSize));
+            for (UserSnapshotEntry entry : page) {
+                overlay.put(entry.id(), Optional.of(entry));
+            }
+            applied += page.size();
+            if (!page.isEmpty()) {
+                UserSnapshotEntry last = page.get(page.size() - 1);
+                cursor = last.changedAt();
+                lastId = last.id();
+                if (newWatermark == null || cursor.isAfter(newWatermark)) {
+                    newWatermark = cursor;
+                }
+            }
+            if (page.size() < batchSize) {
+                break;
+            }
+        }
+        watermark = newWatermark;
+
+        if (deletionsUnchecked || knownUsers() > userRepository.count()) {
+            reconcileDeletions();
+            deletionsUnchecked = false;
+        }
+        ready = true;
+        log.info("User directory snapshot caught up with {} changes since {} in {} ms", applied, since,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Scheduled(fixedDelayString = "${cache.snapshot.write-interval:10m}",
+            initialDelayString = "${cache.snapshot.write-interval:10m}")
+    public synchronized void write() {
+        if (!enabled || !ready) {
+            return;
+        }
+        NavigableMap<UUID, Optional<UserSnapshotEntry>> changes = new TreeMap<>(overlay);
+        if (changes.isEmpty() && restoredFromDisk) {
+            log.debug("User directory snapshot unchanged, skipping write");
+            return;
+        }
+
+        long start = System.nanoTime();
+        UserSnapshotFile current = file;
+        try {
+            UserSnapshotFile.write(path, new MergingIterator(current.iterator(), changes),
+                    current.size() + changes.size(), watermark);
+            file = UserSnapshotFile.open(path);
+            restoredFromDisk = true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write user directory snapshot {}", path, e);
+            return;
+        }
+        changes.forEach(overlay::remove);
+        log.info("Wrote user directory snapshot {} with {} users in {} ms", path, file.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private long knownUsers() {
+        return file.size() + overlay.entrySet().stream()
+                .filter(entry -> entry.getValue().isPresent())
+                .filter(entry -> file.find(entry.getKey()).isEmpty())
+                .count();
+    }
+
+    // Safety net for a lost broadcast or a restored file; checks existence one batch at a time
+    private void reconcileDeletions() {
+        long start = System.nanoTime();
+        List<UUID> batch = new ArrayList<>(batchSize);
+        int removed = 0;
+        for (Iterator<UserSnapshotEntry> it = file.iterator(); it.hasNext(); ) {
+            UUID id = it.next().id();
+            if (!overlay.containsKey(id)) {
+                batch.add(id);
+            }
+            if (batch.size() >= batchSize) {
+                removed += dropDeleted(batch);
+            }
+        }
+        for (Map.Entry<UUID, Optional<UserSnapshotEntry>> entry : overlay.entrySet()) {
+            if (entry.getValue().isPresent()) {
+                batch.add(entry.getKey());
+            }
+            if (batch.size() >= batchSize) {
+                removed += dropDeleted(batch);
+            }
+        }
+        removed += dropDeleted(batch);
+        log.info("Reconciled user directory snapshot, dropped {} deleted users in {} ms", removed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private int dropDeleted(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Set<UUID> existing = new HashSet<>(userRepository.findExistingIds(ids));
+        int removed = 0;
+        for (UUID id : ids) {
+            if (!existing.contains(id)) {
+                overlay.put(id, Optional.empty());
+                removed++;
+            }
+        }
+        ids.clear();
+        return removed;
+    }
+
+    // The overlay wins over the file and empty values drop entries
+    private static final class MergingIterator implements Iterator<UserSnapshotEntry> {
+        private final Iterator<UserSnapshotEntry> base;
+        private final Iterator<Map.Entry<UUID, Optional<UserSnapshotEntry>>> changes;
+        private UserSnapshotEntry nextBase;
+        private Map.Entry<UUID, Optional<UserSnapshotEntry>> nextChange;
+        private UserSnapshotEntry next;
+
+        private MergingIterator(Iterator<UserSnapshotEntry> base, NavigableMap<UUID, Optional<UserSnapshotEntry>> changes) {
+            this.base = base;
+            this.changes = changes.entrySet().iterator();
+            this.nextBase = base.hasNext() ? base.next() : null;
+            this.nextChange = this.changes.hasNext() ? this.changes.next() : null;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public UserSnapshotEntry next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            UserSnapshotEntry result = next;
+            advance();
+            return result;
+        }
+
+        private void advance() {
+            next = null;
+            while (next == null && (nextBase != null || nextChange != null)) {
+                int cmp = nextBase == null ? 1 : nextChange == null ? -1 : nextBase.id().compareTo(nextChange.getKey());
+                if (cmp < 0) {
+                    next = nextBase;
+                    nextBase = base.hasNext() ? base.next() : null;
+                } else {
+                    next = nextChange.getValue().orElse(null);
+                    if (cmp == 0) {
+                        nextBase = base.hasNext() ? base.next() : null;
+                    }
+                    nextChange = changes.hasNext() ? changes.next() : null;
+                }
+            }
+        }
+    }
+}
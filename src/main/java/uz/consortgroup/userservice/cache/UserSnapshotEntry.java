@@ -0,0 +1,45 @@
+package uz.consortgroup.userservice.cache;
+
+import uz.consortgroup.core.api.v1.dto.user.enumeration.Language;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserStatus;
+import uz.consortgroup.userservice.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// changedAt is COALESCE(updated_at, created_at), the catch-up cursor
+public record UserSnapshotEntry(UUID id,
+                                Language language,
+                                UserRole role,
+                                UserStatus status,
+                                String firstName,
+                                String lastName,
+                                String middleName,
+                                String email,
+                                String workPlace,
+                                String position,
+                                LocalDateTime changedAt) {
+
+    public static UserSnapshotEntry from(User user) {
+        LocalDateTime changedAt = user.getUpdatedAt() != null ? user.getUpdatedAt() : user.getCreatedAt();
+        return new UserSnapshotEntry(user.getId(), user.getLanguage(), user.getRole(), user.getStatus(),
+                user.getFirstName(), user.getLastName(), user.getMiddleName(), user.getEmail(),
+                user.getWorkPlace(), user.getPosition(), changedAt != null ? changedAt : LocalDateTime.now());
+    }
+
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .language(language)
+                .role(role)
+                .status(status)
+                .firstName(firstName)
+                .lastName(lastName)
+                .middleName(middleName)
+                .email(email)
+                .workPlace(workPlace)
+                .position(position)
+                .build();
+    }
+}
@@ -0,0 +1,234 @@
+package uz.consortgroup.userservice.cache;
+
+import uz.consortgroup.core.api.v1.dto.user.enumeration.Language;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserStatus;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+
+// Header, records, then (mostSigBits, leastSigBits, offset) index entries sorted by UUID
+final class UserSnapshotFile {
+    private static final int MAGIC = 0x55445331;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 8;
+    private static final int INDEX_ENTRY_BYTES = 8 + 8 + 8;
+
+    private static final UserSnapshotFile EMPTY = new UserSnapshotFile(null, 0, 0L, null);
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final long indexOffset;
+    private final LocalDateTime watermark;
+
+    private UserSnapshotFile(ByteBuffer buffer, int count, long indexOffset, LocalDateTime watermark) {
+        this.buffer = buffer;
+        this.count = count;
+        this.indexOffset = indexOffset;
+        this.watermark = watermark;
+    }
+
+    static UserSnapshotFile empty() {
+        return EMPTY;
+    }
+
+    static UserSnapshotFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a user snapshot file: " + path);
+            }
+            int version = buffer.getInt(4);
+            if (version != VERSION) {
+                throw new IOException(String.format("Unsupported user snapshot version %d in %s", version, path));
+            }
+            LocalDateTime watermark = fromMillis(buffer.getLong(8));
+            int count = buffer.getInt(16);
+            long indexOffset = buffer.getLong(20);
+            if (indexOffset + (long) count * INDEX_ENTRY_BYTES != buffer.capacity()) {
+                throw new IOException("Truncated user snapshot file: " + path);
+            }
+            return new UserSnapshotFile(buffer, count, indexOffset, watermark);
+        }
+    }
+
+    // entries must be sorted by ID; they go to a temp file that is atomically moved into place
+    static void write(Path path, Iterator<UserSnapshotEntry> entries, int maxEntries, LocalDateTime watermark)
+            throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+
+        long[] index = new long[maxEntries * 3];
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.write(new byte[HEADER_BYTES]);
+            long offset = HEADER_BYTES;
+            while (entries.hasNext()) {
+                UserSnapshotEntry entry = entries.next();
+                if (count == maxEntries) {
+                    throw new IllegalStateException("More snapshot entries than announced: " + maxEntries);
+                }
+                index[count * 3] = entry.id().getMostSignificantBits();
+                index[count * 3 + 1] = entry.id().getLeastSignificantBits();
+                index[count * 3 + 2] = offset;
+                offset += writeRecord(out, entry);
+                count++;
+            }
+            for (int i = 0; i < count * 3; i++) {
+                out.writeLong(index[i]);
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(toMillis(watermark))
+                    .putInt(count)
+                    .putLong(offset)
+                    .flip();
+            channel.write(header, 0);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    int size() {
+        return count;
+    }
+
+    Optional<LocalDateTime> watermark() {
+        return Optional.ofNullable(watermark);
+    }
+
+    Optional<UserSnapshotEntry> find(UUID id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long position = indexOffset + (long) mid * INDEX_ENTRY_BYTES;
+            int cmp = new UUID(buffer.getLong((int) position), buffer.getLong((int) position + 8)).compareTo(id);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return Optional.of(readRecord((int) buffer.getLong((int) position + 16)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    Iterator<UserSnapshotEntry> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public UserSnapshotEntry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                long position = indexOffset + (long) next++ * INDEX_ENTRY_BYTES;
+                return readRecord((int) buffer.getLong((int) position + 16));
+            }
+        };
+    }
+
+    private static int writeRecord(DataOutputStream out, UserSnapshotEntry entry) throws IOException {
+        int start = out.size();
+        out.writeLong(entry.id().getMostSignificantBits());
+        out.writeLong(entry.id().getLeastSignificantBits());
+        out.writeLong(toMillis(entry.changedAt()));
+        writeString(out, entry.language() != null ? entry.language().name() : null);
+        writeString(out, entry.role() != null ? entry.role().name() : null);
+        writeString(out, entry.status() != null ? entry.status().name() : null);
+        writeString(out, entry.firstName());
+        writeString(out, entry.lastName());
+        writeString(out, entry.middleName());
+        writeString(out, entry.email());
+        writeString(out, entry.workPlace());
+        writeString(out, entry.position());
+        return out.size() - start;
+    }
+
+    private UserSnapshotEntry readRecord(int offset) {
+        int[] cursor = {offset + 24};
+        UUID id = new UUID(buffer.getLong(offset), buffer.getLong(offset + 8));
+        LocalDateTime changedAt = fromMillis(buffer.getLong(offset + 16));
+        String language = readString(cursor);
+        String role = readString(cursor);
+        String status = readString(cursor);
+        return new UserSnapshotEntry(id,
+                language != null ? Language.valueOf(language) : null,
+                role != null ? UserRole.valueOf(role) : null,
+                status != null ? UserStatus.valueOf(status) : null,
+                readString(cursor),
+                readString(cursor),
+                readString(cursor),
+                readString(cursor),
+                readString(cursor),
+                readString(cursor),
+                changedAt);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Snapshot field longer than " + Short.MAX_VALUE + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(int[] cursor) {
+        short length = buffer.getShort(cursor[0]);
+        cursor[0] += 2;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(cursor[0], bytes);
+        cursor[0] += length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long toMillis(LocalDateTime value) {
+        return value != null ? value.toInstant(ZoneOffset.UTC).toEpochMilli() : Long.MIN_VALUE;
+    }
+
+    private static LocalDateTime fromMillis(long millis) {
+        return millis != Long.MIN_VALUE
+                ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC)
+                : null;
+    }
+}
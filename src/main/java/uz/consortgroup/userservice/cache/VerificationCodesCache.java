@@ -1,5 +1,6 @@
 package uz.consortgroup.userservice.cache;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 import uz.consortgroup.userservice.entity.VerificationCode;
@@ -20,18 +21,19 @@ public class VerificationCodesCache extends AbstractCacheWarmup<VerificationCode
     private final VerificationCodeCacheMapper verificationCodeCacheMapper;
 
     public VerificationCodesCache(ThreadPoolTaskExecutor taskExecutor,
+                                  WarmupCheckpointStore checkpointStore,
                                   VerificationCodeCacheServiceImpl verificationCodeCacheServiceImpl,
                                   VerificationCodeRepository verificationCodeRepository,
                                   VerificationCodeCacheMapper verificationCodeCacheMapper) {
-        super(taskExecutor);
+        super(taskExecutor, checkpointStore);
         this.verificationCodeCacheServiceImpl = verificationCodeCacheServiceImpl;
         this.verificationCodeRepository = verificationCodeRepository;
         this.verificationCodeCacheMapper = verificationCodeCacheMapper;
     }
 
     @Override
-    protected List<VerificationCode> fetchBatch(UUID lastId, int batchSize) {
-        return verificationCodeRepository.findCodesBatch(lastId, batchSize);
+    protected List<VerificationCode> fetchBatch(UUID lastId, UUID upperBound, int batchSize) {
+        return verificationCodeRepository.findCodesBatch(lastId, upperBound, Limit.of(batchSize));
     }
 
     @Override
@@ -0,0 +1,11 @@
+package uz.consortgroup.userservice.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WarmupCheckpointStore {
+    Optional<UUID> load(String cacheName, int partition, int partitions);
+    void save(String cacheName, int partition, int partitions, UUID lastId, Duration ttl);
+    void clear(String cacheName, int partition, int partitions);
+}
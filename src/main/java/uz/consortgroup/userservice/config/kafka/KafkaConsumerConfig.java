@@ -2,6 +2,7 @@ package uz.consortgroup.userservice.config.kafka;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,6 +18,7 @@ import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.util.backoff.FixedBackOff;
+import uz.consortgroup.userservice.exception.FailedRecordRoutingException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -95,13 +97,35 @@ public class KafkaConsumerConfig {
         return factory;
     }
 
+    // Backoff and dead-lettering come from @RetryableTopic on each retry listener
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> retryKafkaListenerContainerFactory(
+            @Qualifier("universalConsumerFactory") ConsumerFactory<String, Object> consumerFactory) {
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(1);
+
+        ContainerProperties containerProps = factory.getContainerProperties();
+        containerProps.setPollTimeout(5000);
+        containerProps.setMissingTopicsFatal(false);
+
+        factory.setRecordFilterStrategy(record -> {
+            if (record.value() == null) {
+                log.warn("Received null value in topic {}", record.topic());
+                return true;
+            }
+            return false;
+        });
+
+        return factory;
+    }
+
     @Bean
     public DefaultErrorHandler kafkaErrorHandler() {
         DefaultErrorHandler handler = new DefaultErrorHandler(
-                (record, exception) -> {
-                    log.error("Failed to process message from topic {}: {}",
-                            record.topic(), exception.getMessage());
-                },
+                KafkaConsumerConfig::recover,
                 new FixedBackOff(1000, 3)
         );
 
@@ -117,4 +141,24 @@ public class KafkaConsumerConfig {
 
         return handler;
     }
+
+    // Throwing from the recoverer makes the error handler re-seek the batch instead of committing it
+    static void recover(ConsumerRecord<?, ?> record, Exception exception) {
+        if (isRoutingFailure(exception)) {
+            throw new FailedRecordRoutingException(String.format(
+                    "Failed records of topic %s are not on the retry topic yet, delivering the batch again",
+                    record.topic()), exception);
+        }
+        log.error("Failed to process message from topic {}: {}",
+                record.topic(), exception.getMessage());
+    }
+
+    private static boolean isRoutingFailure(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof FailedRecordRoutingException) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
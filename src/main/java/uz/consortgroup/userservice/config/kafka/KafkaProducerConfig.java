@@ -19,6 +19,15 @@ public class KafkaProducerConfig {
     @Value("${kafka.bootstrap-servers}")
     private String servers;
 
+    @Value("${kafka.producer.linger-ms:5}")
+    private int lingerMs;
+
+    @Value("${kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -26,13 +35,17 @@ public class KafkaProducerConfig {
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
         props.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, true);
         props.put(JsonSerializer.TYPE_MAPPINGS,
                 "user_registered:uz.consortgroup.userservice.event.user.UserRegisteredEvent," +
                 "verification_code_resent:uz.consortgroup.userservice.event.user.VerificationCodeResentEvent," +
                         "user_profile_update:uz.consortgroup.userservice.event.user.UserProfileUpdateEvent," +
                         "password_reset_requested:uz.consortgroup.userservice.event.user.PasswordResetRequestedEvent," +
-                        "super-admin-action:uz.consortgroup.userservice.event.admin.SuperAdminActionEvent");
+                        "super-admin-action:uz.consortgroup.userservice.event.admin.SuperAdminActionEvent," +
+                        "course-purchased:uz.consortgroup.userservice.event.coursepurchased.CoursePurchasedEvent");
 
         return new DefaultKafkaProducerFactory<>(props);
     }
@@ -0,0 +1,8 @@
+package uz.consortgroup.userservice.event;
+
+import java.util.UUID;
+
+// Producers key these by user ID, so a user's events stay on one partition and in order
+public interface UserKeyedEvent {
+    UUID getUserId();
+}
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.Language;
+import uz.consortgroup.userservice.event.UserKeyedEvent;
 
 import java.util.UUID;
 
@@ -13,7 +14,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @Data
 @Builder
-public class PasswordResetRequestedEvent {
+public class PasswordResetRequestedEvent implements UserKeyedEvent {
     private UUID messageId;
     private UUID userId;
     private String email;
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import uz.consortgroup.userservice.event.UserKeyedEvent;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -14,7 +15,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @Data
 @Builder
-public class UserProfileUpdateEvent {
+public class UserProfileUpdateEvent implements UserKeyedEvent {
     @JsonProperty("messageId")
     private UUID messageId;
     private UUID userId;
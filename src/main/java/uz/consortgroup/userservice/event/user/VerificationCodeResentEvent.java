@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.Language;
+import uz.consortgroup.userservice.event.UserKeyedEvent;
 
 import java.util.UUID;
 
@@ -14,7 +15,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class VerificationCodeResentEvent {
+public class VerificationCodeResentEvent implements UserKeyedEvent {
     @JsonProperty("messageId")
     private UUID messageId;
     private UUID userId;
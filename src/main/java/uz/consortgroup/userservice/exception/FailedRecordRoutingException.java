@@ -0,0 +1,7 @@
+package uz.consortgroup.userservice.exception;
+
+public class FailedRecordRoutingException extends RuntimeException {
+    public FailedRecordRoutingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -6,27 +6,52 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.event.UserKeyedEvent;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+// The returned future completes once the broker has acknowledged every record
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public abstract class AbstractProducer {
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaProducerMetrics kafkaProducerMetrics;
 
-    protected void sendEventToTopic(String topic, @NotNull @NotEmpty List<Object> messages) {
+    protected CompletableFuture<Void> sendEventToTopic(String topic, @NotNull @NotEmpty List<?> messages) {
         try {
-            messages.forEach(message -> {
-                log.info("Sending message to Kafka topic '{}': {}", topic, message);
-                kafkaTemplate.send(topic, message);
-            });
-
+            CompletableFuture<?>[] sends = messages.stream()
+                    .map(message -> send(topic, message))
+                    .toArray(CompletableFuture[]::new);
+            log.debug("Handed {} messages to Kafka topic '{}'", sends.length, topic);
+            return CompletableFuture.allOf(sends);
         } catch (Exception ex) {
             log.error("Error sending messages to Kafka topic '{}': {}", topic, ex.getMessage(), ex);
             throw ex;
         }
     }
 
+    protected String keyOf(Object message) {
+        if (message instanceof UserKeyedEvent event && event.getUserId() != null) {
+            return event.getUserId().toString();
+        }
+        return null;
+    }
+
     protected abstract String getTopic();
+
+    protected abstract Class<?> getEventType();
+
+    private CompletableFuture<?> send(String topic, Object message) {
+        String key = keyOf(message);
+        log.debug("Sending message with key '{}' to Kafka topic '{}': {}", key, topic, message);
+        long start = System.nanoTime();
+        return kafkaTemplate.send(topic, key, message).whenComplete((result, ex) -> {
+            kafkaProducerMetrics.recordSend(topic, ex == null, System.nanoTime() - start);
+            if (ex != null) {
+                log.error("Kafka rejected message with key '{}' on topic '{}': {}", key, topic, ex.getMessage(), ex);
+            }
+        });
+    }
 }
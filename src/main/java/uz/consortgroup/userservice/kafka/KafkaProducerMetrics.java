@@ -0,0 +1,33 @@
+package uz.consortgroup.userservice.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class KafkaProducerMetrics {
+    private final MeterRegistry meterRegistry;
+
+    public void recordSend(String topic, boolean success, long nanos) {
+        Counter.builder("kafka.producer.sends")
+                .description("Records published to Kafka by outcome")
+                .tag("topic", topic)
+                .tag("result", success ? "success" : "failure")
+                .register(meterRegistry)
+                .increment();
+        Timer.builder("kafka.producer.send.latency")
+                .description("Time from send until the broker acknowledged the record")
+                .tag("topic", topic)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,41 @@
+package uz.consortgroup.userservice.kafka;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class OutboxEventPublisher {
+    private final List<AbstractProducer> producers;
+    private volatile Map<String, AbstractProducer> producersByTopic;
+
+    public OutboxEventPublisher(List<AbstractProducer> producers) {
+        this.producers = producers;
+    }
+
+    public CompletableFuture<Void> publish(String topic, List<Object> events) {
+        AbstractProducer producer = producersByTopic().get(topic);
+        if (producer == null) {
+            throw new IllegalStateException(String.format("No producer is configured for Kafka topic '%s'", topic));
+        }
+        return producer.sendEventToTopic(topic, events);
+    }
+
+    public Optional<Class<?>> eventType(String topic) {
+        return Optional.ofNullable(producersByTopic().get(topic))
+                .map(AbstractProducer::getEventType);
+    }
+
+    private Map<String, AbstractProducer> producersByTopic() {
+        if (producersByTopic == null) {
+            producersByTopic = producers.stream()
+                    .collect(Collectors.toMap(AbstractProducer::getTopic, Function.identity()));
+        }
+        return producersByTopic;
+    }
+}
@@ -3,27 +3,36 @@ package uz.consortgroup.userservice.kafka;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.event.admin.SuperAdminActionEvent;
 import uz.consortgroup.userservice.topic.KafkaTopic;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 @Slf4j
 public class SuperAdminActionLogProducer extends AbstractProducer {
     private final KafkaTopic kafkaTopic;
 
-    public SuperAdminActionLogProducer(KafkaTemplate<String, Object> kafkaTemplate, KafkaTopic kafkaTopic) {
-        super(kafkaTemplate);
+    public SuperAdminActionLogProducer(KafkaTemplate<String, Object> kafkaTemplate,
+                                       KafkaProducerMetrics kafkaProducerMetrics,
+                                       KafkaTopic kafkaTopic) {
+        super(kafkaTemplate, kafkaProducerMetrics);
         this.kafkaTopic = kafkaTopic;
     }
 
-    public void sendSuperAdminActionEvents(List<Object> messages) {
+    public CompletableFuture<Void> sendSuperAdminActionEvents(List<Object> messages) {
         log.info("Sending {} messages to Kafka topic '{}'", messages.size(), getTopic());
-        sendEventToTopic(getTopic(), messages);
+        return sendEventToTopic(getTopic(), messages);
     }
 
     @Override
     protected String getTopic() {
         return kafkaTopic.getSuperAdminActionTopic();
     }
+
+    @Override
+    protected Class<?> getEventType() {
+        return SuperAdminActionEvent.class;
+    }
 }
@@ -3,27 +3,36 @@ package uz.consortgroup.userservice.kafka;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.event.user.UserRegisteredEvent;
 import uz.consortgroup.userservice.topic.KafkaTopic;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Component
 public class UserRegisteredProducer extends AbstractProducer {
     private final KafkaTopic kafkaTopic;
 
-    public UserRegisteredProducer(KafkaTemplate<String, Object> kafkaTemplate, KafkaTopic kafkaTopic) {
-        super(kafkaTemplate);
+    public UserRegisteredProducer(KafkaTemplate<String, Object> kafkaTemplate,
+                                  KafkaProducerMetrics kafkaProducerMetrics,
+                                  KafkaTopic kafkaTopic) {
+        super(kafkaTemplate, kafkaProducerMetrics);
         this.kafkaTopic = kafkaTopic;
     }
 
-    public void sendUserRegisteredEvents(List<Object> messages) {
+    public CompletableFuture<Void> sendUserRegisteredEvents(List<Object> messages) {
         log.info("Sending {} messages to Kafka topic '{}'", messages.size(), getTopic());
-        sendEventToTopic(getTopic(), messages);
+        return sendEventToTopic(getTopic(), messages);
     }
 
     @Override
     protected String getTopic() {
         return kafkaTopic.getUserRegistrationTopic();
     }
+
+    @Override
+    protected Class<?> getEventType() {
+        return UserRegisteredEvent.class;
+    }
 }
@@ -3,9 +3,11 @@ package uz.consortgroup.userservice.kafka;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.event.user.UserProfileUpdateEvent;
 import uz.consortgroup.userservice.topic.KafkaTopic;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Component
@@ -13,18 +15,25 @@ import java.util.List;
 public class UserUpdateProfileProducer extends AbstractProducer {
     private final KafkaTopic kafkaTopic;
 
-    public UserUpdateProfileProducer(KafkaTemplate<String, Object> kafkaTemplate, KafkaTopic kafkaTopic) {
-        super(kafkaTemplate);
+    public UserUpdateProfileProducer(KafkaTemplate<String, Object> kafkaTemplate,
+                                     KafkaProducerMetrics kafkaProducerMetrics,
+                                     KafkaTopic kafkaTopic) {
+        super(kafkaTemplate, kafkaProducerMetrics);
         this.kafkaTopic = kafkaTopic;
     }
 
-    public void sendUserUpdateProfileEvents(List<Object> messages) {
+    public CompletableFuture<Void> sendUserUpdateProfileEvents(List<Object> messages) {
         log.info("Sending {} messages to Kafka topic '{}'", messages.size(), getTopic());
-        sendEventToTopic(getTopic(), messages);
+        return sendEventToTopic(getTopic(), messages);
     }
 
     @Override
     protected String getTopic() {
         return kafkaTopic.getUserUpdateProfileTopic();
     }
+
+    @Override
+    protected Class<?> getEventType() {
+        return UserProfileUpdateEvent.class;
+    }
 }
@@ -1,41 +1,104 @@
 package uz.consortgroup.userservice.kafka.consumer;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.support.Acknowledgment;
+import uz.consortgroup.userservice.kafka.consumer.KafkaConsumerMetrics.RecordOutcome;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 @Slf4j
+@RequiredArgsConstructor
 public abstract class AbstractKafkaConsumer<T> {
+    private final KeyOrderedExecutor keyOrderedExecutor;
+    private final FailedRecordRouter failedRecordRouter;
+    private final KafkaConsumerMetrics kafkaConsumerMetrics;
 
     public void processBatch(List<T> messages, Acknowledgment ack) {
-        List<CompletableFuture<Void>> futures = messages.stream()
+        List<T> batch = messages.stream()
                 .filter(Objects::nonNull)
-                .map(message -> CompletableFuture.runAsync(() -> {
-                    try {
-                        handleMessage(message);
-                    } catch (Exception e) {
-                        log.error("Error processing message: {}", message, e);
-                    }
-                }))
                 .toList();
+        List<T> failed;
+        try {
+            failed = handleBatch(batch);
+        } catch (Exception e) {
+            log.warn("Failed to process batch of {} messages at once, processing them one by one", batch.size(), e);
+            failed = processEach(batch);
+        }
+
+        if (!failed.isEmpty()) {
+            failedRecordRouter.route(retryTopic(), failed, this::orderingKey);
+        }
+        ack.acknowledge();
+        kafkaConsumerMetrics.recordOutcome(consumerName(), RecordOutcome.SUCCEEDED, batch.size() - failed.size());
+        kafkaConsumerMetrics.recordOutcome(consumerName(), RecordOutcome.RETRIED, failed.size());
+    }
+
+    // Throwing passes the message on to the next backoff tier, or to the dead-letter topic after the last one
+    protected void processRetry(T message) {
+        handleMessage(message);
+        kafkaConsumerMetrics.recordOutcome(consumerName(), RecordOutcome.RECOVERED, 1);
+    }
 
-        CompletableFuture<Void> allOf = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    protected void processDeadLetter(T message, String reason) {
+        log.error("Giving up on message {} with id {}: {}", message, messageId(message), reason);
+        kafkaConsumerMetrics.recordOutcome(consumerName(), RecordOutcome.DEAD_LETTERED, 1);
+    }
 
+    // If this throws, the messages are handled one by one so a single bad message does not fail the rest
+    protected List<T> handleBatch(List<T> messages) {
+        return processEach(messages);
+    }
+
+    // Later messages of a failed key are skipped and returned with it, in order for the retry topic
+    private List<T> processEach(List<T> messages) {
+        Set<Object> failedKeys = ConcurrentHashMap.newKeySet();
+        Set<Integer> failedIndexes = ConcurrentHashMap.newKeySet();
         try {
-            allOf.get();
-        } catch (InterruptedException | ExecutionException e) {
-            log.error("Error while waiting for all tasks to complete", e);
+            keyOrderedExecutor.executeInOrder(IntStream.range(0, messages.size()).boxed().toList(),
+                    index -> orderingKey(messages.get(index)),
+                    index -> {
+                        T message = messages.get(index);
+                        Object key = orderingKey(message);
+                        if (key != null && failedKeys.contains(key)) {
+                            failedIndexes.add(index);
+                            return;
+                        }
+                        try {
+                            handleMessage(message);
+                        } catch (Exception e) {
+                            log.error("Error processing message: {}", message, e);
+                            failedIndexes.add(index);
+                            if (key != null) {
+                                failedKeys.add(key);
+                            }
+                        }
+                    });
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-        } finally {
-            ack.acknowledge();
+            throw new IllegalStateException(String.format(
+                    "Interrupted while processing a batch of %d messages", messages.size()), e);
         }
+        return IntStream.range(0, messages.size())
+                .filter(failedIndexes::contains)
+                .mapToObj(messages::get)
+                .toList();
+    }
+
+    private String consumerName() {
+        return getClass().getSimpleName();
     }
 
     protected abstract void handleMessage(T message);
     protected abstract UUID messageId(T message);
+
+    // null leaves a message unordered
+    protected abstract Object orderingKey(T message);
+
+    protected abstract String retryTopic();
 }
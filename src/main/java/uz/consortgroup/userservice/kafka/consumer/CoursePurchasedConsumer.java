@@ -1,9 +1,14 @@
 package uz.consortgroup.userservice.kafka.consumer;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
 import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 import uz.consortgroup.userservice.event.coursepurchased.CoursePurchasedEvent;
 import uz.consortgroup.userservice.service.processor.CoursePurchasedEventProcessor;
@@ -13,12 +18,22 @@ import java.util.UUID;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class CoursePurchasedConsumer extends AbstractKafkaConsumer<CoursePurchasedEvent> {
+    private static final String TOPIC = "course-purchased-topic";
+    private static final String RETRY_TOPIC = TOPIC + "-retry";
+
     private final CoursePurchasedEventProcessor coursePurchasedEventProcessor;
 
+    public CoursePurchasedConsumer(KeyOrderedExecutor keyOrderedExecutor,
+                                   FailedRecordRouter failedRecordRouter,
+                                   KafkaConsumerMetrics kafkaConsumerMetrics,
+                                   CoursePurchasedEventProcessor coursePurchasedEventProcessor) {
+        super(keyOrderedExecutor, failedRecordRouter, kafkaConsumerMetrics);
+        this.coursePurchasedEventProcessor = coursePurchasedEventProcessor;
+    }
+
     @KafkaListener(
-            topics = "course-purchased-topic",
+            topics = TOPIC,
             groupId = "${kafka.consumer-group-id}",
             containerFactory = "universalKafkaListenerContainerFactory"
     )
@@ -27,6 +42,41 @@ public class CoursePurchasedConsumer extends AbstractKafkaConsumer<CoursePurchas
         processBatch(events, ack);
     }
 
+    @RetryableTopic(
+            attempts = "${kafka.consumer.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${kafka.consumer.retry.initial-delay-ms:10000}",
+                    multiplierExpression = "${kafka.consumer.retry.multiplier:3}",
+                    maxDelayExpression = "${kafka.consumer.retry.max-delay-ms:600000}"
+            ),
+            exclude = {NullPointerException.class, IllegalArgumentException.class},
+            retryTopicSuffix = "-tier",
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            autoCreateTopics = "${kafka.consumer.retry.auto-create-topics:false}",
+            kafkaTemplate = "kafkaTemplate"
+    )
+    @KafkaListener(
+            topics = RETRY_TOPIC,
+            groupId = "${kafka.consumer-group-id}",
+            containerFactory = "retryKafkaListenerContainerFactory"
+    )
+    public void onRetry(CoursePurchasedEvent event) {
+        log.info("Retrying CoursePurchasedEvent {}", event.getMessageId());
+        processRetry(event);
+    }
+
+    @DltHandler
+    public void onDeadLetter(CoursePurchasedEvent event,
+                             @Header(name = KafkaHeaders.DLT_EXCEPTION_MESSAGE, required = false) String reason) {
+        processDeadLetter(event, reason);
+    }
+
+    @Override
+    protected List<CoursePurchasedEvent> handleBatch(List<CoursePurchasedEvent> events) {
+        coursePurchasedEventProcessor.process(events);
+        return List.of();
+    }
+
     @Override
     protected void handleMessage(CoursePurchasedEvent event) {
         log.info("Processing event: {}", event);
@@ -37,4 +87,14 @@ public class CoursePurchasedConsumer extends AbstractKafkaConsumer<CoursePurchas
     protected UUID messageId(CoursePurchasedEvent event) {
         return event.getMessageId();
     }
+
+    @Override
+    protected Object orderingKey(CoursePurchasedEvent event) {
+        return event.getUserId();
+    }
+
+    @Override
+    protected String retryTopic() {
+        return RETRY_TOPIC;
+    }
 }
@@ -0,0 +1,45 @@
+package uz.consortgroup.userservice.kafka.consumer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.exception.FailedRecordRoutingException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+// Returns only once the broker has acknowledged every record, so the caller can commit the batch
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FailedRecordRouter {
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${kafka.consumer.retry.send-timeout:30s}")
+    private Duration sendTimeout;
+
+    public <T> void route(String retryTopic, List<T> records, Function<T, ?> keyOf) {
+        CompletableFuture<?>[] sends = records.stream()
+                .map(record -> kafkaTemplate.send(retryTopic, Objects.toString(keyOf.apply(record), null), record))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(sends).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FailedRecordRoutingException(String.format(
+                    "Interrupted while sending %d failed records to %s", records.size(), retryTopic), e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new FailedRecordRoutingException(String.format(
+                    "Failed to send %d failed records to %s", records.size(), retryTopic), e);
+        }
+        log.warn("Sent {} failed records to {}", records.size(), retryTopic);
+    }
+}
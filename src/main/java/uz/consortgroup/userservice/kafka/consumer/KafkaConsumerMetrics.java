@@ -0,0 +1,35 @@
+package uz.consortgroup.userservice.kafka.consumer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+@Component
+@RequiredArgsConstructor
+public class KafkaConsumerMetrics {
+    private final MeterRegistry meterRegistry;
+
+    public void recordOutcome(String consumer, RecordOutcome outcome, int count) {
+        if (count == 0) {
+            return;
+        }
+        Counter.builder("kafka.consumer.records")
+                .description("Consumed records by outcome")
+                .tag("consumer", consumer)
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    public enum RecordOutcome {
+        SUCCEEDED,
+        // Failed on the first delivery and handed to the retry topic
+        RETRIED,
+        // Handled from one of the retry topics
+        RECOVERED,
+        DEAD_LETTERED
+    }
+}
@@ -0,0 +1,65 @@
+package uz.consortgroup.userservice.kafka.consumer;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Same-key records run in order, other keys in parallel, at most max-in-flight records at once
+@Component
+public class KeyOrderedExecutor {
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("kafka-consumer-", 0).factory());
+    private final Semaphore inFlight;
+
+    public KeyOrderedExecutor(@Value("${kafka.consumer.max-in-flight:64}") int maxInFlight) {
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    // After a failure the rest of that key is skipped; the first failure is thrown once the other keys finish
+    public <T> void executeInOrder(List<T> records, Function<T, ?> keyOf, Consumer<T> handler)
+            throws InterruptedException {
+        Map<Object, List<T>> recordsByKey = new LinkedHashMap<>();
+        for (T record : records) {
+            Object key = keyOf.apply(record);
+            recordsByKey.computeIfAbsent(key != null ? key : new Object(), k -> new ArrayList<>()).add(record);
+        }
+
+        List<CompletableFuture<Void>> chains = new ArrayList<>(recordsByKey.size());
+        try {
+            for (List<T> chain : recordsByKey.values()) {
+                inFlight.acquire();
+                try {
+                    chains.add(CompletableFuture.runAsync(() -> {
+                        try {
+                            chain.forEach(handler);
+                        } finally {
+                            inFlight.release();
+                        }
+                    }, executor));
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    throw e;
+                }
+            }
+        } finally {
+            CompletableFuture.allOf(chains.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+        }
+        chains.forEach(CompletableFuture::join);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,12 +1,14 @@
 package uz.consortgroup.userservice.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 import uz.consortgroup.userservice.entity.VerificationCode;
 import uz.consortgroup.userservice.entity.cacheEntity.VerificationCodeCacheEntity;
 
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface VerificationCodeCacheMapper {
+    @Mapping(target = "userId", source = "user.id")
     VerificationCodeCacheEntity toVerificationCodeCacheEntity(VerificationCode verificationCode);
     VerificationCode toVerificationCode(VerificationCodeCacheEntity verificationCodeCacheEntity);
 }
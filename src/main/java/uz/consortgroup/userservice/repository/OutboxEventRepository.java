@@ -0,0 +1,65 @@
+package uz.consortgroup.userservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import uz.consortgroup.userservice.entity.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('user_schema.outbox_events'), :partition)",
+            nativeQuery = true)
+    boolean tryLockPartition(@Param("partition") int partition);
+
+    // An event waits while an earlier event with its key is leased or postponed, so keys go out in order
+    @Query(value = """
+            SELECT * FROM user_schema.outbox_events e
+            WHERE e.available_at <= :now
+              AND (hashtext(COALESCE(e.message_key, e.id::text)) & 2147483647) % :partitions = :partition
+              AND NOT EXISTS (
+                  SELECT 1 FROM user_schema.outbox_events earlier
+                  WHERE earlier.message_key = e.message_key
+                    AND earlier.created_at < e.created_at
+                    AND earlier.available_at > :now
+              )
+            ORDER BY e.created_at, e.id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> lockDueBatch(@Param("now") LocalDateTime now,
+                                   @Param("partition") int partition,
+                                   @Param("partitions") int partitions,
+                                   @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = """
+            UPDATE user_schema.outbox_events
+            SET available_at = :availableAt
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int reschedule(@Param("ids") List<UUID> ids, @Param("availableAt") LocalDateTime availableAt);
+
+    @Modifying
+    @Query(value = """
+            UPDATE user_schema.outbox_events
+            SET attempts = attempts + 1, available_at = :availableAt
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int postpone(@Param("ids") List<UUID> ids, @Param("availableAt") LocalDateTime availableAt);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_schema.outbox_dead_events
+                (id, topic, payload_type, payload, message_key, attempts, created_at, failed_at)
+            SELECT id, topic, payload_type, payload, message_key, attempts + 1, created_at, :failedAt
+            FROM user_schema.outbox_events
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int copyToDead(@Param("ids") List<UUID> ids, @Param("failedAt") LocalDateTime failedAt);
+}
@@ -0,0 +1,24 @@
+package uz.consortgroup.userservice.repository;
+
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface UserRedisBulkOperations {
+    Map<UUID, UserCacheEntity> findAllByIds(Collection<UUID> ids);
+    List<UserCacheEntity> findAllByEmails(List<String> emails);
+    List<UserCacheEntity> findAllByPinfls(List<String> pinfls);
+    boolean saveUnlessOlder(UserCacheEntity user);
+    List<UUID> saveAllPipelined(List<UserCacheEntity> users);
+    void deleteAllPipelined(Collection<UUID> ids);
+
+    SweepResult sweepExpiredPipelined(Collection<String> ids);
+
+    long pruneIndexesPipelined(Collection<String> indexKeys);
+
+    record SweepResult(int expiredEntities, long indexMembers) {
+    }
+}
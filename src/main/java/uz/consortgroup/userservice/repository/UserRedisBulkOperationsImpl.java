@@ -0,0 +1,331 @@
+package uz.consortgroup.userservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.convert.Bucket;
+import org.springframework.data.redis.core.convert.IndexedData;
+import org.springframework.data.redis.core.convert.RedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.data.redis.core.convert.SimpleIndexedPropertyValue;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Pipelined access in the RedisKeyValueAdapter layout: one round trip per batch, two for lookups by an index
+@Slf4j
+@RequiredArgsConstructor
+public class UserRedisBulkOperationsImpl implements UserRedisBulkOperations {
+    private static final String KEYSPACE = "user_from_cache";
+    private static final String EMAIL_INDEX = "email";
+    private static final String PINFL_INDEX = "pinfl";
+    private static final String UPDATED_AT_FIELD = "updatedAt";
+    private static final Long WRITTEN = 1L;
+
+    private static final RedisScript<Long> SAVE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/save-user-cache-entity.lua"), Long.class);
+    private static final RedisScript<Long> DELETE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/delete-user-cache-entity.lua"), Long.class);
+    private static final RedisScript<Long> SWEEP_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/sweep-user-cache-entity.lua"), Long.class);
+    private static final RedisScript<Long> PRUNE_INDEX_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/prune-user-cache-index.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisConverter redisConverter;
+
+    @Override
+    public Map<UUID, UserCacheEntity> findAllByIds(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<String> orderedIds = ids.stream()
+                .distinct()
+                .map(UUID::toString)
+                .toList();
+        Map<String, UserCacheEntity> entities = findAllHashes(orderedIds);
+
+        Map<UUID, UserCacheEntity> result = new LinkedHashMap<>();
+        entities.forEach((id, entity) -> result.put(UUID.fromString(id), entity));
+        log.debug("Resolved {} of {} users by ID in one pipeline", result.size(), orderedIds.size());
+        return result;
+    }
+
+    @Override
+    public List<UserCacheEntity> findAllByEmails(List<String> emails) {
+        return findAllByIndex(EMAIL_INDEX, emails);
+    }
+
+    @Override
+    public List<UserCacheEntity> findAllByPinfls(List<String> pinfls) {
+        return findAllByIndex(PINFL_INDEX, pinfls);
+    }
+
+    private List<UserCacheEntity> findAllByIndex(String index, List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Object> memberSets = pipelined(connection -> values.forEach(value ->
+                connection.setCommands().sMembers(toBytes(KEYSPACE + ":" + index + ":" + value))));
+
+        Set<String> ids = new LinkedHashSet<>();
+        List<List<String>> idsPerValue = new ArrayList<>(values.size());
+        for (Object members : memberSets) {
+            List<String> candidates = toStrings(members);
+            idsPerValue.add(candidates);
+            ids.addAll(candidates);
+        }
+
+        if (ids.isEmpty()) {
+            log.debug("No {} index entries found for {} values", index, values.size());
+            return Collections.emptyList();
+        }
+
+        Map<String, UserCacheEntity> entitiesById = findAllHashes(new ArrayList<>(ids));
+
+        List<UserCacheEntity> result = new ArrayList<>(values.size());
+        for (List<String> candidates : idsPerValue) {
+            candidates.stream()
+                    .map(entitiesById::get)
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .ifPresent(result::add);
+        }
+
+        log.debug("Resolved {} of {} values by {} index in two pipelines", result.size(), values.size(), index);
+        return result;
+    }
+
+    // False when the cached copy has a later updatedAt and was kept
+    @Override
+    public boolean saveUnlessOlder(UserCacheEntity user) {
+        byte[] script = toBytes(SAVE_SCRIPT.getScriptAsString());
+        String sha = SAVE_SCRIPT.getSha1();
+        SaveInvocation invocation = toSaveInvocation(user);
+        List<Object> results = pipelined(connection -> {
+            connection.scriptingCommands().scriptLoad(script);
+            connection.scriptingCommands()
+                    .evalSha(sha, ReturnType.INTEGER, invocation.keyCount(), invocation.keysAndArgs());
+        });
+        return WRITTEN.equals(results.get(1));
+    }
+
+    // Returns the IDs whose write failed; the others are stored or kept a newer cached copy
+    @Override
+    public List<UUID> saveAllPipelined(List<UserCacheEntity> users) {
+        if (users == null || users.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        byte[] script = toBytes(SAVE_SCRIPT.getScriptAsString());
+        String sha = SAVE_SCRIPT.getSha1();
+        List<SaveInvocation> invocations = users.stream()
+                .map(this::toSaveInvocation)
+                .toList();
+
+        try {
+            List<Object> results = pipelined(connection -> {
+                connection.scriptingCommands().scriptLoad(script);
+                invocations.forEach(invocation -> connection.scriptingCommands()
+                        .evalSha(sha, ReturnType.INTEGER, invocation.keyCount(), invocation.keysAndArgs()));
+            });
+            long kept = results.subList(1, results.size()).stream()
+                    .filter(result -> !WRITTEN.equals(result))
+                    .count();
+            log.debug("Saved {} users in one pipeline, kept {} newer cached copies", users.size() - kept, kept);
+            return Collections.emptyList();
+        } catch (RedisPipelineException e) {
+            List<Object> results = e.getResults();
+            if (results.size() != users.size() + 1) {
+                throw e;
+            }
+            List<UUID> failedIds = new ArrayList<>();
+            for (int i = 0; i < users.size(); i++) {
+                if (results.get(i + 1) instanceof Exception failure) {
+                    log.debug("Failed to save user {} in pipeline: {}", users.get(i).getId(), failure.getMessage());
+                    failedIds.add(users.get(i).getId());
+                }
+            }
+            log.warn("Saved {} of {} users in one pipeline", users.size() - failedIds.size(), users.size());
+            return failedIds;
+        }
+    }
+
+    @Override
+    public void deleteAllPipelined(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+
+        byte[] script = toBytes(DELETE_SCRIPT.getScriptAsString());
+        String sha = DELETE_SCRIPT.getSha1();
+        byte[] keyspace = toBytes(KEYSPACE);
+        pipelined(connection -> {
+            connection.scriptingCommands().scriptLoad(script);
+            ids.forEach(id -> connection.scriptingCommands().evalSha(sha, ReturnType.INTEGER, 3,
+                    toBytes(KEYSPACE + ":" + id), toBytes(KEYSPACE + ":" + id + ":idx"), keyspace, toBytes(id.toString())));
+        });
+        log.debug("Deleted {} users in one pipeline", ids.size());
+    }
+
+    // Each script checks the hash itself, so a concurrent save is left alone
+    @Override
+    public SweepResult sweepExpiredPipelined(Collection<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new SweepResult(0, 0);
+        }
+
+        byte[] script = toBytes(SWEEP_SCRIPT.getScriptAsString());
+        String sha = SWEEP_SCRIPT.getSha1();
+        byte[] keyspace = toBytes(KEYSPACE);
+        List<Object> results = pipelined(connection -> {
+            connection.scriptingCommands().scriptLoad(script);
+            ids.forEach(id -> connection.scriptingCommands().evalSha(sha, ReturnType.INTEGER, 3,
+                    toBytes(KEYSPACE + ":" + id), toBytes(KEYSPACE + ":" + id + ":idx"), keyspace, toBytes(id)));
+        });
+
+        int expired = 0;
+        long indexMembers = 0;
+        for (Object result : results.subList(1, results.size())) {
+            if (result instanceof Long removed && removed >= 0) {
+                expired++;
+                indexMembers += removed;
+            }
+        }
+        return new SweepResult(expired, indexMembers);
+    }
+
+    @Override
+    public long pruneIndexesPipelined(Collection<String> indexKeys) {
+        if (indexKeys == null || indexKeys.isEmpty()) {
+            return 0;
+        }
+
+        byte[] script = toBytes(PRUNE_INDEX_SCRIPT.getScriptAsString());
+        String sha = PRUNE_INDEX_SCRIPT.getSha1();
+        byte[] entityPrefix = toBytes(KEYSPACE + ":");
+        List<Object> results = pipelined(connection -> {
+            connection.scriptingCommands().scriptLoad(script);
+            indexKeys.forEach(indexKey -> connection.scriptingCommands()
+                    .evalSha(sha, ReturnType.INTEGER, 1, toBytes(indexKey), entityPrefix));
+        });
+
+        long removed = 0;
+        for (Object result : results.subList(1, results.size())) {
+            if (result instanceof Long count) {
+                removed += count;
+            }
+        }
+        return removed;
+    }
+
+    private Map<String, UserCacheEntity> findAllHashes(List<String> ids) {
+        List<Object> hashes = pipelined(connection -> ids.forEach(id ->
+                connection.hashCommands().hGetAll(toBytes(KEYSPACE + ":" + id))));
+
+        Map<String, UserCacheEntity> entitiesById = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            UserCacheEntity entity = toEntity(ids.get(i), hashes.get(i));
+            if (entity != null) {
+                entitiesById.put(ids.get(i), entity);
+            }
+        }
+        return entitiesById;
+    }
+
+    private SaveInvocation toSaveInvocation(UserCacheEntity user) {
+        RedisData redisData = new RedisData();
+        redisConverter.write(user, redisData);
+
+        String id = redisData.getId();
+        List<byte[]> keys = new ArrayList<>();
+        keys.add(toBytes(KEYSPACE + ":" + id));
+        keys.add(toBytes(KEYSPACE + ":" + id + ":idx"));
+        keys.add(toBytes(KEYSPACE));
+        for (IndexedData indexedData : redisData.getIndexedData()) {
+            if (indexedData instanceof SimpleIndexedPropertyValue indexedValue && indexedValue.getValue() != null) {
+                byte[] value = redisConverter.getConversionService().convert(indexedValue.getValue(), byte[].class);
+                keys.add(concat(toBytes(indexedValue.getKeyspace() + ":" + indexedValue.getIndexName() + ":"), value));
+            }
+        }
+
+        Long ttl = redisData.getTimeToLive();
+        byte[] updatedAt = redisData.getBucket().get(UPDATED_AT_FIELD);
+        List<byte[]> args = new ArrayList<>();
+        args.add(toBytes(id));
+        args.add(toBytes(String.valueOf(ttl != null && ttl > 0 ? ttl : 0)));
+        args.add(updatedAt != null ? updatedAt : new byte[0]);
+        redisData.getBucket().rawMap().forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+
+        List<byte[]> keysAndArgs = new ArrayList<>(keys);
+        keysAndArgs.addAll(args);
+        return new SaveInvocation(keys.size(), keysAndArgs.toArray(byte[][]::new));
+    }
+
+    private List<Object> pipelined(Consumer<RedisConnection> commands) {
+        return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            commands.accept(connection);
+            return null;
+        }, RedisSerializer.byteArray());
+    }
+
+    @SuppressWarnings("unchecked")
+    private UserCacheEntity toEntity(String id, Object rawHash) {
+        if (!(rawHash instanceof Map<?, ?> hash) || hash.isEmpty()) {
+            return null;
+        }
+        RedisData redisData = new RedisData(Bucket.newBucketFromRawMap((Map<byte[], byte[]>) hash));
+        redisData.setId(id);
+        redisData.setKeyspace(KEYSPACE);
+        return redisConverter.read(UserCacheEntity.class, redisData);
+    }
+
+    private static List<String> toStrings(Object members) {
+        if (!(members instanceof Set<?> set) || set.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> ids = new ArrayList<>(set.size());
+        for (Object member : set) {
+            ids.add(new String((byte[]) member, StandardCharsets.UTF_8));
+        }
+        return ids;
+    }
+
+    private static byte[] concat(byte[] prefix, byte[] suffix) {
+        byte[] result = Arrays.copyOf(prefix, prefix.length + suffix.length);
+        System.arraycopy(suffix, 0, result, prefix.length, suffix.length);
+        return result;
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Arguments of save-user-cache-entity.lua: the first keyCount elements are keys, the rest are ARGV
+    private record SaveInvocation(int keyCount, byte[][] keysAndArgs) {
+    }
+}
@@ -8,7 +8,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRedisRepository extends CrudRepository<UserCacheEntity, UUID> {
+public interface UserRedisRepository extends CrudRepository<UserCacheEntity, UUID>, UserRedisBulkOperations {
     Optional<UserCacheEntity> findByEmail(String email);
     Optional<UserCacheEntity> findUserCacheEntityByPinfl(String pinfl);
     Optional<UserCacheEntity> findByPinfl(String pinfl);
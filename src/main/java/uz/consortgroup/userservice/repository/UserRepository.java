@@ -1,5 +1,6 @@
 package uz.consortgroup.userservice.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,9 +10,11 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.UserStatus;
+import uz.consortgroup.userservice.cache.UserSnapshotEntry;
 import uz.consortgroup.userservice.entity.User;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -28,8 +31,31 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByPinfl(String pinfl);
     boolean existsByPhoneNumber(String phoneNumber);
 
-    @Query("SELECT u FROM User u WHERE u.id > :lastId ORDER BY u.id ASC")
-    List<User> findUsersByBatch(@Param("lastId") UUID lastId, @Param("size") int size);
+    @Query("SELECT u FROM User u WHERE u.id > :lastId AND u.id <= :upperId ORDER BY u.id ASC")
+    List<User> findUsersByBatch(@Param("lastId") UUID lastId, @Param("upperId") UUID upperId, Limit limit);
+
+    @Query("""
+           SELECT new uz.consortgroup.userservice.cache.UserSnapshotEntry(
+               u.id, u.language, u.role, u.status, u.firstName, u.lastName, u.middleName,
+               u.email, u.workPlace, u.position, COALESCE(u.updatedAt, u.createdAt))
+           FROM User u
+           WHERE COALESCE(u.updatedAt, u.createdAt) > :since
+              OR (COALESCE(u.updatedAt, u.createdAt) = :since AND u.id > :lastId)
+           ORDER BY COALESCE(u.updatedAt, u.createdAt) ASC, u.id ASC
+           """)
+    List<UserSnapshotEntry> findSnapshotEntriesChangedSince(@Param("since") LocalDateTime since,
+                                                            @Param("lastId") UUID lastId, Limit limit);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    @Query("""
+           SELECT u FROM User u
+           WHERE COALESCE(u.lastLogin, u.updatedAt, u.createdAt) < :before
+              OR (COALESCE(u.lastLogin, u.updatedAt, u.createdAt) = :before AND u.id < :lastId)
+           ORDER BY COALESCE(u.lastLogin, u.updatedAt, u.createdAt) DESC, u.id DESC
+           """)
+    List<User> findMostRecentlyActive(@Param("before") LocalDateTime before, @Param("lastId") UUID lastId, Limit limit);
 
     @Query(nativeQuery = true, value = """
      UPDATE user_schema.users
@@ -75,14 +101,14 @@ public interface UserRepository extends JpaRepository<User, UUID> {
                                   @Param("position") String position, @Param("pinfl") String pinfl, @Param("role") String role);
 
     @Modifying
-    @Query("UPDATE User u SET u.isVerified = :verificationStatus, u.status = :status WHERE u.id = :userId")
+    @Query("UPDATE User u SET u.isVerified = :verificationStatus, u.status = :status, u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :userId")
     void updateVerificationStatus(@Param("userId") UUID userId,
                                   @Param("verificationStatus") boolean verificationStatus,
                                   @Param("status") UserStatus status);
 
 
     @Modifying
-    @Query("UPDATE User u SET u.role = :role WHERE u.id = :userId")
+    @Query("UPDATE User u SET u.role = :role, u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :userId")
     int updateUserRole(@Param("userId") UUID userId, @Param("role") UserRole role);
 
 
@@ -1,10 +1,12 @@
 package uz.consortgroup.userservice.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.VerificationCodeStatus;
 import uz.consortgroup.userservice.entity.VerificationCode;
 
@@ -15,8 +17,8 @@ import java.util.UUID;
 
 @Repository
 public interface VerificationCodeRepository extends JpaRepository<VerificationCode, UUID> {
-    @Query("SELECT v FROM VerificationCode v WHERE v.id > :lastId ORDER BY v.id ASC")
-    List<VerificationCode> findCodesBatch(@Param("lastId") UUID lastId, @Param("size") int size);
+    @Query("SELECT v FROM VerificationCode v WHERE v.id > :lastId AND v.id <= :upperId ORDER BY v.id ASC")
+    List<VerificationCode> findCodesBatch(@Param("lastId") UUID lastId, @Param("upperId") UUID upperId, Limit limit);
 
     @Query("SELECT v FROM VerificationCode v WHERE v.user.id = :userId ORDER BY v.createdAt DESC LIMIT 1")
     Optional<VerificationCode> findLastActiveCodeByUserId(@Param("userId") UUID userId);
@@ -37,11 +39,34 @@ public interface VerificationCodeRepository extends JpaRepository<VerificationCo
                       @Param("now") LocalDateTime now);
 
 
+    // Skips rows locked by a concurrent verification or another instance
+    @Transactional
     @Modifying
-    @Query("UPDATE VerificationCode v SET " +
-            "v.status = :status, " +
-            "v.updatedAt = :now " +
-            "WHERE v.status = 'ACTIVE' AND v.expiresAt <= :now")
-    int updateExpiredCodes(@Param("status") VerificationCodeStatus status,
-                           @Param("now") LocalDateTime now);
+    @Query(value = """
+            UPDATE user_schema.verification_codes
+            SET status = 'EXPIRED', updated_at = :now
+            WHERE id IN (
+                SELECT id FROM user_schema.verification_codes
+                WHERE status = 'ACTIVE' AND expires_at <= :now
+                ORDER BY expires_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int expireCodesBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    // Only codes that are no longer active; skips rows locked elsewhere
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM user_schema.verification_codes
+            WHERE id IN (
+                SELECT id FROM user_schema.verification_codes
+                WHERE status <> 'ACTIVE' AND created_at < :cutoff
+                ORDER BY created_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int deleteInactiveCodesBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
@@ -0,0 +1,82 @@
+package uz.consortgroup.userservice.schedule;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.service.outbox.OutboxRelay;
+import uz.consortgroup.userservice.service.outbox.OutboxRelay.RelayResult;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelayScheduler {
+    // Events are split into this many partitions by key, so it must be the same on every instance
+    @Value("${outbox.relay.workers:4}")
+    private int workers;
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-batches:50}")
+    private int maxBatches;
+
+    private final OutboxRelay outboxRelay;
+    private final MeterRegistry meterRegistry;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:500ms}")
+    public void relay() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int partition = 0; partition < workers; partition++) {
+                int assigned = partition;
+                executor.execute(() -> drain(assigned));
+            }
+        }
+    }
+
+    private void drain(int partition) {
+        int batches = 0;
+        RelayResult result;
+        do {
+            long start = System.nanoTime();
+            try {
+                result = outboxRelay.relayBatch(partition, workers, batchSize);
+            } catch (Exception e) {
+                log.error("Outbox relay batch failed", e);
+                return;
+            }
+            recordBatch(result, System.nanoTime() - start);
+            batches++;
+        } while (result.taken() == batchSize && batches < maxBatches);
+    }
+
+    private void recordBatch(RelayResult result, long nanos) {
+        if (result.taken() == 0) {
+            return;
+        }
+        Counter.builder("outbox.events.published")
+                .description("Outbox events acknowledged by Kafka")
+                .register(meterRegistry)
+                .increment(result.published());
+        Counter.builder("outbox.events.failed")
+                .description("Outbox events postponed after a failed publish")
+                .register(meterRegistry)
+                .increment(result.failed());
+        Counter.builder("outbox.events.dead")
+                .description("Outbox events moved to the dead events table after max-attempts")
+                .register(meterRegistry)
+                .increment(result.dead());
+        Timer.builder("outbox.relay.batch.duration")
+                .description("Time spent relaying one outbox batch")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,32 +1,88 @@
 package uz.consortgroup.userservice.schedule;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-import uz.consortgroup.core.api.v1.dto.user.enumeration.VerificationCodeStatus;
 import uz.consortgroup.userservice.repository.VerificationCodeRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
-@Slf4j
 public class VerificationCodeExpirationScheduler {
+    private static final String LOCK_KEY = "verification_code_expiry_lock";
+
+    @Value("${user.verification-code.expiry.interval:1m}")
+    private Duration interval;
+
+    @Value("${user.verification-code.expiry.batch-size:500}")
+    private int batchSize;
+
+    @Value("${user.verification-code.expiry.max-batches:100}")
+    private int maxBatches;
+
     private final VerificationCodeRepository verificationCodeRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
 
-    @Scheduled(fixedRate = 60_000)
-    @Transactional
+    @Scheduled(fixedDelayString = "${user.verification-code.expiry.interval:1m}")
     public void expireOldCodes() {
+        if (!acquireLock()) {
+            log.debug("Verification code expiry is running on another instance");
+            return;
+        }
+
+        long start = System.nanoTime();
         LocalDateTime now = LocalDateTime.now();
-        int expiredCount = verificationCodeRepository.updateExpiredCodes(
-                VerificationCodeStatus.EXPIRED,
-                now
-        );
+        int expiredCount = 0;
+        int batches = 0;
+        int expired = 0;
+        try {
+            do {
+                expired = verificationCodeRepository.expireCodesBatch(now, batchSize);
+                expiredCount += expired;
+                batches++;
+            } while (expired == batchSize && batches < maxBatches);
+        } catch (Exception e) {
+            log.error("Verification code expiry failed after {} codes", expiredCount, e);
+        } finally {
+            recordRun(expiredCount, System.nanoTime() - start);
+        }
 
         if (expiredCount > 0) {
-            log.info("Automatically expired {} verification codes", expiredCount);
+            log.info("Automatically expired {} verification codes in {} batches", expiredCount, batches);
+        }
+        if (batches >= maxBatches && expired == batchSize) {
+            log.warn("Verification code expiry stopped after {} batches, the rest is left to the next run", batches);
         }
     }
+
+    private boolean acquireLock() {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", interval));
+        } catch (Exception e) {
+            log.warn("Failed to take the verification code expiry lock, running without it: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private void recordRun(int expiredCount, long nanos) {
+        Counter.builder("verification.codes.expired")
+                .description("Verification codes marked expired by the scheduler")
+                .register(meterRegistry)
+                .increment(expiredCount);
+        Timer.builder("verification.codes.expiry.duration")
+                .description("Time spent per verification code expiry run")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
 }
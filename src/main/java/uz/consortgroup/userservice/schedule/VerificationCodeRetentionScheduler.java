@@ -0,0 +1,102 @@
+package uz.consortgroup.userservice.schedule;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.repository.VerificationCodeRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Active codes are never deleted, the expiry scheduler turns them inactive first
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VerificationCodeRetentionScheduler {
+    private static final String LOCK_KEY = "verification_code_retention_lock";
+
+    @Value("${user.verification-code.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${user.verification-code.retention.period:30d}")
+    private Duration period;
+
+    @Value("${user.verification-code.retention.interval:1h}")
+    private Duration interval;
+
+    @Value("${user.verification-code.retention.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${user.verification-code.retention.max-batches:100}")
+    private int maxBatches;
+
+    private final VerificationCodeRepository verificationCodeRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Scheduled(fixedDelayString = "${user.verification-code.retention.interval:1h}",
+            initialDelayString = "${user.verification-code.retention.interval:1h}")
+    public void purgeOldCodes() {
+        if (!enabled) {
+            return;
+        }
+        if (!acquireLock()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minus(period);
+        int purgedCount = 0;
+        int batches = 0;
+        int purged = 0;
+        try {
+            do {
+                purged = verificationCodeRepository.deleteInactiveCodesBatch(cutoff, batchSize);
+                purgedCount += purged;
+                batches++;
+            } while (purged == batchSize && batches < maxBatches);
+        } catch (Exception e) {
+            log.error("Verification code purge failed after {} codes", purgedCount, e);
+        } finally {
+            recordRun(purgedCount, System.nanoTime() - start);
+        }
+
+        if (purgedCount > 0) {
+            log.info("Purged {} verification codes created before {} in {} batches", purgedCount, cutoff, batches);
+        }
+        if (batches >= maxBatches && purged == batchSize) {
+            log.warn("Verification code purge stopped after {} batches, the rest is left to the next run", batches);
+        }
+    }
+
+    // Unlike expiry, a purge can wait for the next run, so it is skipped rather than run without the lock
+    private boolean acquireLock() {
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", interval))) {
+                return true;
+            }
+            log.debug("Verification code purge is running on another instance");
+        } catch (Exception e) {
+            log.warn("Failed to take the verification code purge lock, skipping this run: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    private void recordRun(int purgedCount, long nanos) {
+        Counter.builder("verification.codes.purged")
+                .description("Inactive verification codes deleted by the retention job")
+                .register(meterRegistry)
+                .increment(purgedCount);
+        Timer.builder("verification.codes.purge.duration")
+                .description("Time spent per verification code purge run")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,91 @@
+package uz.consortgroup.userservice.service.auth;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// last_login only orders the cache warmup, so losing the buffer on a crash costs little
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LastLoginRecorder {
+    private static final String UPDATE_LAST_LOGIN = """
+            UPDATE user_schema.users
+            SET last_login = ?
+            WHERE id = ? AND (last_login IS NULL OR last_login < ?)
+            """;
+
+    @Value("${user.last-login.enabled:true}")
+    private boolean enabled;
+
+    @Value("${user.last-login.batch-size:500}")
+    private int batchSize;
+
+    @Value("${user.last-login.max-pending:100000}")
+    private int maxPending;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<UUID, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public void record(UUID userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        if (pending.size() >= maxPending && !pending.containsKey(userId)) {
+            log.warn("Last login buffer is full ({} users), skipping user {}", maxPending, userId);
+            return;
+        }
+        pending.merge(userId, LocalDateTime.now(), LastLoginRecorder::latest);
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${user.last-login.flush-interval:5s}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<UUID, LocalDateTime>> drained = new ArrayList<>(pending.size());
+        for (UUID userId : new ArrayList<>(pending.keySet())) {
+            LocalDateTime loginAt = pending.remove(userId);
+            if (loginAt != null) {
+                drained.add(Map.entry(userId, loginAt));
+            }
+        }
+
+        int written = 0;
+        for (int from = 0; from < drained.size(); from += batchSize) {
+            List<Map.Entry<UUID, LocalDateTime>> batch = drained.subList(from, Math.min(from + batchSize, drained.size()));
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN, batch, batch.size(), (statement, entry) -> {
+                    Timestamp loginAt = Timestamp.valueOf(entry.getValue());
+                    statement.setTimestamp(1, loginAt);
+                    statement.setObject(2, entry.getKey());
+                    statement.setTimestamp(3, loginAt);
+                });
+                written += batch.size();
+            } catch (Exception e) {
+                log.error("Failed to write last login for {} users, retrying with the next flush", batch.size(), e);
+                batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), LastLoginRecorder::latest));
+            }
+        }
+        log.debug("Flushed last login for {} of {} users", written, drained.size());
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
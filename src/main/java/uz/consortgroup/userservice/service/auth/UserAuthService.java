@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 import uz.consortgroup.core.api.v1.dto.user.auth.JwtResponse;
 import uz.consortgroup.core.api.v1.dto.user.auth.LoginRequest;
 import uz.consortgroup.userservice.exception.AuthenticationFailedException;
+import uz.consortgroup.userservice.service.impl.HasId;
 import uz.consortgroup.userservice.service.impl.UserDetailsServiceImpl;
 import uz.consortgroup.userservice.util.AuthenticationUtils;
 
@@ -17,6 +18,7 @@ public class UserAuthService {
 
     private final UserDetailsServiceImpl userDetailsService;
     private final AuthenticationUtils authenticationUtils;
+    private final LastLoginRecorder lastLoginRecorder;
 
     public JwtResponse authenticate(LoginRequest loginRequest) {
         String email = loginRequest.getEmail();
@@ -25,6 +27,9 @@ public class UserAuthService {
         try {
             UserDetails userDetails = userDetailsService.loadUserByUsername(email);
             JwtResponse jwtResponse = authenticationUtils.performAuthentication(loginRequest, userDetails);
+            if (userDetails instanceof HasId user) {
+                lastLoginRecorder.record(user.getId());
+            }
             log.info("User authentication successful for email: {}", email);
             return jwtResponse;
         } catch (AuthenticationFailedException ex) {
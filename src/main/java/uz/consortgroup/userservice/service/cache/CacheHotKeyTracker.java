@@ -0,0 +1,94 @@
+package uz.consortgroup.userservice.service.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Space-Saving top-K over a sample of lookups, with counts scaled back by the sample rate
+@Component
+public class CacheHotKeyTracker {
+
+    @Value("${cache.hot-keys.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.hot-keys.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${cache.hot-keys.capacity:100}")
+    private int capacity;
+
+    private final Map<String, SpaceSaving> summaries = new ConcurrentHashMap<>();
+
+    public void record(String cache, String keyType, Object key) {
+        if (!enabled || key == null || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        summaries.computeIfAbsent(cache, name -> new SpaceSaving(capacity))
+                .offer(keyType + ":" + key);
+    }
+
+    public Map<String, List<HotKey>> topKeys(int limit) {
+        Map<String, List<HotKey>> result = new TreeMap<>();
+        summaries.forEach((cache, summary) -> result.put(cache, summary.top(limit, sampleRate)));
+        return result;
+    }
+
+    public List<HotKey> topKeys(String cache, int limit) {
+        SpaceSaving summary = summaries.get(cache);
+        return summary != null ? summary.top(limit, sampleRate) : List.of();
+    }
+
+    public record HotKey(String keyType, String key, long estimatedLookups, long maxOverestimate) {
+    }
+
+    private static final class SpaceSaving {
+        private final int capacity;
+        private final Map<String, long[]> counters = new HashMap<>();
+
+        private SpaceSaving(int capacity) {
+            this.capacity = Math.max(1, capacity);
+        }
+
+        synchronized void offer(String key) {
+            long[] counter = counters.get(key);
+            if (counter != null) {
+                counter[0]++;
+                return;
+            }
+            if (counters.size() < capacity) {
+                counters.put(key, new long[]{1, 0});
+                return;
+            }
+            Map.Entry<String, long[]> min = counters.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue()[0]))
+                    .orElseThrow();
+            long floor = min.getValue()[0];
+            counters.remove(min.getKey());
+            counters.put(key, new long[]{floor + 1, floor});
+        }
+
+        synchronized List<HotKey> top(int limit, double sampleRate) {
+            double scale = sampleRate > 0 ? 1 / sampleRate : 1;
+            List<HotKey> result = new ArrayList<>(Math.min(limit, counters.size()));
+            counters.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[0]).reversed())
+                    .limit(limit)
+                    .forEach(entry -> {
+                        int separator = entry.getKey().indexOf(':');
+                        result.add(new HotKey(entry.getKey().substring(0, separator),
+                                entry.getKey().substring(separator + 1),
+                                Math.round(entry.getValue()[0] * scale),
+                                Math.round(entry.getValue()[1] * scale)));
+                    });
+            return result;
+        }
+    }
+}
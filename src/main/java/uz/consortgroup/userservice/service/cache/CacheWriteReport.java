@@ -0,0 +1,16 @@
+package uz.consortgroup.userservice.service.cache;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CacheWriteReport(int requested, List<UUID> failedIds, long latencyMs) {
+    public static final CacheWriteReport EMPTY = new CacheWriteReport(0, List.of(), 0L);
+
+    public int written() {
+        return requested - failedIds.size();
+    }
+
+    public boolean hasFailures() {
+        return !failedIds.isEmpty();
+    }
+}
@@ -0,0 +1,24 @@
+package uz.consortgroup.userservice.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.convert.RedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Component
+@RequiredArgsConstructor
+public class RedisHashPayloadSizer {
+    private final RedisConverter redisConverter;
+
+    public int sizeOf(Object entity) {
+        RedisData redisData = new RedisData();
+        redisConverter.write(entity, redisData);
+        int size = 0;
+        for (var field : redisData.getBucket().rawMap().entrySet()) {
+            size += field.getKey().getBytes(StandardCharsets.UTF_8).length + field.getValue().length;
+        }
+        return size;
+    }
+}
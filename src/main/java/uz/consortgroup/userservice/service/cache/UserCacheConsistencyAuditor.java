@@ -0,0 +1,148 @@
+package uz.consortgroup.userservice.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.entity.User;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+import uz.consortgroup.userservice.mapper.UserCacheMapper;
+import uz.consortgroup.userservice.repository.UserRepository;
+import uz.consortgroup.userservice.service.cache.store.UserCacheStore;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserCacheConsistencyAuditor {
+    private static final String LOCK_KEY = "user_cache_audit_lock";
+
+    private static final Map<String, Function<UserCacheEntity, Object>> FIELDS = fields();
+
+    @Value("${cache.audit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.audit.interval:1m}")
+    private Duration interval;
+
+    @Value("${cache.audit.sample-size:100}")
+    private int sampleSize;
+
+    @Value("${cache.audit.repair:true}")
+    private boolean repair;
+
+    private final UserCacheStore userCacheStore;
+    private final UserCacheService userCacheService;
+    private final UserRepository userRepository;
+    private final UserCacheMapper userCacheMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final UserCacheMetrics userCacheMetrics;
+
+    @Scheduled(fixedDelayString = "${cache.audit.interval:1m}", initialDelayString = "${cache.audit.interval:1m}")
+    public void audit() {
+        if (!enabled || sampleSize <= 0) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", interval))) {
+            log.debug("User cache audit is running on another instance");
+            return;
+        }
+        try {
+            auditSample();
+        } catch (Exception e) {
+            log.error("User cache audit failed", e);
+        }
+    }
+
+    private void auditSample() {
+        Map<UUID, UserCacheEntity> cached = userCacheStore.findAllByIds(userCacheStore.sampleIds(sampleSize));
+        if (cached.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, User> stored = new LinkedHashMap<>();
+        userRepository.findAllById(cached.keySet()).forEach(user -> stored.put(user.getId(), user));
+
+        List<UUID> stale = new ArrayList<>();
+        List<UUID> orphaned = new ArrayList<>();
+        Map<String, Integer> divergentFields = new TreeMap<>();
+        cached.forEach((id, cachedUser) -> {
+            User user = stored.get(id);
+            if (user == null) {
+                orphaned.add(id);
+                return;
+            }
+            UserCacheEntity expected = userCacheMapper.toUserCache(user);
+            List<String> fields = diff(cachedUser, expected);
+            if (!fields.isEmpty()) {
+                fields.forEach(field -> divergentFields.merge(field, 1, Integer::sum));
+                stale.add(id);
+                log.debug("Cached user {} differs from the database in {}", id, fields);
+            }
+        });
+
+        userCacheMetrics.recordAudit(cached.size(), stale.size(), orphaned.size(), divergentFields);
+        if (stale.isEmpty() && orphaned.isEmpty()) {
+            log.debug("Audited {} cached users, all consistent", cached.size());
+            return;
+        }
+
+        log.warn("Audited {} cached users: {} stale ({}), {} no longer in the database",
+                cached.size(), stale.size(), divergentFields.keySet(), orphaned.size());
+        // Evicted rather than rewritten: the database row read here may already be older than what a concurrent
+        // after-commit sync cached, and the next read loads the current row anyway
+        if (repair) {
+            List<UUID> evicted = new ArrayList<>(stale);
+            evicted.addAll(orphaned);
+            userCacheService.removeUsersFromCache(evicted);
+        }
+    }
+
+    static List<String> diff(UserCacheEntity cached, UserCacheEntity expected) {
+        List<String> fields = new ArrayList<>();
+        FIELDS.forEach((name, getter) -> {
+            if (!Objects.equals(normalize(getter.apply(cached)), normalize(getter.apply(expected)))) {
+                fields.add(name);
+            }
+        });
+        return fields;
+    }
+
+    // The database truncates what the entity carried, so timestamps are compared at millisecond precision
+    private static Object normalize(Object value) {
+        return value instanceof LocalDateTime dateTime ? dateTime.truncatedTo(ChronoUnit.MILLIS) : value;
+    }
+
+    private static Map<String, Function<UserCacheEntity, Object>> fields() {
+        Map<String, Function<UserCacheEntity, Object>> fields = new LinkedHashMap<>();
+        fields.put("language", UserCacheEntity::getLanguage);
+        fields.put("firstName", UserCacheEntity::getFirstName);
+        fields.put("middleName", UserCacheEntity::getMiddleName);
+        fields.put("lastName", UserCacheEntity::getLastName);
+        fields.put("bornDate", UserCacheEntity::getBornDate);
+        fields.put("phoneNumber", UserCacheEntity::getPhoneNumber);
+        fields.put("workPlace", UserCacheEntity::getWorkPlace);
+        fields.put("email", UserCacheEntity::getEmail);
+        fields.put("position", UserCacheEntity::getPosition);
+        fields.put("pinfl", UserCacheEntity::getPinfl);
+        fields.put("isVerified", UserCacheEntity::getIsVerified);
+        fields.put("role", UserCacheEntity::getRole);
+        fields.put("status", UserCacheEntity::getStatus);
+        fields.put("createdAt", UserCacheEntity::getCreatedAt);
+        fields.put("updatedAt", UserCacheEntity::getUpdatedAt);
+        return fields;
+    }
+}
@@ -0,0 +1,113 @@
+package uz.consortgroup.userservice.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisHash;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+import uz.consortgroup.userservice.repository.UserRedisBulkOperations.SweepResult;
+import uz.consortgroup.userservice.repository.UserRedisRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// The sweep scripts touch keys they do not declare, so the hash format assumes a standalone Redis, not a Cluster
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cache.user.storage-format", havingValue = "hash", matchIfMissing = true)
+public class UserCacheIndexSweeper {
+    private static final String KEYSPACE = UserCacheEntity.class.getAnnotation(RedisHash.class).value();
+    private static final String LOCK_KEY = "user_index_sweep_lock";
+    private static final List<String> INDEXES = List.of(UserCacheMetrics.KEY_EMAIL, UserCacheMetrics.KEY_PINFL);
+    private static final String KEYSPACE_INDEX = "keyspace";
+
+    @Value("${cache.index-sweeper.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.index-sweeper.interval:15m}")
+    private Duration interval;
+
+    @Value("${cache.index-sweeper.batch-size:500}")
+    private int batchSize;
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserRedisRepository userRedisRepository;
+    private final UserCacheMetrics userCacheMetrics;
+
+    @Scheduled(fixedDelayString = "${cache.index-sweeper.interval:15m}",
+            initialDelayString = "${cache.index-sweeper.interval:15m}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", interval))) {
+            log.debug("User cache index sweep is running on another instance");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            sweepKeyspace();
+            for (String index : INDEXES) {
+                pruneIndex(index);
+            }
+        } catch (Exception e) {
+            log.error("User cache index sweep failed", e);
+        } finally {
+            userCacheMetrics.recordIndexSweepDuration(System.nanoTime() - start);
+        }
+    }
+
+    private void sweepKeyspace() {
+        long scanned = 0;
+        int expired = 0;
+        long indexMembers = 0;
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Cursor<String> cursor = redisTemplate.opsForSet().scan(KEYSPACE, scanOptions(null))) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= batchSize || !cursor.hasNext()) {
+                    SweepResult result = userRedisRepository.sweepExpiredPipelined(batch);
+                    scanned += batch.size();
+                    expired += result.expiredEntities();
+                    indexMembers += result.indexMembers();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        userCacheMetrics.recordIndexSweep(KEYSPACE_INDEX, scanned - expired, expired);
+        log.info("Swept user cache keyspace: {} entries, {} expired, {} index memberships removed",
+                scanned, expired, indexMembers);
+    }
+
+    private void pruneIndex(String index) {
+        long keys = 0;
+        long removed = 0;
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Cursor<String> cursor = redisTemplate.scan(scanOptions(KEYSPACE + ":" + index + ":*"))) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= batchSize || !cursor.hasNext()) {
+                    removed += userRedisRepository.pruneIndexesPipelined(batch);
+                    keys += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        userCacheMetrics.recordIndexSweep(index, keys, removed);
+        log.info("Pruned user cache {} index: {} keys, {} dangling members removed", index, keys, removed);
+    }
+
+    private ScanOptions scanOptions(String pattern) {
+        ScanOptions.ScanOptionsBuilder options = ScanOptions.scanOptions().count(batchSize);
+        return pattern != null ? options.match(pattern).build() : options.build();
+    }
+}
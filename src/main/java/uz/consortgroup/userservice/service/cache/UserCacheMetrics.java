@@ -0,0 +1,196 @@
+package uz.consortgroup.userservice.service.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+public class UserCacheMetrics {
+    public static final String TIER_NEAR = "near";
+    public static final String TIER_REDIS = "redis";
+
+    public static final String KEY_ID = "id";
+    public static final String KEY_EMAIL = "email";
+    public static final String KEY_PINFL = "pinfl";
+    public static final String KEY_TYPE = "type";
+
+    public static final String CACHE_USER = "user";
+    public static final String CACHE_USER_TYPE = "user_type";
+    public static final String CACHE_VERIFICATION_CODE = "verification_code";
+
+    @Value("${cache.metrics.payload-sample-rate:0.01}")
+    private double payloadSampleRate;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicLong> indexSizes = new ConcurrentHashMap<>();
+    private final AtomicLong auditDivergencePpm = new AtomicLong();
+
+    public void recordLookup(String tier, String keyType, boolean hit) {
+        recordLookups(tier, keyType, hit ? 1 : 0, hit ? 0 : 1);
+    }
+
+    public void recordLookups(String tier, String keyType, int hits, int misses) {
+        if (hits > 0) {
+            lookupCounter(tier, keyType, "hit").increment(hits);
+        }
+        if (misses > 0) {
+            lookupCounter(tier, keyType, "miss").increment(misses);
+        }
+    }
+
+    public void recordVerificationCodeLookup(boolean hit) {
+        Counter.builder("verification.code.cache.lookups")
+                .description("Verification code cache lookups by outcome")
+                .tag("result", hit ? "hit" : "miss")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordRedisCommand(String cache, String command, long nanos) {
+        Timer.builder("cache.redis.command")
+                .description("Latency of Redis calls issued by the caches")
+                .tag("cache", cache)
+                .tag("command", command)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(2))
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Sizing is not free, so only a payload-sample-rate fraction of writes is measured
+    public boolean samplePayload() {
+        return payloadSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < payloadSampleRate;
+    }
+
+    public void recordPayloadSize(String cache, int bytes) {
+        DistributionSummary.builder("cache.payload.size")
+                .description("Serialized size of sampled cache values")
+                .baseUnit("bytes")
+                .tag("cache", cache)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(16.0)
+                .maximumExpectedValue(65536.0)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    public void recordNegativeLookup(String keyType, boolean absent) {
+        Counter.builder("user.cache.negative.lookups")
+                .description("Absence marker checks by key type and outcome")
+                .tag("key", keyType)
+                .tag("result", absent ? "hit" : "miss")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordCoalescedLoad(String keyType) {
+        Counter.builder("user.cache.loads.coalesced")
+                .description("Cache-miss loads served by joining an in-flight load for the same key")
+                .tag("key", keyType)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordRefreshAhead(String outcome) {
+        Counter.builder("user.cache.refresh.ahead")
+                .description("Background reloads of hot user cache entries before expiry")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordBulkWrite(CacheWriteReport report) {
+        Timer.builder("user.cache.bulk.write")
+                .description("Latency of one pipelined user cache batch write")
+                .register(meterRegistry)
+                .record(report.latencyMs(), TimeUnit.MILLISECONDS);
+        Counter.builder("user.cache.bulk.write.entries")
+                .tag("outcome", "written")
+                .register(meterRegistry)
+                .increment(report.written());
+        Counter.builder("user.cache.bulk.write.entries")
+                .tag("outcome", "failed")
+                .register(meterRegistry)
+                .increment(report.failedIds().size());
+    }
+
+    public void recordInvalidations(String source, int count) {
+        Counter.builder("user.cache.invalidations")
+                .description("Near cache entries invalidated, by origin of the invalidation")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    public void recordIndexSweep(String index, long size, long removed) {
+        indexSizes.computeIfAbsent(index, name -> {
+            AtomicLong holder = new AtomicLong();
+            Gauge.builder("user.cache.index.size", holder, AtomicLong::get)
+                    .description("Size of a user cache index as of the last sweep")
+                    .tag("index", name)
+                    .register(meterRegistry);
+            return holder;
+        }).set(size);
+        Counter.builder("user.cache.index.pruned")
+                .description("Dangling user cache index entries removed by the sweeper")
+                .tag("index", index)
+                .register(meterRegistry)
+                .increment(removed);
+    }
+
+    public void recordIndexSweepDuration(long nanos) {
+        Timer.builder("user.cache.index.sweep")
+                .description("Duration of one full user cache index sweep")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordAudit(int checked, int divergent, int orphaned, Map<String, Integer> divergentFields) {
+        Gauge.builder("user.cache.audit.divergence.rate", auditDivergencePpm, ppm -> ppm.get() / 1_000_000.0)
+                .description("Share of audited user cache entries that differed from the database in the last run")
+                .register(meterRegistry);
+        auditDivergencePpm.set(checked > 0 ? (divergent + orphaned) * 1_000_000L / checked : 0);
+
+        Counter.builder("user.cache.audit.checked")
+                .description("User cache entries compared with the database")
+                .register(meterRegistry)
+                .increment(checked);
+        Counter.builder("user.cache.audit.divergent")
+                .description("Audited user cache entries that differed from the database, by kind")
+                .tag("kind", "stale")
+                .register(meterRegistry)
+                .increment(divergent);
+        Counter.builder("user.cache.audit.divergent")
+                .tag("kind", "orphaned")
+                .register(meterRegistry)
+                .increment(orphaned);
+        divergentFields.forEach((field, count) -> Counter.builder("user.cache.audit.divergent.fields")
+                .description("Stale user cache fields found by the auditor")
+                .tag("field", field)
+                .register(meterRegistry)
+                .increment(count));
+    }
+
+    private Counter lookupCounter(String tier, String keyType, String result) {
+        return Counter.builder("user.cache.lookups")
+                .description("User cache lookups by tier, key type and outcome")
+                .tag("tier", tier)
+                .tag("key", keyType)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,136 @@
+package uz.consortgroup.userservice.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+import uz.consortgroup.userservice.mapper.UserCacheMapper;
+import uz.consortgroup.userservice.repository.UserRepository;
+import uz.consortgroup.userservice.service.cache.store.UserCacheStore;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// XFetch: a hot entry is reloaded once -refreshWindow * beta * ln(rand) >= its remaining TTL
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserCacheRefreshAhead {
+    private static final String LOCK_PREFIX = "user_refresh_lock:";
+
+    @Value("${cache.refresh-ahead.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.refresh-ahead.hot-threshold:5}")
+    private int hotThreshold;
+
+    @Value("${cache.refresh-ahead.access-window:10m}")
+    private Duration accessWindow;
+
+    @Value("${cache.refresh-ahead.check-interval:1m}")
+    private Duration checkInterval;
+
+    @Value("${cache.refresh-ahead.refresh-window:2h}")
+    private Duration refreshWindow;
+
+    @Value("${cache.refresh-ahead.beta:1.0}")
+    private double beta;
+
+    @Value("${cache.refresh-ahead.maximum-tracked:10000}")
+    private long maximumTracked;
+
+    private final UserCacheStore userCacheStore;
+    // Resolved lazily, UserCacheServiceImpl itself depends on this component
+    private final ObjectProvider<UserCacheService> userCacheService;
+    private final UserRepository userRepository;
+    private final UserCacheMapper userCacheMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final ThreadPoolTaskExecutor taskExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final UserCacheMetrics userCacheMetrics;
+
+    private final Set<UUID> refreshing = ConcurrentHashMap.newKeySet();
+    private Cache<UUID, AtomicInteger> accessCounts;
+    private Cache<UUID, Boolean> recentlyChecked;
+
+    @PostConstruct
+    public void init() {
+        accessCounts = Caffeine.newBuilder()
+                .maximumSize(maximumTracked)
+                .expireAfterWrite(accessWindow)
+                .build();
+        recentlyChecked = Caffeine.newBuilder()
+                .maximumSize(maximumTracked)
+                .expireAfterWrite(checkInterval)
+                .build();
+    }
+
+    public void onRead(UserCacheEntity user) {
+        if (!enabled || user == null || user.getId() == null) {
+            return;
+        }
+        UUID id = user.getId();
+        int reads = accessCounts.get(id, key -> new AtomicInteger()).incrementAndGet();
+        if (reads < hotThreshold || recentlyChecked.asMap().putIfAbsent(id, Boolean.TRUE) != null) {
+            return;
+        }
+        if (!refreshing.add(id)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> refreshIfDue(id));
+        } catch (TaskRejectedException e) {
+            refreshing.remove(id);
+            log.debug("Refresh-ahead for user {} skipped, executor saturated", id);
+        }
+    }
+
+    void refreshIfDue(UUID id) {
+        try {
+            userCacheStore.remainingTtl(id)
+                    .filter(remaining -> isDue(remaining, ThreadLocalRandom.current().nextDouble()))
+                    .ifPresent(remaining -> refresh(id, remaining));
+        } catch (Exception e) {
+            log.warn("Refresh-ahead failed for user {}: {}", id, e.getMessage());
+        } finally {
+            refreshing.remove(id);
+        }
+    }
+
+    boolean isDue(Duration remaining, double random) {
+        double threshold = -refreshWindow.toMillis() * beta * Math.log(Math.max(random, Double.MIN_VALUE));
+        return threshold >= remaining.toMillis();
+    }
+
+    private void refresh(UUID id, Duration remaining) {
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_PREFIX + id, "1", checkInterval);
+        if (!Boolean.TRUE.equals(locked)) {
+            return;
+        }
+        Optional<UserCacheEntity> fresh = transactionTemplate.execute(status -> userRepository.findById(id)
+                .map(userCacheMapper::toUserCache));
+        if (fresh != null && fresh.isPresent()) {
+            userCacheService.getObject().cacheUser(fresh.get());
+            userCacheMetrics.recordRefreshAhead("refreshed");
+            log.debug("Refreshed hot user {} with {} left", id, remaining);
+        } else {
+            userCacheService.getObject().removeUserFromCache(id);
+            userCacheMetrics.recordRefreshAhead("evicted");
+            log.debug("Hot user {} no longer exists, evicted from cache", id);
+        }
+    }
+}
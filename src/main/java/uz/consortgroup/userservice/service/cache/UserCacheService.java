@@ -2,15 +2,19 @@ package uz.consortgroup.userservice.service.cache;
 
 import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserCacheService {
     Optional<UserCacheEntity> findUserById(UUID id);
+    Map<UUID, UserCacheEntity> findUsersByIds(List<UUID> ids);
     void cacheUser(UserCacheEntity user);
-    void cacheUsers(List<UserCacheEntity> users);
+    CacheWriteReport cacheUsers(List<UserCacheEntity> users);
     void removeUserFromCache(UUID userId);
+    void removeUsersFromCache(Collection<UUID> userIds);
     Optional<UserCacheEntity> findUserByPinfl(String pinfl);
     Optional<UserCacheEntity> findUserByEmail(String email);
     List<UserCacheEntity> findUsersByEmails(List<String> emails);
@@ -5,28 +5,45 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
 import uz.consortgroup.userservice.exception.UserNotFoundException;
-import uz.consortgroup.userservice.repository.UserRedisRepository;
+import uz.consortgroup.userservice.service.cache.store.UserCacheStore;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserCacheServiceImpl implements UserCacheService {
 
-    private final UserRedisRepository userRedisRepository;
+    private final UserCacheStore userCacheStore;
+    private final UserNearCache userNearCache;
+    private final UserCacheMetrics userCacheMetrics;
+    private final UserNegativeCache userNegativeCache;
+    private final UserCacheRefreshAhead userCacheRefreshAhead;
+    private final CacheHotKeyTracker cacheHotKeyTracker;
 
     public Optional<UserCacheEntity> findUserById(UUID id) {
         log.info("Finding user in cache by ID: {}", id);
+        cacheHotKeyTracker.record(UserCacheMetrics.CACHE_USER, UserCacheMetrics.KEY_ID, id);
+        Optional<UserCacheEntity> nearHit = userNearCache.getById(id);
+        if (nearHit.isPresent()) {
+            log.debug("User found in near cache by ID: {}", id);
+            onHit(UserCacheMetrics.KEY_ID, nearHit.get());
+            return nearHit;
+        }
         try {
-            Optional<UserCacheEntity> result = userRedisRepository.findById(id);
+            Optional<UserCacheEntity> result = timed("find_by_id", () -> userCacheStore.findById(id));
             log.info("User found by ID {}: {}", id, result.isPresent());
-            return result;
+            return recordRedisLookup(UserCacheMetrics.KEY_ID, result);
         } catch (UserNotFoundException e) {
             log.warn("User not found in cache by ID: {}", id);
             return Optional.empty();
@@ -36,12 +53,51 @@ public class UserCacheServiceImpl implements UserCacheService {
         }
     }
 
+    public Map<UUID, UserCacheEntity> findUsersByIds(List<UUID> ids) {
+        log.info("Finding {} users in cache by IDs", ids != null ? ids.size() : 0);
+
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<UUID, UserCacheEntity> result = new HashMap<>();
+        List<UUID> nearMisses = new ArrayList<>();
+        for (UUID id : ids) {
+            cacheHotKeyTracker.record(UserCacheMetrics.CACHE_USER, UserCacheMetrics.KEY_ID, id);
+            userNearCache.getById(id).ifPresentOrElse(user -> result.put(id, user), () -> nearMisses.add(id));
+        }
+        if (nearMisses.isEmpty()) {
+            return result;
+        }
+
+        try {
+            Map<UUID, UserCacheEntity> fromStore = timed("find_all_by_ids", () -> userCacheStore.findAllByIds(nearMisses));
+            userCacheMetrics.recordLookups(UserCacheMetrics.TIER_REDIS, UserCacheMetrics.KEY_ID,
+                    fromStore.size(), nearMisses.size() - fromStore.size());
+            fromStore.values().forEach(userNearCache::put);
+            result.putAll(fromStore);
+            log.info("Total users found in cache by IDs: {}", result.size());
+            return result;
+        } catch (Exception e) {
+            log.error("Failed to get users from cache by {} IDs", ids.size(), e);
+            return result;
+        }
+    }
+
     public void cacheUser(UserCacheEntity user) {
         if (user != null && user.getId() != null) {
             UUID id = user.getId();
             log.info("Caching single user: {}", id);
             try {
-                userRedisRepository.save(user);
+                boolean written = timed("save", () -> userCacheStore.save(user));
+                if (!written) {
+                    log.info("Kept the newer cached copy of user {}", id);
+                    return;
+                }
+                recordPayloadSize(List.of(user));
+                userNearCache.invalidate(List.of(id));
+                userNearCache.put(user);
+                userNegativeCache.evict(id, user.getEmail(), user.getPinfl());
                 log.info("Successfully cached user: {}", id);
             } catch (Exception e) {
                 log.error("Failed to cache user: {}", id, e);
@@ -52,28 +108,50 @@ public class UserCacheServiceImpl implements UserCacheService {
         }
     }
 
-    public void cacheUsers(List<UserCacheEntity> users) {
+    public CacheWriteReport cacheUsers(List<UserCacheEntity> users) {
         log.info("Caching {} users", users != null ? users.size() : 0);
-        for (UserCacheEntity userFromCache : Objects.requireNonNull(users)) {
-            if (userFromCache != null && userFromCache.getId() != null) {
-                UUID id = userFromCache.getId();
-                try {
-                    userRedisRepository.save(userFromCache);
-                    log.info("Cached user: {}", id);
-                } catch (Exception e) {
-                    log.error("Failed to cache user in batch: {}", id, e);
-                    throw new RuntimeException(String.format("Failed to cache users: %s", id), e);
-                }
-            } else {
-                log.warn("Skipping null or invalid user in cacheUsers");
-            }
+        List<UserCacheEntity> validUsers = Objects.requireNonNull(users).stream()
+                .filter(user -> user != null && user.getId() != null)
+                .toList();
+
+        if (validUsers.size() < users.size()) {
+            log.warn("Skipping {} null or invalid users in cacheUsers", users.size() - validUsers.size());
         }
+        if (validUsers.isEmpty()) {
+            return CacheWriteReport.EMPTY;
+        }
+
+        long start = System.nanoTime();
+        List<UUID> failedIds;
+        try {
+            failedIds = timed("save_all", () -> userCacheStore.saveAll(validUsers));
+        } catch (Exception e) {
+            log.error("Failed to cache users batch of size {}", validUsers.size(), e);
+            throw new RuntimeException(String.format("Failed to cache users: %d", validUsers.size()), e);
+        } finally {
+            userNearCache.invalidate(validUsers.stream().map(UserCacheEntity::getId).toList());
+        }
+        userNegativeCache.evictAll(validUsers);
+        recordPayloadSize(validUsers);
+
+        CacheWriteReport report = new CacheWriteReport(validUsers.size(), failedIds,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        userCacheMetrics.recordBulkWrite(report);
+
+        if (report.hasFailures()) {
+            log.warn("Cached {} of {} users in {} ms, failed IDs: {}",
+                    report.written(), report.requested(), report.latencyMs(), report.failedIds());
+        } else {
+            log.info("Cached {} users in {} ms", report.written(), report.latencyMs());
+        }
+        return report;
     }
 
     public void removeUserFromCache(UUID userId) {
         log.info("Removing user from cache: {}", userId);
         try {
-            userRedisRepository.deleteById(userId);
+            timed("delete", () -> userCacheStore.deleteById(userId));
+            userNearCache.invalidate(List.of(userId));
             log.info("Successfully removed user from cache: {}", userId);
         } catch (Exception e) {
             log.error("Failed to remove user from cache: {}", userId, e);
@@ -81,12 +159,34 @@ public class UserCacheServiceImpl implements UserCacheService {
         }
     }
 
+    public void removeUsersFromCache(Collection<UUID> userIds) {
+        log.info("Removing {} users from cache", userIds.size());
+        if (userIds.isEmpty()) {
+            return;
+        }
+        try {
+            timed("delete_all", () -> userCacheStore.deleteAll(userIds));
+            log.info("Successfully removed {} users from cache", userIds.size());
+        } catch (Exception e) {
+            log.error("Failed to remove {} users from cache", userIds.size(), e);
+            throw new RuntimeException(String.format("Failed to remove users from cache: %d", userIds.size()), e);
+        } finally {
+            userNearCache.invalidate(userIds);
+        }
+    }
+
     public Optional<UserCacheEntity> findUserByEmail(String email) {
         log.info("Finding user in cache by email: {}", email);
+        Optional<UserCacheEntity> nearHit = userNearCache.getByEmail(email);
+        if (nearHit.isPresent()) {
+            log.debug("User found in near cache by email: {}", email);
+            onHit(UserCacheMetrics.KEY_EMAIL, nearHit.get());
+            return nearHit;
+        }
         try {
-            Optional<UserCacheEntity> result = userRedisRepository.findByEmail(email);
+            Optional<UserCacheEntity> result = timed("find_by_email", () -> userCacheStore.findByEmail(email));
             log.info("User found by email {}: {}", email, result.isPresent());
-            return result;
+            return recordRedisLookup(UserCacheMetrics.KEY_EMAIL, result);
         } catch (UserNotFoundException e) {
             log.warn("User not found in cache by email: {}", email);
             return Optional.empty();
@@ -98,10 +198,16 @@ public class UserCacheServiceImpl implements UserCacheService {
 
     public Optional<UserCacheEntity> findUserByPinfl(String pinfl) {
         log.info("Finding user in cache by PINFL: {}", pinfl);
+        Optional<UserCacheEntity> nearHit = userNearCache.getByPinfl(pinfl);
+        if (nearHit.isPresent()) {
+            log.debug("User found in near cache by PINFL: {}", pinfl);
+            onHit(UserCacheMetrics.KEY_PINFL, nearHit.get());
+            return nearHit;
+        }
         try {
-            Optional<UserCacheEntity> result = userRedisRepository.findUserCacheEntityByPinfl(pinfl);
+            Optional<UserCacheEntity> result = timed("find_by_pinfl", () -> userCacheStore.findByPinfl(pinfl));
             log.info("User found by PINFL {}: {}", pinfl, result.isPresent());
-            return result;
+            return recordRedisLookup(UserCacheMetrics.KEY_PINFL, result);
         } catch (UserNotFoundException e) {
             log.warn("User not found in cache by PINFL: {}", pinfl);
             return Optional.empty();
@@ -112,47 +218,87 @@ public class UserCacheServiceImpl implements UserCacheService {
     }
 
     public List<UserCacheEntity> findUsersByEmails(List<String> emails) {
-        log.info("Searching users in cache by emails: {}", emails);
+        log.info("Searching users in cache by {} emails", emails != null ? emails.size() : 0);
 
         if (emails == null || emails.isEmpty()) {
             log.warn("Email list is null or empty, returning empty result.");
             return Collections.emptyList();
         }
 
-        List<UserCacheEntity> result = new ArrayList<>();
+        try {
+            List<UserCacheEntity> result = timed("find_all_by_emails", () -> userCacheStore.findAllByEmails(emails));
+            userCacheMetrics.recordLookups(UserCacheMetrics.TIER_REDIS, UserCacheMetrics.KEY_EMAIL,
+                    result.size(), emails.size() - result.size());
+            log.info("Total users found in cache by emails: {}", result.size());
+            return result;
+        } catch (Exception e) {
+            log.error("Failed to get users from cache by {} emails", emails.size(), e);
+            return Collections.emptyList();
+        }
+    }
 
-        for (String email : emails) {
-            try {
-                Optional<UserCacheEntity> optional = userRedisRepository.findByEmail(email);
-                optional.ifPresent(result::add);
-            } catch (Exception e) {
-                log.error("Failed to get user from cache by email: {}", email, e);
-            }
+    public List<UserCacheEntity> findUsersByPinfls(List<String> pinfls) {
+        log.info("Searching users in Redis cache by {} PINFLs", pinfls != null ? pinfls.size() : 0);
+
+        if (pinfls == null || pinfls.isEmpty()) {
+            log.warn("PINFL list is null or empty, returning empty result.");
+            return Collections.emptyList();
         }
 
-        log.info("Total users found in cache by emails: {}", result.size());
+        try {
+            List<UserCacheEntity> users = timed("find_all_by_pinfls", () -> userCacheStore.findAllByPinfls(pinfls));
+            userCacheMetrics.recordLookups(UserCacheMetrics.TIER_REDIS, UserCacheMetrics.KEY_PINFL,
+                    users.size(), pinfls.size() - users.size());
+            log.info("Total users found in cache by PINFLs: {}", users.size());
+            return users;
+        } catch (Exception e) {
+            log.error("Error while searching users by {} PINFLs in cache", pinfls.size(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    private Optional<UserCacheEntity> recordRedisLookup(String keyType, Optional<UserCacheEntity> result) {
+        userCacheMetrics.recordLookup(UserCacheMetrics.TIER_REDIS, keyType, result.isPresent());
+        result.ifPresent(user -> {
+            userNearCache.put(user);
+            onHit(keyType, user);
+        });
         return result;
     }
 
-    public List<UserCacheEntity> findUsersByPinfls(List<String> pinfls) {
-        log.info("Searching users in Redis cache by PINFLs: {}", pinfls);
-        List<UserCacheEntity> users = new ArrayList<>();
+    // Email and PINFL lookups are tracked by user ID to keep personal data out of the hot-key report
+    private void onHit(String keyType, UserCacheEntity user) {
+        if (!UserCacheMetrics.KEY_ID.equals(keyType)) {
+            cacheHotKeyTracker.record(UserCacheMetrics.CACHE_USER, keyType, user.getId());
+        }
+        userCacheRefreshAhead.onRead(user);
+    }
 
-        for (String pinfl : pinfls) {
-            try {
-                Optional<UserCacheEntity> userOpt = userRedisRepository.findByPinfl((pinfl));
-                if (userOpt.isPresent()) {
-                    log.debug("User found in cache by PINFL: {}", pinfl);
-                    users.add(userOpt.get());
-                } else {
-                    log.debug("User NOT found in cache by PINFL: {}", pinfl);
+    private void recordPayloadSize(List<UserCacheEntity> users) {
+        for (UserCacheEntity user : users) {
+            if (userCacheMetrics.samplePayload()) {
+                try {
+                    userCacheMetrics.recordPayloadSize(UserCacheMetrics.CACHE_USER, userCacheStore.payloadSize(user));
+                } catch (RuntimeException e) {
+                    log.debug("Failed to measure cached user payload: {}", e.getMessage());
                 }
-            } catch (Exception e) {
-                log.error("Error while searching user by PINFL {} in cache", pinfl, e);
             }
         }
+    }
+
+    private <T> T timed(String command, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            userCacheMetrics.recordRedisCommand(UserCacheMetrics.CACHE_USER, command, System.nanoTime() - start);
+        }
+    }
 
-        log.info("Total users found in cache by PINFLs: {}", users.size());
-        return users;
+    private void timed(String command, Runnable call) {
+        timed(command, () -> {
+            call.run();
+            return null;
+        });
     }
 }
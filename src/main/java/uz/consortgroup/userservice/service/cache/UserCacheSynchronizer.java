@@ -0,0 +1,135 @@
+package uz.consortgroup.userservice.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uz.consortgroup.userservice.cache.UserDirectorySnapshot;
+import uz.consortgroup.userservice.entity.User;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+import uz.consortgroup.userservice.mapper.UserCacheMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Applies changes once after commit; a user whose refresh fails is evicted so it cannot be served stale
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserCacheSynchronizer {
+    private final UserCacheService userCacheService;
+    private final UserCacheMapper userCacheMapper;
+    private final UserDirectorySnapshot userDirectorySnapshot;
+
+    public void refresh(User user) {
+        if (user == null || user.getId() == null) {
+            log.warn("Skipping cache refresh for user without ID");
+            return;
+        }
+        enqueue(changes -> changes.refresh(user));
+    }
+
+    public void evict(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        enqueue(changes -> changes.evict(userId));
+    }
+
+    private void enqueue(Consumer<PendingChanges> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingChanges changes = new PendingChanges();
+            change.accept(changes);
+            apply(changes);
+            return;
+        }
+
+        PendingChanges changes = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            changes = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new AfterCommitSynchronization(changes));
+        }
+        change.accept(changes);
+    }
+
+    private void apply(PendingChanges changes) {
+        changes.refreshed.values().forEach(userDirectorySnapshot::refresh);
+        changes.evicted.forEach(userDirectorySnapshot::invalidate);
+
+        Set<UUID> evicted = new LinkedHashSet<>(changes.evicted);
+        if (!changes.refreshed.isEmpty()) {
+            List<UserCacheEntity> users = changes.refreshed.values().stream()
+                    .map(userCacheMapper::toUserCache)
+                    .filter(Objects::nonNull)
+                    .toList();
+            try {
+                evicted.addAll(userCacheService.cacheUsers(users).failedIds());
+            } catch (Exception e) {
+                log.error("Failed to refresh {} users in cache after commit, evicting them", users.size(), e);
+                evicted.addAll(changes.refreshed.keySet());
+            }
+        }
+        if (!evicted.isEmpty()) {
+            try {
+                userCacheService.removeUsersFromCache(new ArrayList<>(evicted));
+            } catch (Exception e) {
+                log.error("Failed to evict {} users from cache after commit", evicted.size(), e);
+            }
+        }
+        log.debug("Applied cache changes after commit: {} refreshed, {} evicted",
+                changes.refreshed.size(), evicted.size());
+    }
+
+    // Last change per user wins: a later refresh cancels an eviction and vice versa
+    private static final class PendingChanges {
+        private final Map<UUID, User> refreshed = new LinkedHashMap<>();
+        private final Set<UUID> evicted = new LinkedHashSet<>();
+
+        void refresh(User user) {
+            evicted.remove(user.getId());
+            refreshed.put(user.getId(), user);
+        }
+
+        void evict(UUID userId) {
+            refreshed.remove(userId);
+            evicted.add(userId);
+        }
+    }
+
+    private final class AfterCommitSynchronization implements TransactionSynchronization {
+        private final PendingChanges changes;
+
+        private AfterCommitSynchronization(PendingChanges changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(UserCacheSynchronizer.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(UserCacheSynchronizer.this, changes);
+        }
+
+        @Override
+        public void afterCommit() {
+            apply(changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(UserCacheSynchronizer.this);
+        }
+    }
+}
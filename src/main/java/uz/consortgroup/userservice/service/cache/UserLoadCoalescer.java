@@ -0,0 +1,71 @@
+package uz.consortgroup.userservice.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.entity.User;
+import uz.consortgroup.userservice.mapper.UserCacheMapper;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Waiters get a detached copy, so the leader's managed entity is never shared across transactions
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserLoadCoalescer {
+    private final ConcurrentMap<String, CompletableFuture<User>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${cache.coalescing.wait-timeout:5s}")
+    private Duration waitTimeout;
+
+    private final UserCacheMapper userCacheMapper;
+    private final UserCacheMetrics userCacheMetrics;
+
+    public User load(String keyType, String key, Supplier<User> loader) {
+        String flightKey = keyType + ":" + key;
+        CompletableFuture<User> flight = new CompletableFuture<>();
+        CompletableFuture<User> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            userCacheMetrics.recordCoalescedLoad(keyType);
+            log.debug("Joining in-flight user load for {}", flightKey);
+            return await(flightKey, existing, loader);
+        }
+
+        try {
+            User user = loader.get();
+            flight.complete(user);
+            return user;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private User await(String flightKey, CompletableFuture<User> flight, Supplier<User> loader) {
+        try {
+            return userCacheMapper.toUserEntity(userCacheMapper.toUserCache(
+                    flight.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS)));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(String.format("Failed to load user: %s", flightKey), e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("In-flight user load for {} exceeded {}, loading independently", flightKey, waitTimeout);
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(String.format("Interrupted while waiting for user load: %s", flightKey), e);
+        }
+    }
+}
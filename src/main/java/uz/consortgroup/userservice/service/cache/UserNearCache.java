@@ -0,0 +1,178 @@
+package uz.consortgroup.userservice.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Invalidations are broadcast over Redis pub/sub; the write TTL bounds staleness if one is lost
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserNearCache implements MessageListener {
+    private static final String INVALIDATION_CHANNEL = "user_from_cache:invalidations";
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+    private static final String SEPARATOR = "|";
+
+    @Value("${cache.near.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.near.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${cache.near.expire-after-write:60s}")
+    private Duration expireAfterWrite;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+    private final UserCacheMetrics userCacheMetrics;
+
+    private Cache<UUID, UserCacheEntity> usersById;
+    private Cache<String, UUID> idsByEmail;
+    private Cache<String, UUID> idsByPinfl;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("User near cache is disabled");
+            return;
+        }
+
+        usersById = buildCache();
+        idsByEmail = buildCache();
+        idsByPinfl = buildCache();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "user_near_cache_by_id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, "user_near_cache_by_email");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByPinfl, "user_near_cache_by_pinfl");
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        log.info("User near cache enabled: maximumSize={}, expireAfterWrite={}", maximumSize, expireAfterWrite);
+    }
+
+    public Optional<UserCacheEntity> getById(UUID id) {
+        if (!enabled || id == null) {
+            return Optional.empty();
+        }
+        return record(UserCacheMetrics.KEY_ID, Optional.ofNullable(usersById.getIfPresent(id)));
+    }
+
+    public Optional<UserCacheEntity> getByEmail(String email) {
+        if (!enabled || email == null) {
+            return Optional.empty();
+        }
+        return record(UserCacheMetrics.KEY_EMAIL, resolve(idsByEmail, email, UserCacheEntity::getEmail));
+    }
+
+    public Optional<UserCacheEntity> getByPinfl(String pinfl) {
+        if (!enabled || pinfl == null) {
+            return Optional.empty();
+        }
+        return record(UserCacheMetrics.KEY_PINFL, resolve(idsByPinfl, pinfl, UserCacheEntity::getPinfl));
+    }
+
+    public void put(UserCacheEntity user) {
+        if (!enabled || user == null || user.getId() == null) {
+            return;
+        }
+        usersById.put(user.getId(), user);
+        if (user.getEmail() != null) {
+            idsByEmail.put(user.getEmail(), user.getId());
+        }
+        if (user.getPinfl() != null) {
+            idsByPinfl.put(user.getPinfl(), user.getId());
+        }
+    }
+
+    public void invalidate(Collection<UUID> ids) {
+        if (!enabled || ids == null || ids.isEmpty()) {
+            return;
+        }
+        invalidateLocally(ids, "local");
+
+        String payload = INSTANCE_ID + SEPARATOR + ids.stream()
+                .filter(Objects::nonNull)
+                .map(UUID::toString)
+                .collect(Collectors.joining(","));
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, payload);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast invalidation of {} users, peers will expire them after {}",
+                    ids.size(), expireAfterWrite, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = payload.indexOf(SEPARATOR);
+        if (separator < 0 || payload.substring(0, separator).equals(INSTANCE_ID)) {
+            return;
+        }
+
+        try {
+            List<UUID> ids = Arrays.stream(payload.substring(separator + 1).split(","))
+                    .filter(id -> !id.isBlank())
+                    .map(UUID::fromString)
+                    .toList();
+            invalidateLocally(ids, "remote");
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed near cache invalidation: {}", payload, e);
+        }
+    }
+
+    private void invalidateLocally(Collection<UUID> ids, String source) {
+        usersById.invalidateAll(ids);
+        userCacheMetrics.recordInvalidations(source, ids.size());
+        log.debug("Invalidated {} users in near cache ({})", ids.size(), source);
+    }
+
+    private Optional<UserCacheEntity> resolve(Cache<String, UUID> index, String key,
+                                              Function<UserCacheEntity, String> keyExtractor) {
+        UUID id = index.getIfPresent(key);
+        if (id == null) {
+            return Optional.empty();
+        }
+        UserCacheEntity user = usersById.policy().getIfPresentQuietly(id);
+        if (user == null || !key.equals(keyExtractor.apply(user))) {
+            index.invalidate(key);
+            return Optional.empty();
+        }
+        return Optional.of(user);
+    }
+
+    private Optional<UserCacheEntity> record(String keyType, Optional<UserCacheEntity> result) {
+        userCacheMetrics.recordLookup(UserCacheMetrics.TIER_NEAR, keyType, result.isPresent());
+        return result;
+    }
+
+    private <K, V> Cache<K, V> buildCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+}
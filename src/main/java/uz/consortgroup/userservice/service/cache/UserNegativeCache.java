@@ -0,0 +1,99 @@
+package uz.consortgroup.userservice.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+// Best-effort: a Redis error reads as "not marked" and only costs the query the marker would have saved
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserNegativeCache {
+    private static final String KEY_PREFIX = "user_absent:";
+    private static final String MARKER = "1";
+
+    @Value("${cache.negative.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.negative.ttl:30s}")
+    private Duration ttl;
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserCacheMetrics userCacheMetrics;
+
+    public boolean isAbsent(String keyType, String value) {
+        if (!enabled || value == null) {
+            return false;
+        }
+        try {
+            boolean absent = Boolean.TRUE.equals(redisTemplate.hasKey(key(keyType, value)));
+            userCacheMetrics.recordNegativeLookup(keyType, absent);
+            return absent;
+        } catch (Exception e) {
+            log.warn("Failed to check absence marker for {} {}: {}", keyType, value, e.getMessage());
+            return false;
+        }
+    }
+
+    public void markAbsent(String keyType, String value) {
+        if (!enabled || value == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(key(keyType, value), MARKER, ttl);
+            log.debug("Marked user as absent by {}: {}", keyType, value);
+        } catch (Exception e) {
+            log.warn("Failed to mark user as absent by {} {}: {}", keyType, value, e.getMessage());
+        }
+    }
+
+    public void evict(UUID id, String email, String pinfl) {
+        List<String> keys = new ArrayList<>(3);
+        addKeys(keys, id, email, pinfl);
+        delete(keys);
+    }
+
+    public void evictAll(Collection<UserCacheEntity> users) {
+        List<String> keys = new ArrayList<>(users.size() * 3);
+        users.forEach(user -> addKeys(keys, user.getId(), user.getEmail(), user.getPinfl()));
+        delete(keys);
+    }
+
+    private void addKeys(List<String> keys, UUID id, String email, String pinfl) {
+        if (id != null) {
+            keys.add(key(UserCacheMetrics.KEY_ID, id.toString()));
+        }
+        if (email != null) {
+            keys.add(key(UserCacheMetrics.KEY_EMAIL, email));
+        }
+        if (pinfl != null) {
+            keys.add(key(UserCacheMetrics.KEY_PINFL, pinfl));
+        }
+    }
+
+    private void delete(List<String> keys) {
+        if (!enabled || keys.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(keys);
+        } catch (Exception e) {
+            log.warn("Failed to remove {} absence markers: {}", keys.size(), e.getMessage());
+        }
+    }
+
+    private static String key(String keyType, String value) {
+        String normalized = UserCacheMetrics.KEY_EMAIL.equals(keyType) ? value.trim().toLowerCase(Locale.ROOT) : value;
+        return KEY_PREFIX + keyType + ":" + normalized;
+    }
+}
@@ -1,13 +1,18 @@
 package uz.consortgroup.userservice.service.cache;
 
 import uz.consortgroup.userservice.entity.cacheEntity.VerificationCodeCacheEntity;
+import uz.consortgroup.userservice.service.cache.store.VerificationCodeCacheStore.VerificationResult;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface VerificationCodeCacheService {
-    Optional<VerificationCodeCacheEntity> findCodeById(UUID id);
+    Optional<VerificationCodeCacheEntity> findCodeByUserId(UUID userId);
     void saveVerificationCode(VerificationCodeCacheEntity code);
     void saveVerificationCodes(List<VerificationCodeCacheEntity> codes);
+    void removeCode(UUID userId);
+
+    // Empty if the cache is unavailable
+    Optional<VerificationResult> verifyCode(UUID userId, String inputCode);
 }
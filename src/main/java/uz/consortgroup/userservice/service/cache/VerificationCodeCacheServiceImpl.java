@@ -4,45 +4,80 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import uz.consortgroup.userservice.entity.cacheEntity.VerificationCodeCacheEntity;
-import uz.consortgroup.userservice.repository.VerificationCodeRedisRepository;
+import uz.consortgroup.userservice.service.cache.store.VerificationCodeCacheStore;
+import uz.consortgroup.userservice.service.cache.store.VerificationCodeCacheStore.VerificationOutcome;
+import uz.consortgroup.userservice.service.cache.store.VerificationCodeCacheStore.VerificationResult;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class VerificationCodeCacheServiceImpl implements VerificationCodeCacheService {
 
-    private final VerificationCodeRedisRepository verificationCodeRedisRepository;
+    private final VerificationCodeCacheStore verificationCodeCacheStore;
+    private final UserCacheMetrics userCacheMetrics;
+    private final CacheHotKeyTracker cacheHotKeyTracker;
 
-    public Optional<VerificationCodeCacheEntity> findCodeById(UUID id) {
-        log.info("Attempting to find verification code by ID: {}", id);
+    public Optional<VerificationCodeCacheEntity> findCodeByUserId(UUID userId) {
+        log.info("Attempting to find verification code of user: {}", userId);
+        cacheHotKeyTracker.record(UserCacheMetrics.CACHE_VERIFICATION_CODE, UserCacheMetrics.KEY_ID, userId);
         try {
-            Optional<VerificationCodeCacheEntity> result = verificationCodeRedisRepository.findById(id);
-            log.info("Verification code found by ID {}: {}", id, result.isPresent());
+            Optional<VerificationCodeCacheEntity> result =
+                    timed("find_by_user_id", () -> verificationCodeCacheStore.findByUserId(userId));
+            userCacheMetrics.recordVerificationCodeLookup(result.isPresent());
+            log.info("Verification code found for user {}: {}", userId, result.isPresent());
             return result;
         } catch (Exception e) {
-            log.error("Failed to find verification code by ID: {}", id, e);
+            log.error("Failed to find verification code of user: {}", userId, e);
             return Optional.empty();
         }
     }
 
+    public Optional<VerificationResult> verifyCode(UUID userId, String inputCode) {
+        log.info("Verifying code of user {} against cache", userId);
+        cacheHotKeyTracker.record(UserCacheMetrics.CACHE_VERIFICATION_CODE, UserCacheMetrics.KEY_ID, userId);
+        try {
+            VerificationResult result = timed("verify",
+                    () -> verificationCodeCacheStore.verify(userId, inputCode, LocalDateTime.now()));
+            userCacheMetrics.recordVerificationCodeLookup(result.outcome() != VerificationOutcome.MISSING);
+            log.info("Cached verification of user {}: {}", userId, result.outcome());
+            return Optional.of(result);
+        } catch (Exception e) {
+            log.error("Failed to verify code of user {} against cache", userId, e);
+            return Optional.empty();
+        }
+    }
+
+    public void removeCode(UUID userId) {
+        log.info("Removing verification code of user {} from cache", userId);
+        try {
+            timed("delete", () -> verificationCodeCacheStore.deleteByUserId(userId));
+        } catch (Exception e) {
+            log.error("Failed to remove verification code of user {} from cache", userId, e);
+            throw new RuntimeException(String.format("Failed to remove verification code of user: %s", userId), e);
+        }
+    }
+
     public void saveVerificationCode(VerificationCodeCacheEntity code) {
-        if (code != null && code.getId() != null) {
+        if (code != null && code.getId() != null && code.getUserId() != null) {
             UUID id = code.getId();
             log.info("Saving verification code to cache with ID: {}", id);
             try {
-                verificationCodeRedisRepository.save(code);
+                timed("save", () -> verificationCodeCacheStore.save(code));
+                recordPayloadSize(List.of(code));
                 log.info("Successfully cached verification code with ID: {}", id);
             } catch (Exception e) {
                 log.error("Failed to cache verification code with ID: {}", id, e);
                 throw new RuntimeException(String.format("Failed to cache verification code: %s", id), e);
             }
         } else {
-            log.warn("Skipping saveVerificationCode due to null code or null ID");
+            log.warn("Skipping saveVerificationCode due to null code, ID or user ID");
         }
     }
 
@@ -50,11 +85,41 @@ public class VerificationCodeCacheServiceImpl implements VerificationCodeCacheSe
         int size = codes != null ? codes.size() : 0;
         log.info("Saving {} verification codes to cache", size);
         try {
-            verificationCodeRedisRepository.saveAll(Objects.requireNonNull(codes));
+            timed("save_all", () -> verificationCodeCacheStore.saveAll(Objects.requireNonNull(codes)));
+            recordPayloadSize(codes);
             log.info("Successfully cached {} verification codes", size);
         } catch (Exception e) {
             log.error("Failed to cache verification codes batch: {}", codes, e);
             throw new RuntimeException(String.format("Failed to cache verification codes: %s", codes), e);
         }
     }
+
+    private void recordPayloadSize(List<VerificationCodeCacheEntity> codes) {
+        for (VerificationCodeCacheEntity code : codes) {
+            if (userCacheMetrics.samplePayload()) {
+                try {
+                    userCacheMetrics.recordPayloadSize(UserCacheMetrics.CACHE_VERIFICATION_CODE, verificationCodeCacheStore.payloadSize(code));
+                } catch (RuntimeException e) {
+                    log.debug("Failed to measure verification code payload: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private <T> T timed(String command, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            userCacheMetrics.recordRedisCommand(UserCacheMetrics.CACHE_VERIFICATION_CODE, command,
+                    System.nanoTime() - start);
+        }
+    }
+
+    private void timed(String command, Runnable call) {
+        timed(command, () -> {
+            call.run();
+            return null;
+        });
+    }
 }
@@ -0,0 +1,239 @@
+package uz.consortgroup.userservice.service.cache.store;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisHash;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+// Process-local store for tests and single-box benchmarks, mirroring the Redis formats
+@Component
+@ConditionalOnProperty(name = "cache.user.storage-format", havingValue = "memory")
+public class InMemoryUserCacheStore implements UserCacheStore {
+    private static final long TTL_NANOS = Duration.ofSeconds(
+            UserCacheEntity.class.getAnnotation(RedisHash.class).timeToLive()).toNanos();
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, UUID> emailIndex = new ConcurrentHashMap<>();
+    private final Map<String, UUID> pinflIndex = new ConcurrentHashMap<>();
+    private final UserCacheEntityCodec codec;
+    private final LongSupplier ticker;
+
+    @Autowired
+    public InMemoryUserCacheStore(@Value("${cache.user.binary.compression-threshold:256}") int compressionThreshold) {
+        this(compressionThreshold, System::nanoTime);
+    }
+
+    InMemoryUserCacheStore(int compressionThreshold, LongSupplier ticker) {
+        this.codec = new UserCacheEntityCodec(compressionThreshold);
+        this.ticker = ticker;
+    }
+
+    @Override
+    public Optional<UserCacheEntity> findById(UUID id) {
+        return Optional.ofNullable(live(id)).map(entry -> codec.decode(entry.payload()));
+    }
+
+    @Override
+    public Map<UUID, UserCacheEntity> findAllByIds(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<UUID, UserCacheEntity> result = new LinkedHashMap<>();
+        ids.stream()
+                .distinct()
+                .forEach(id -> findById(id).ifPresent(user -> result.put(id, user)));
+        return result;
+    }
+
+    @Override
+    public Optional<UserCacheEntity> findByEmail(String email) {
+        return findByLookup(emailIndex, email, Entry::email);
+    }
+
+    @Override
+    public Optional<UserCacheEntity> findByPinfl(String pinfl) {
+        return findByLookup(pinflIndex, pinfl, Entry::pinfl);
+    }
+
+    @Override
+    public List<UserCacheEntity> findAllByEmails(List<String> emails) {
+        return findAllByLookup(emailIndex, emails, Entry::email);
+    }
+
+    @Override
+    public List<UserCacheEntity> findAllByPinfls(List<String> pinfls) {
+        return findAllByLookup(pinflIndex, pinfls, Entry::pinfl);
+    }
+
+    @Override
+    public boolean save(UserCacheEntity user) {
+        byte[] payload = codec.encode(user);
+        long now = ticker.getAsLong();
+        Entry entry = new Entry(payload, user.getEmail(), user.getPinfl(), user.getUpdatedAt(), now + TTL_NANOS);
+        AtomicBoolean written = new AtomicBoolean(true);
+        entries.compute(user.getId(), (id, previous) -> {
+            if (previous != null && previous.expiresAt() - now > 0 && isNewer(previous, entry)) {
+                written.set(false);
+                return previous;
+            }
+            if (previous != null) {
+                unindex(id, previous);
+            }
+            index(emailIndex, entry.email(), id);
+            index(pinflIndex, entry.pinfl(), id);
+            return entry;
+        });
+        return written.get();
+    }
+
+    @Override
+    public List<UUID> saveAll(List<UserCacheEntity> users) {
+        if (users == null || users.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<UUID> failedIds = new ArrayList<>();
+        for (UserCacheEntity user : users) {
+            try {
+                save(user);
+            } catch (RuntimeException e) {
+                failedIds.add(user.getId());
+            }
+        }
+        return failedIds;
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        entries.computeIfPresent(id, (key, entry) -> {
+            unindex(key, entry);
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAll(Collection<UUID> ids) {
+        if (ids != null) {
+            ids.forEach(this::deleteById);
+        }
+    }
+
+    @Override
+    public Optional<Duration> remainingTtl(UUID id) {
+        return Optional.ofNullable(live(id))
+                .map(entry -> Duration.ofNanos(entry.expiresAt() - ticker.getAsLong()));
+    }
+
+    @Override
+    public int payloadSize(UserCacheEntity user) {
+        return codec.encode(user).length;
+    }
+
+    @Override
+    public List<UUID> sampleIds(int count) {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        List<UUID> sample = new ArrayList<>(count);
+        int seen = 0;
+        for (UUID id : entries.keySet()) {
+            if (live(id) == null) {
+                continue;
+            }
+            seen++;
+            if (sample.size() < count) {
+                sample.add(id);
+            } else {
+                int slot = ThreadLocalRandom.current().nextInt(seen);
+                if (slot < count) {
+                    sample.set(slot, id);
+                }
+            }
+        }
+        return sample;
+    }
+
+    @Scheduled(fixedDelayString = "${cache.user.memory.purge-interval:1m}")
+    public void purgeExpired() {
+        entries.keySet().forEach(this::live);
+    }
+
+    private Optional<UserCacheEntity> findByLookup(Map<String, UUID> index, String value, Function<Entry, String> field) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        UUID id = index.get(value);
+        Entry entry = id != null ? live(id) : null;
+        if (entry == null || !value.equals(field.apply(entry))) {
+            return Optional.empty();
+        }
+        return Optional.of(codec.decode(entry.payload()));
+    }
+
+    private List<UserCacheEntity> findAllByLookup(Map<String, UUID> index, List<String> values,
+                                                  Function<Entry, String> field) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return values.stream()
+                .map(value -> findByLookup(index, value, field))
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    private Entry live(UUID id) {
+        long now = ticker.getAsLong();
+        Entry entry = entries.get(id);
+        if (entry == null || entry.expiresAt() - now > 0) {
+            return entry;
+        }
+        entries.computeIfPresent(id, (key, current) -> {
+            if (current.expiresAt() - now > 0) {
+                return current;
+            }
+            unindex(key, current);
+            return null;
+        });
+        return null;
+    }
+
+    private void unindex(UUID id, Entry entry) {
+        if (entry.email() != null) {
+            emailIndex.remove(entry.email(), id);
+        }
+        if (entry.pinfl() != null) {
+            pinflIndex.remove(entry.pinfl(), id);
+        }
+    }
+
+    private static boolean isNewer(Entry cached, Entry entry) {
+        return cached.updatedAt() != null && entry.updatedAt() != null && cached.updatedAt().isAfter(entry.updatedAt());
+    }
+
+    private static void index(Map<String, UUID> index, String value, UUID id) {
+        if (value != null) {
+            index.put(value, id);
+        }
+    }
+
+    private record Entry(byte[] payload, String email, String pinfl, LocalDateTime updatedAt, long expiresAt) {
+    }
+}
@@ -0,0 +1,143 @@
+package uz.consortgroup.userservice.service.cache.store;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.VerificationCodeStatus;
+import uz.consortgroup.userservice.entity.cacheEntity.VerificationCodeCacheEntity;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static uz.consortgroup.userservice.service.cache.store.VerificationCodeHash.ATTEMPTS;
+import static uz.consortgroup.userservice.service.cache.store.VerificationCodeHash.CREATED_AT;
+import static uz.consortgroup.userservice.service.cache.store.VerificationCodeHash.EXPIRES_AT;
+import static uz.consortgroup.userservice.service.cache.store.VerificationCodeHash.ID;
+import static uz.consortgroup.userservice.service.cache.store.VerificationCodeHash.STATUS;
+import static uz.consortgroup.userservice.service.cache.store.VerificationCodeHash.UPDATED_AT;
+import static uz.consortgroup.userservice.service.cache.store.VerificationCodeHash.USED_AT;
+import static uz.consortgroup.userservice.service.cache.store.VerificationCodeHash.VERIFICATION_CODE;
+
+// Applies the Redis scripts' logic under the map's per-key lock, for tests and single-box benchmarks
+@Component
+@ConditionalOnProperty(name = "cache.verification-code.storage-format", havingValue = "memory")
+public class InMemoryVerificationCodeCacheStore implements VerificationCodeCacheStore {
+    private final Map<UUID, Map<String, String>> codes = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    @Autowired
+    public InMemoryVerificationCodeCacheStore() {
+        this(Clock.systemDefaultZone());
+    }
+
+    InMemoryVerificationCodeCacheStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<VerificationCodeCacheEntity> findByUserId(UUID userId) {
+        Map<String, String> hash = live(userId, now());
+        return Optional.ofNullable(hash != null ? VerificationCodeHash.fromHash(new LinkedHashMap<>(hash)) : null);
+    }
+
+    @Override
+    public void save(VerificationCodeCacheEntity code) {
+        Map<String, String> hash = VerificationCodeHash.toHash(code);
+        if (isExpired(hash, now())) {
+            return;
+        }
+        codes.compute(code.getUserId(), (userId, stored) -> {
+            if (stored != null && !isExpired(stored, now())
+                    && (millis(stored, CREATED_AT) > millis(hash, CREATED_AT) || stored.get(ID).equals(hash.get(ID)))) {
+                return stored;
+            }
+            return hash;
+        });
+    }
+
+    @Override
+    public void saveAll(List<VerificationCodeCacheEntity> codes) {
+        codes.forEach(this::save);
+    }
+
+    @Override
+    public void deleteByUserId(UUID userId) {
+        codes.remove(userId);
+    }
+
+    @Override
+    public VerificationResult verify(UUID userId, String inputCode, LocalDateTime now) {
+        VerificationResult[] result = {VerificationResult.missing()};
+        String nowMillis = String.valueOf(VerificationCodeHash.toMillis(now));
+        codes.computeIfPresent(userId, (key, stored) -> {
+            if (isExpired(stored, now())) {
+                return null;
+            }
+            Map<String, String> hash = new LinkedHashMap<>(stored);
+            UUID codeId = UUID.fromString(hash.get(ID));
+            int attempts = Integer.parseInt(hash.getOrDefault(ATTEMPTS, "0"));
+            String status = hash.get(STATUS);
+
+            if (VerificationCodeStatus.USED.name().equals(status)) {
+                result[0] = new VerificationResult(VerificationOutcome.USED, codeId, attempts);
+            } else if (VerificationCodeStatus.EXPIRED.name().equals(status)
+                    || millis(hash, EXPIRES_AT) <= Long.parseLong(nowMillis)) {
+                hash.put(STATUS, VerificationCodeStatus.EXPIRED.name());
+                hash.put(UPDATED_AT, nowMillis);
+                result[0] = new VerificationResult(VerificationOutcome.EXPIRED, codeId, attempts);
+            } else if (!inputCode.equals(hash.get(VERIFICATION_CODE))) {
+                hash.put(ATTEMPTS, String.valueOf(attempts + 1));
+                hash.put(UPDATED_AT, nowMillis);
+                result[0] = new VerificationResult(VerificationOutcome.INVALID, codeId, attempts + 1);
+            } else {
+                hash.put(STATUS, VerificationCodeStatus.USED.name());
+                hash.put(USED_AT, nowMillis);
+                hash.put(UPDATED_AT, nowMillis);
+                result[0] = new VerificationResult(VerificationOutcome.VERIFIED, codeId, attempts);
+            }
+            return hash;
+        });
+        return result[0];
+    }
+
+    @Override
+    public int payloadSize(VerificationCodeCacheEntity code) {
+        return VerificationCodeHash.sizeOf(VerificationCodeHash.toHash(code));
+    }
+
+    @Scheduled(fixedDelayString = "${cache.verification-code.memory.purge-interval:1m}")
+    public void purgeExpired() {
+        LocalDateTime now = now();
+        codes.values().removeIf(hash -> isExpired(hash, now));
+    }
+
+    private Map<String, String> live(UUID userId, LocalDateTime now) {
+        Map<String, String> hash = codes.get(userId);
+        if (hash != null && isExpired(hash, now)) {
+            codes.remove(userId, hash);
+            return null;
+        }
+        return hash;
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    // Mirrors the Redis key expiring at the code's expiresAt
+    private static boolean isExpired(Map<String, String> hash, LocalDateTime now) {
+        return millis(hash, EXPIRES_AT) <= VerificationCodeHash.toMillis(now);
+    }
+
+    private static long millis(Map<String, String> hash, String field) {
+        String value = hash.get(field);
+        return value != null ? Long.parseLong(value) : 0;
+    }
+}
@@ -0,0 +1,303 @@
+package uz.consortgroup.userservice.service.cache.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisHash;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Lookup keys are checked against the decoded entry, so a stale one reads as a miss
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cache.user.storage-format", havingValue = "binary")
+public class RedisBinaryUserCacheStore implements UserCacheStore {
+    private static final String KEYSPACE = "user_bin";
+    private static final String EMAIL_INDEX = "email";
+    private static final String PINFL_INDEX = "pinfl";
+    private static final String UPDATED_AT = "updated_at";
+    private static final Long WRITTEN = 1L;
+    private static final int RANDOM_KEY_DRAWS_PER_SAMPLE = 3;
+    private static final long TTL_SECONDS = UserCacheEntity.class.getAnnotation(RedisHash.class).timeToLive();
+    private static final RedisScript<Long> SAVE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/save-user-cache-binary.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserCacheEntityCodec codec;
+
+    public RedisBinaryUserCacheStore(StringRedisTemplate redisTemplate,
+                                     @Value("${cache.user.binary.compression-threshold:256}") int compressionThreshold) {
+        this.redisTemplate = redisTemplate;
+        this.codec = new UserCacheEntityCodec(compressionThreshold);
+    }
+
+    @Override
+    public Optional<UserCacheEntity> findById(UUID id) {
+        byte[] value = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(valueKey(id.toString())));
+        return Optional.ofNullable(decode(value));
+    }
+
+    @Override
+    public Map<UUID, UserCacheEntity> findAllByIds(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<String> orderedIds = ids.stream()
+                .distinct()
+                .map(UUID::toString)
+                .toList();
+
+        Map<UUID, UserCacheEntity> result = new LinkedHashMap<>();
+        for (UserCacheEntity user : multiGet(orderedIds)) {
+            if (user != null) {
+                result.put(user.getId(), user);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<UserCacheEntity> findByEmail(String email) {
+        return findByLookup(EMAIL_INDEX, email, UserCacheEntity::getEmail);
+    }
+
+    @Override
+    public Optional<UserCacheEntity> findByPinfl(String pinfl) {
+        return findByLookup(PINFL_INDEX, pinfl, UserCacheEntity::getPinfl);
+    }
+
+    @Override
+    public List<UserCacheEntity> findAllByEmails(List<String> emails) {
+        return findAllByLookup(EMAIL_INDEX, emails, UserCacheEntity::getEmail);
+    }
+
+    @Override
+    public List<UserCacheEntity> findAllByPinfls(List<String> pinfls) {
+        return findAllByLookup(PINFL_INDEX, pinfls, UserCacheEntity::getPinfl);
+    }
+
+    @Override
+    public boolean save(UserCacheEntity user) {
+        return WRITTEN.equals(runSaves(List.of(user)).get(1));
+    }
+
+    @Override
+    public List<UUID> saveAll(List<UserCacheEntity> users) {
+        if (users == null || users.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        try {
+            runSaves(users);
+            return Collections.emptyList();
+        } catch (RedisPipelineException e) {
+            List<Object> results = e.getResults();
+            if (results.size() != users.size() + 1) {
+                throw e;
+            }
+            List<UUID> failedIds = new ArrayList<>();
+            for (int i = 0; i < users.size(); i++) {
+                if (results.get(i + 1) instanceof Exception) {
+                    failedIds.add(users.get(i).getId());
+                }
+            }
+            log.warn("Saved {} of {} binary user entries in one pipeline", users.size() - failedIds.size(), users.size());
+            return failedIds;
+        }
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        deleteAll(List.of(id));
+    }
+
+    @Override
+    public void deleteAll(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>();
+        ids.forEach(id -> {
+            keys.add(KEYSPACE + ":" + id);
+            keys.add(lookupKey(UPDATED_AT, id.toString()));
+        });
+        findAllByIds(ids).values().forEach(user -> {
+            if (user.getEmail() != null) {
+                keys.add(lookupKey(EMAIL_INDEX, user.getEmail()));
+            }
+            if (user.getPinfl() != null) {
+                keys.add(lookupKey(PINFL_INDEX, user.getPinfl()));
+            }
+        });
+        redisTemplate.delete(keys);
+    }
+
+    @Override
+    public Optional<Duration> remainingTtl(UUID id) {
+        Long millis = redisTemplate.getExpire(KEYSPACE + ":" + id, TimeUnit.MILLISECONDS);
+        return millis == null || millis < 0 ? Optional.empty() : Optional.of(Duration.ofMillis(millis));
+    }
+
+    @Override
+    public int payloadSize(UserCacheEntity user) {
+        return codec.encode(user).length;
+    }
+
+    // The database is shared with other keys, so fewer than count IDs may come back
+    @Override
+    public List<UUID> sampleIds(int count) {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        List<Object> keys = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < count * RANDOM_KEY_DRAWS_PER_SAMPLE; i++) {
+                connection.keyCommands().randomKey();
+            }
+            return null;
+        }, RedisSerializer.string());
+
+        String prefix = KEYSPACE + ":";
+        return keys.stream()
+                .filter(String.class::isInstance)
+                .map(String.class::cast)
+                .filter(key -> key.startsWith(prefix) && key.indexOf(':', prefix.length()) < 0)
+                .distinct()
+                .limit(count)
+                .map(key -> UUID.fromString(key.substring(prefix.length())))
+                .toList();
+    }
+
+    private Optional<UserCacheEntity> findByLookup(String index, String value, Function<UserCacheEntity, String> field) {
+        String id = redisTemplate.opsForValue().get(lookupKey(index, value));
+        if (id == null) {
+            return Optional.empty();
+        }
+        return findById(UUID.fromString(id))
+                .filter(user -> value.equals(field.apply(user)));
+    }
+
+    private List<UserCacheEntity> findAllByLookup(String index, List<String> values, Function<UserCacheEntity, String> field) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> ids = redisTemplate.opsForValue().multiGet(values.stream()
+                .map(value -> lookupKey(index, value))
+                .toList());
+        if (ids == null || ids.stream().allMatch(Objects::isNull)) {
+            return Collections.emptyList();
+        }
+
+        List<String> presentIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<String, UserCacheEntity> usersById = new LinkedHashMap<>();
+        List<UserCacheEntity> users = multiGet(presentIds);
+        for (int i = 0; i < presentIds.size(); i++) {
+            if (users.get(i) != null) {
+                usersById.put(presentIds.get(i), users.get(i));
+            }
+        }
+
+        List<UserCacheEntity> result = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            UserCacheEntity user = ids.get(i) != null ? usersById.get(ids.get(i)) : null;
+            if (user != null && values.get(i).equals(field.apply(user))) {
+                result.add(user);
+            }
+        }
+        return result;
+    }
+
+    private List<UserCacheEntity> multiGet(List<String> ids) {
+        byte[][] keys = ids.stream()
+                .map(this::valueKey)
+                .toArray(byte[][]::new);
+        List<byte[]> values = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.stringCommands().mGet(keys));
+
+        List<UserCacheEntity> users = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            users.add(values != null ? decode(values.get(i)) : null);
+        }
+        return users;
+    }
+
+    // One save-user-cache-binary.lua call per user after the script load; the result at i + 1 belongs to user i
+    private List<Object> runSaves(List<UserCacheEntity> users) {
+        byte[] script = toBytes(SAVE_SCRIPT.getScriptAsString());
+        String sha = SAVE_SCRIPT.getSha1();
+        List<byte[][]> invocations = users.stream()
+                .map(this::toSaveArguments)
+                .toList();
+        return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.scriptingCommands().scriptLoad(script);
+            invocations.forEach(keysAndArgs -> connection.scriptingCommands()
+                    .evalSha(sha, ReturnType.INTEGER, keysAndArgs.length - 4, keysAndArgs));
+            return null;
+        }, RedisSerializer.byteArray());
+    }
+
+    // Keys of save-user-cache-binary.lua followed by its four arguments
+    private byte[][] toSaveArguments(UserCacheEntity user) {
+        String id = user.getId().toString();
+        List<byte[]> keysAndArgs = new ArrayList<>(7);
+        keysAndArgs.add(valueKey(id));
+        keysAndArgs.add(toBytes(lookupKey(UPDATED_AT, id)));
+        if (user.getEmail() != null) {
+            keysAndArgs.add(toBytes(lookupKey(EMAIL_INDEX, user.getEmail())));
+        }
+        if (user.getPinfl() != null) {
+            keysAndArgs.add(toBytes(lookupKey(PINFL_INDEX, user.getPinfl())));
+        }
+        keysAndArgs.add(toBytes(id));
+        keysAndArgs.add(toBytes(String.valueOf(TTL_SECONDS)));
+        keysAndArgs.add(codec.encode(user));
+        keysAndArgs.add(toBytes(user.getUpdatedAt() != null ? user.getUpdatedAt().toString() : ""));
+        return keysAndArgs.toArray(byte[][]::new);
+    }
+
+    private UserCacheEntity decode(byte[] value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return codec.decode(value);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring undecodable user cache entry", e);
+            return null;
+        }
+    }
+
+    private byte[] valueKey(String id) {
+        return toBytes(KEYSPACE + ":" + id);
+    }
+
+    private static String lookupKey(String index, String value) {
+        return KEYSPACE + ":" + index + ":" + value;
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,102 @@
+package uz.consortgroup.userservice.service.cache.store;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisHash;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+import uz.consortgroup.userservice.repository.UserRedisRepository;
+import uz.consortgroup.userservice.service.cache.RedisHashPayloadSizer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cache.user.storage-format", havingValue = "hash", matchIfMissing = true)
+public class RedisHashUserCacheStore implements UserCacheStore {
+    private static final String KEYSPACE = UserCacheEntity.class.getAnnotation(RedisHash.class).value();
+
+    private final UserRedisRepository userRedisRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisHashPayloadSizer payloadSizer;
+
+    @Override
+    public Optional<UserCacheEntity> findById(UUID id) {
+        return userRedisRepository.findById(id);
+    }
+
+    @Override
+    public Map<UUID, UserCacheEntity> findAllByIds(Collection<UUID> ids) {
+        return userRedisRepository.findAllByIds(ids);
+    }
+
+    @Override
+    public Optional<UserCacheEntity> findByEmail(String email) {
+        return userRedisRepository.findByEmail(email);
+    }
+
+    @Override
+    public Optional<UserCacheEntity> findByPinfl(String pinfl) {
+        return userRedisRepository.findUserCacheEntityByPinfl(pinfl);
+    }
+
+    @Override
+    public List<UserCacheEntity> findAllByEmails(List<String> emails) {
+        return userRedisRepository.findAllByEmails(emails);
+    }
+
+    @Override
+    public List<UserCacheEntity> findAllByPinfls(List<String> pinfls) {
+        return userRedisRepository.findAllByPinfls(pinfls);
+    }
+
+    @Override
+    public boolean save(UserCacheEntity user) {
+        return userRedisRepository.saveUnlessOlder(user);
+    }
+
+    @Override
+    public List<UUID> saveAll(List<UserCacheEntity> users) {
+        return userRedisRepository.saveAllPipelined(users);
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        userRedisRepository.deleteById(id);
+    }
+
+    @Override
+    public void deleteAll(Collection<UUID> ids) {
+        userRedisRepository.deleteAllPipelined(ids);
+    }
+
+    @Override
+    public Optional<Duration> remainingTtl(UUID id) {
+        Long millis = redisTemplate.getExpire(KEYSPACE + ":" + id, TimeUnit.MILLISECONDS);
+        return millis == null || millis < 0 ? Optional.empty() : Optional.of(Duration.ofMillis(millis));
+    }
+
+    @Override
+    public int payloadSize(UserCacheEntity user) {
+        return payloadSizer.sizeOf(user);
+    }
+
+    @Override
+    public List<UUID> sampleIds(int count) {
+        Set<String> ids = redisTemplate.opsForSet().distinctRandomMembers(KEYSPACE, count);
+        if (ids == null) {
+            return List.of();
+        }
+        return ids.stream()
+                .map(UUID::fromString)
+                .toList();
+    }
+}
@@ -0,0 +1,138 @@
+package uz.consortgroup.userservice.service.cache.store;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.userservice.entity.cacheEntity.VerificationCodeCacheEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+// One hash per user, verification_code:<userId>, expiring together with the code
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cache.verification-code.storage-format", havingValue = "redis", matchIfMissing = true)
+public class RedisVerificationCodeCacheStore implements VerificationCodeCacheStore {
+    private static final String KEYSPACE = "verification_code";
+
+    private static final RedisScript<Long> SAVE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/save-verification-code.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> VERIFY_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/verify-verification-code.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public Optional<VerificationCodeCacheEntity> findByUserId(UUID userId) {
+        Map<String, String> hash = redisTemplate.<String, String>opsForHash().entries(key(userId));
+        return Optional.ofNullable(VerificationCodeHash.fromHash(hash));
+    }
+
+    @Override
+    public void save(VerificationCodeCacheEntity code) {
+        List<String> args = saveArgs(code, LocalDateTime.now());
+        if (args.isEmpty()) {
+            return;
+        }
+        redisTemplate.execute(SAVE_SCRIPT, List.of(key(code.getUserId())), args.toArray());
+    }
+
+    @Override
+    public void saveAll(List<VerificationCodeCacheEntity> codes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<byte[][]> invocations = new ArrayList<>(codes.size());
+        for (VerificationCodeCacheEntity code : codes) {
+            List<String> args = saveArgs(code, now);
+            if (!args.isEmpty()) {
+                byte[][] keysAndArgs = new byte[args.size() + 1][];
+                keysAndArgs[0] = toBytes(key(code.getUserId()));
+                for (int i = 0; i < args.size(); i++) {
+                    keysAndArgs[i + 1] = toBytes(args.get(i));
+                }
+                invocations.add(keysAndArgs);
+            }
+        }
+        if (invocations.isEmpty()) {
+            return;
+        }
+
+        byte[] script = toBytes(SAVE_SCRIPT.getScriptAsString());
+        String sha = SAVE_SCRIPT.getSha1();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.scriptingCommands().scriptLoad(script);
+            invocations.forEach(keysAndArgs ->
+                    connection.scriptingCommands().evalSha(sha, ReturnType.INTEGER, 1, keysAndArgs));
+            return null;
+        }, RedisSerializer.byteArray());
+        log.debug("Saved {} of {} verification codes in one pipeline, the rest had expired",
+                invocations.size(), codes.size());
+    }
+
+    @Override
+    public void deleteByUserId(UUID userId) {
+        redisTemplate.delete(key(userId));
+    }
+
+    @Override
+    public VerificationResult verify(UUID userId, String inputCode, LocalDateTime now) {
+        List<?> result = redisTemplate.execute(VERIFY_SCRIPT, List.of(key(userId)),
+                inputCode, String.valueOf(VerificationCodeHash.toMillis(now)));
+        if (result == null || result.isEmpty()) {
+            throw new IllegalStateException(String.format("No verification result for user %s", userId));
+        }
+        VerificationOutcome outcome = VerificationOutcome.valueOf(result.get(0).toString());
+        if (outcome == VerificationOutcome.MISSING) {
+            return VerificationResult.missing();
+        }
+        return new VerificationResult(outcome, UUID.fromString(result.get(1).toString()),
+                Integer.parseInt(result.get(2).toString()));
+    }
+
+    @Override
+    public int payloadSize(VerificationCodeCacheEntity code) {
+        return VerificationCodeHash.sizeOf(VerificationCodeHash.toHash(code));
+    }
+
+    // Empty if the code has expired already
+    private static List<String> saveArgs(VerificationCodeCacheEntity code, LocalDateTime now) {
+        Map<String, String> hash = VerificationCodeHash.toHash(code);
+        long ttlMillis = code.getExpiresAt() != null
+                ? VerificationCodeHash.toMillis(code.getExpiresAt()) - VerificationCodeHash.toMillis(now)
+                : 0;
+        if (ttlMillis <= 0) {
+            return List.of();
+        }
+
+        List<String> args = new ArrayList<>(3 + hash.size() * 2);
+        args.add(hash.get(VerificationCodeHash.ID));
+        args.add(hash.getOrDefault(VerificationCodeHash.CREATED_AT, "0"));
+        args.add(String.valueOf(ttlMillis));
+        hash.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        return args;
+    }
+
+    private static String key(UUID userId) {
+        return KEYSPACE + ":" + userId;
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
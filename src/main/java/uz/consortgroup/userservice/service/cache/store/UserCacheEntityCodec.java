@@ -0,0 +1,271 @@
+package uz.consortgroup.userservice.service.cache.store;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserStatus;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+// Fields may only be appended to the layout; anything else requires a new version
+public final class UserCacheEntityCodec {
+    static final byte VERSION = 1;
+    private static final byte FLAG_LZ4 = 1;
+    private static final int HEADER_SIZE = 2;
+
+    private static final int LANGUAGE = 0;
+    private static final int FIRST_NAME = 1;
+    private static final int MIDDLE_NAME = 2;
+    private static final int LAST_NAME = 3;
+    private static final int BORN_DATE = 4;
+    private static final int PHONE_NUMBER = 5;
+    private static final int WORK_PLACE = 6;
+    private static final int EMAIL = 7;
+    private static final int POSITION = 8;
+    private static final int PINFL = 9;
+    private static final int IS_VERIFIED = 10;
+    private static final int VERIFICATION_CODE = 11;
+    private static final int ROLE = 12;
+    private static final int STATUS = 13;
+    private static final int CREATED_AT = 14;
+    private static final int UPDATED_AT = 15;
+    private static final int LAST_LOGIN_AT = 16;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final int compressionThreshold;
+
+    // Bodies of at least compressionThreshold bytes are LZ4 compressed, 0 disables compression
+    public UserCacheEntityCodec(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public byte[] encode(UserCacheEntity user) {
+        Writer body = new Writer(256);
+        int presence = 0;
+        presence |= bit(LANGUAGE, user.getLanguage());
+        presence |= bit(FIRST_NAME, user.getFirstName());
+        presence |= bit(MIDDLE_NAME, user.getMiddleName());
+        presence |= bit(LAST_NAME, user.getLastName());
+        presence |= bit(BORN_DATE, user.getBornDate());
+        presence |= bit(PHONE_NUMBER, user.getPhoneNumber());
+        presence |= bit(WORK_PLACE, user.getWorkPlace());
+        presence |= bit(EMAIL, user.getEmail());
+        presence |= bit(POSITION, user.getPosition());
+        presence |= bit(PINFL, user.getPinfl());
+        presence |= bit(IS_VERIFIED, user.getIsVerified());
+        presence |= bit(VERIFICATION_CODE, user.getVerificationCode());
+        presence |= bit(ROLE, user.getRole());
+        presence |= bit(STATUS, user.getStatus());
+        presence |= bit(CREATED_AT, user.getCreatedAt());
+        presence |= bit(UPDATED_AT, user.getUpdatedAt());
+        presence |= bit(LAST_LOGIN_AT, user.getLastLoginAt());
+
+        body.writeInt(presence);
+        body.writeLong(user.getId().getMostSignificantBits());
+        body.writeLong(user.getId().getLeastSignificantBits());
+        body.writeString(user.getLanguage());
+        body.writeString(user.getFirstName());
+        body.writeString(user.getMiddleName());
+        body.writeString(user.getLastName());
+        if (user.getBornDate() != null) {
+            body.writeInt((int) user.getBornDate().toEpochDay());
+        }
+        body.writeString(user.getPhoneNumber());
+        body.writeString(user.getWorkPlace());
+        body.writeString(user.getEmail());
+        body.writeString(user.getPosition());
+        body.writeString(user.getPinfl());
+        if (user.getIsVerified() != null) {
+            body.writeByte(user.getIsVerified() ? 1 : 0);
+        }
+        body.writeString(user.getVerificationCode());
+        body.writeString(user.getRole() != null ? user.getRole().name() : null);
+        body.writeString(user.getStatus() != null ? user.getStatus().name() : null);
+        body.writeDateTime(user.getCreatedAt());
+        body.writeDateTime(user.getUpdatedAt());
+        body.writeDateTime(user.getLastLoginAt());
+
+        return compressionThreshold > 0 && body.size() >= compressionThreshold ? compressed(body) : plain(body);
+    }
+
+    public UserCacheEntity decode(byte[] value) {
+        if (value == null || value.length < HEADER_SIZE) {
+            throw new IllegalArgumentException("Not an encoded user cache entry");
+        }
+        if (value[0] != VERSION) {
+            throw new IllegalArgumentException("Unsupported user cache entry version: " + value[0]);
+        }
+
+        ByteBuffer body;
+        if ((value[1] & FLAG_LZ4) != 0) {
+            int rawLength = ByteBuffer.wrap(value, HEADER_SIZE, Integer.BYTES).getInt();
+            byte[] raw = LZ4.fastDecompressor().decompress(value, HEADER_SIZE + Integer.BYTES, rawLength);
+            body = ByteBuffer.wrap(raw);
+        } else {
+            body = ByteBuffer.wrap(value, HEADER_SIZE, value.length - HEADER_SIZE);
+        }
+
+        int presence = body.getInt();
+        UserCacheEntity user = new UserCacheEntity();
+        user.setId(new UUID(body.getLong(), body.getLong()));
+        user.setLanguage(readString(body, presence, LANGUAGE));
+        user.setFirstName(readString(body, presence, FIRST_NAME));
+        user.setMiddleName(readString(body, presence, MIDDLE_NAME));
+        user.setLastName(readString(body, presence, LAST_NAME));
+        if (has(presence, BORN_DATE)) {
+            user.setBornDate(LocalDate.ofEpochDay(body.getInt()));
+        }
+        user.setPhoneNumber(readString(body, presence, PHONE_NUMBER));
+        user.setWorkPlace(readString(body, presence, WORK_PLACE));
+        user.setEmail(readString(body, presence, EMAIL));
+        user.setPosition(readString(body, presence, POSITION));
+        user.setPinfl(readString(body, presence, PINFL));
+        if (has(presence, IS_VERIFIED)) {
+            user.setIsVerified(body.get() != 0);
+        }
+        user.setVerificationCode(readString(body, presence, VERIFICATION_CODE));
+        String role = readString(body, presence, ROLE);
+        user.setRole(role != null ? UserRole.valueOf(role) : null);
+        String status = readString(body, presence, STATUS);
+        user.setStatus(status != null ? UserStatus.valueOf(status) : null);
+        user.setCreatedAt(readDateTime(body, presence, CREATED_AT));
+        user.setUpdatedAt(readDateTime(body, presence, UPDATED_AT));
+        user.setLastLoginAt(readDateTime(body, presence, LAST_LOGIN_AT));
+        return user;
+    }
+
+    private static byte[] plain(Writer body) {
+        byte[] value = new byte[HEADER_SIZE + body.size()];
+        value[0] = VERSION;
+        System.arraycopy(body.buffer(), 0, value, HEADER_SIZE, body.size());
+        return value;
+    }
+
+    private static byte[] compressed(Writer body) {
+        LZ4Compressor compressor = LZ4.fastCompressor();
+        int offset = HEADER_SIZE + Integer.BYTES;
+        byte[] value = new byte[offset + compressor.maxCompressedLength(body.size())];
+        int compressedLength = compressor.compress(body.buffer(), 0, body.size(), value, offset);
+        if (compressedLength + Integer.BYTES >= body.size()) {
+            return plain(body);
+        }
+        value[0] = VERSION;
+        value[1] = FLAG_LZ4;
+        ByteBuffer.wrap(value, HEADER_SIZE, Integer.BYTES).putInt(body.size());
+        return Arrays.copyOf(value, offset + compressedLength);
+    }
+
+    private static int bit(int field, Object value) {
+        return value != null ? 1 << field : 0;
+    }
+
+    private static boolean has(int presence, int field) {
+        return (presence & (1 << field)) != 0;
+    }
+
+    private static String readString(ByteBuffer body, int presence, int field) {
+        if (!has(presence, field)) {
+            return null;
+        }
+        int length = readVarInt(body);
+        String value = new String(body.array(), body.arrayOffset() + body.position(), length, StandardCharsets.UTF_8);
+        body.position(body.position() + length);
+        return value;
+    }
+
+    private static LocalDateTime readDateTime(ByteBuffer body, int presence, int field) {
+        if (!has(presence, field)) {
+            return null;
+        }
+        long epochSecond = body.getLong();
+        int nano = body.getInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    private static int readVarInt(ByteBuffer body) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = body.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int size;
+
+        Writer(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        byte[] buffer() {
+            return buffer;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(Integer.BYTES);
+            ByteBuffer.wrap(buffer, size, Integer.BYTES).putInt(value);
+            size += Integer.BYTES;
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(Long.BYTES);
+            ByteBuffer.wrap(buffer, size, Long.BYTES).putLong(value);
+            size += Long.BYTES;
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeDateTime(LocalDateTime value) {
+            if (value == null) {
+                return;
+            }
+            writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            writeInt(value.getNano());
+        }
+
+        private void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte(value);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+}
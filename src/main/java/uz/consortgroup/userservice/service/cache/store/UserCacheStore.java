@@ -0,0 +1,33 @@
+package uz.consortgroup.userservice.service.cache.store;
+
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UserCacheStore {
+    Optional<UserCacheEntity> findById(UUID id);
+    Map<UUID, UserCacheEntity> findAllByIds(Collection<UUID> ids);
+    Optional<UserCacheEntity> findByEmail(String email);
+    Optional<UserCacheEntity> findByPinfl(String pinfl);
+    List<UserCacheEntity> findAllByEmails(List<String> emails);
+    List<UserCacheEntity> findAllByPinfls(List<String> pinfls);
+
+    // Keeps the cached copy and returns false when its updatedAt is later than the user's
+    boolean save(UserCacheEntity user);
+
+    // Returns the IDs of the users whose write failed; a user that kept a newer cached copy is not one of them
+    List<UUID> saveAll(List<UserCacheEntity> users);
+    void deleteById(UUID id);
+    void deleteAll(Collection<UUID> ids);
+
+    Optional<Duration> remainingTtl(UUID id);
+
+    int payloadSize(UserCacheEntity user);
+
+    List<UUID> sampleIds(int count);
+}
@@ -0,0 +1,36 @@
+package uz.consortgroup.userservice.service.cache.store;
+
+import uz.consortgroup.userservice.entity.cacheEntity.VerificationCodeCacheEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Saving keeps a newer or already stored code, whose status and attempts are ahead of the database
+public interface VerificationCodeCacheStore {
+    Optional<VerificationCodeCacheEntity> findByUserId(UUID userId);
+    void save(VerificationCodeCacheEntity code);
+    void saveAll(List<VerificationCodeCacheEntity> codes);
+    void deleteByUserId(UUID userId);
+
+    // Compares, counts a wrong guess, expires or marks the code used in one atomic step
+    VerificationResult verify(UUID userId, String inputCode, LocalDateTime now);
+
+    int payloadSize(VerificationCodeCacheEntity code);
+
+    // codeId is null when the outcome is MISSING
+    record VerificationResult(VerificationOutcome outcome, UUID codeId, int attempts) {
+        public static VerificationResult missing() {
+            return new VerificationResult(VerificationOutcome.MISSING, null, 0);
+        }
+    }
+
+    enum VerificationOutcome {
+        MISSING,
+        USED,
+        EXPIRED,
+        INVALID,
+        VERIFIED
+    }
+}
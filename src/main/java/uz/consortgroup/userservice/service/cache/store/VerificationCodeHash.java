@@ -0,0 +1,87 @@
+package uz.consortgroup.userservice.service.cache.store;
+
+import uz.consortgroup.core.api.v1.dto.user.enumeration.VerificationCodeStatus;
+import uz.consortgroup.userservice.entity.cacheEntity.VerificationCodeCacheEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+// Date-times are UTC epoch milliseconds so the Redis script can compare them
+final class VerificationCodeHash {
+    static final String ID = "id";
+    static final String USER_ID = "userId";
+    static final String VERIFICATION_CODE = "verificationCode";
+    static final String STATUS = "status";
+    static final String ATTEMPTS = "attempts";
+    static final String CREATED_AT = "createdAt";
+    static final String UPDATED_AT = "updatedAt";
+    static final String USED_AT = "usedAt";
+    static final String EXPIRES_AT = "expiresAt";
+
+    private VerificationCodeHash() {
+    }
+
+    static Map<String, String> toHash(VerificationCodeCacheEntity code) {
+        Map<String, String> hash = new LinkedHashMap<>();
+        put(hash, ID, code.getId());
+        put(hash, USER_ID, code.getUserId());
+        put(hash, VERIFICATION_CODE, code.getVerificationCode());
+        put(hash, STATUS, code.getStatus() != null ? code.getStatus().name() : null);
+        put(hash, ATTEMPTS, code.getAttempts());
+        put(hash, CREATED_AT, toMillis(code.getCreatedAt()));
+        put(hash, UPDATED_AT, toMillis(code.getUpdatedAt()));
+        put(hash, USED_AT, toMillis(code.getUsedAt()));
+        put(hash, EXPIRES_AT, toMillis(code.getExpiresAt()));
+        return hash;
+    }
+
+    static VerificationCodeCacheEntity fromHash(Map<String, String> hash) {
+        if (hash == null || hash.get(ID) == null) {
+            return null;
+        }
+        return VerificationCodeCacheEntity.builder()
+                .id(UUID.fromString(hash.get(ID)))
+                .userId(map(hash.get(USER_ID), UUID::fromString))
+                .verificationCode(hash.get(VERIFICATION_CODE))
+                .status(map(hash.get(STATUS), VerificationCodeStatus::valueOf))
+                .attempts(hash.get(ATTEMPTS) != null ? Integer.parseInt(hash.get(ATTEMPTS)) : 0)
+                .createdAt(map(hash.get(CREATED_AT), VerificationCodeHash::fromMillis))
+                .updatedAt(map(hash.get(UPDATED_AT), VerificationCodeHash::fromMillis))
+                .usedAt(map(hash.get(USED_AT), VerificationCodeHash::fromMillis))
+                .expiresAt(map(hash.get(EXPIRES_AT), VerificationCodeHash::fromMillis))
+                .build();
+    }
+
+    static int sizeOf(Map<String, String> hash) {
+        int size = 0;
+        for (Map.Entry<String, String> field : hash.entrySet()) {
+            size += field.getKey().getBytes(StandardCharsets.UTF_8).length
+                    + field.getValue().getBytes(StandardCharsets.UTF_8).length;
+        }
+        return size;
+    }
+
+    static Long toMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : null;
+    }
+
+    private static LocalDateTime fromMillis(String millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(millis)), ZoneOffset.UTC);
+    }
+
+    private static void put(Map<String, String> hash, String field, Object value) {
+        if (value != null) {
+            hash.put(field, value.toString());
+        }
+    }
+
+    private static <T> T map(String value, Function<String, T> parser) {
+        return value != null ? parser.apply(value) : null;
+    }
+}
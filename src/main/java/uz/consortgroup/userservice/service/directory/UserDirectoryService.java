@@ -7,12 +7,16 @@ import org.springframework.stereotype.Service;
 import uz.consortgroup.core.api.v1.dto.user.response.UserShortInfoResponseDto;
 import uz.consortgroup.userservice.repository.SuperAdminRepository;
 import uz.consortgroup.userservice.repository.UserRepository;
+import uz.consortgroup.userservice.service.cache.CacheHotKeyTracker;
+import uz.consortgroup.userservice.service.cache.UserCacheMetrics;
 
 import java.util.AbstractMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -26,10 +30,14 @@ public class UserDirectoryService {
 
     private final UserRepository userRepository;
     private final SuperAdminRepository superAdminRepository;
+    private final UserCacheMetrics userCacheMetrics;
+    private final CacheHotKeyTracker cacheHotKeyTracker;
 
     public Optional<UserShortInfoResponseDto> getUserInfo(UUID userId) {
         String redisKey = "user_type_by_id:" + userId;
-        String typeValue = redisTemplate.opsForValue().get(redisKey);
+        cacheHotKeyTracker.record(UserCacheMetrics.CACHE_USER_TYPE, UserCacheMetrics.KEY_ID, userId);
+        String typeValue = timed("get", () -> redisTemplate.opsForValue().get(redisKey));
+        userCacheMetrics.recordLookup(UserCacheMetrics.TIER_REDIS, UserCacheMetrics.KEY_TYPE, typeValue != null);
         log.debug("Redis lookup for {}: {}", redisKey, typeValue);
 
         if (typeValue == null) {
@@ -57,8 +65,11 @@ public class UserDirectoryService {
                 .map(id -> "user_type_by_id:" + id)
                 .toList();
 
-        List<String> redisTypes = redisTemplate.opsForValue().multiGet(redisKeys);
+        userIds.forEach(id -> cacheHotKeyTracker.record(UserCacheMetrics.CACHE_USER_TYPE, UserCacheMetrics.KEY_ID, id));
+        List<String> redisTypes = timed("mget", () -> redisTemplate.opsForValue().multiGet(redisKeys));
         log.debug("Fetched {} types from Redis", redisTypes != null ? redisTypes.size() : 0);
+        int hits = redisTypes != null ? (int) redisTypes.stream().filter(Objects::nonNull).count() : 0;
+        userCacheMetrics.recordLookups(UserCacheMetrics.TIER_REDIS, UserCacheMetrics.KEY_TYPE, hits, userIds.size() - hits);
 
         Map<UUID, String> typesById = IntStream.range(0, userIds.size())
                 .mapToObj(i -> {
@@ -96,12 +107,12 @@ public class UserDirectoryService {
 
     private String resolveAndCacheUserType(UUID userId, String redisKey) {
         if (userRepository.existsById(userId)) {
-            redisTemplate.opsForValue().set(redisKey, "USER");
+            cacheUserType(redisKey, "USER");
             log.debug("Cached user type USER for ID: {}", userId);
             return "USER";
         }
         if (superAdminRepository.existsById(userId)) {
-            redisTemplate.opsForValue().set(redisKey, "SUPER_ADMIN");
+            cacheUserType(redisKey, "SUPER_ADMIN");
             log.debug("Cached user type SUPER_ADMIN for ID: {}", userId);
             return "SUPER_ADMIN";
         }
@@ -109,4 +120,27 @@ public class UserDirectoryService {
         log.warn("User ID not found in USER or SUPER_ADMIN tables: {}", userId);
         return null;
     }
+
+    private void cacheUserType(String redisKey, String type) {
+        timed("set", () -> redisTemplate.opsForValue().set(redisKey, type));
+        if (userCacheMetrics.samplePayload()) {
+            userCacheMetrics.recordPayloadSize(UserCacheMetrics.CACHE_USER_TYPE, type.length());
+        }
+    }
+
+    private <T> T timed(String command, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            userCacheMetrics.recordRedisCommand(UserCacheMetrics.CACHE_USER_TYPE, command, System.nanoTime() - start);
+        }
+    }
+
+    private void timed(String command, Runnable call) {
+        timed(command, () -> {
+            call.run();
+            return null;
+        });
+    }
 }
@@ -4,15 +4,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import uz.consortgroup.core.api.v1.dto.user.response.UserShortInfoResponseDto;
-import uz.consortgroup.userservice.entity.User;
+import uz.consortgroup.userservice.cache.UserDirectorySnapshot;
+import uz.consortgroup.userservice.cache.UserSnapshotEntry;
 import uz.consortgroup.userservice.mapper.UserMapper;
 import uz.consortgroup.userservice.repository.UserRepository;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -21,6 +22,7 @@ public class UserProvider implements UserInfoProvider {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserDirectorySnapshot userDirectorySnapshot;
 
     @Override
     public boolean supports(String type) {
@@ -35,6 +37,10 @@ public class UserProvider implements UserInfoProvider {
     @Override
     public Optional<UserShortInfoResponseDto> getById(UUID userId) {
         log.info("Fetching short user info by userId = {}", userId);
+        Optional<UserSnapshotEntry> snapshot = userDirectorySnapshot.find(userId);
+        if (snapshot.isPresent()) {
+            return snapshot.map(entry -> userMapper.toUserShortInfoResponseDto(entry.toUser()));
+        }
         return userRepository.findById(userId)
                 .map(userMapper::toUserShortInfoResponseDto);
     }
@@ -42,7 +48,19 @@ public class UserProvider implements UserInfoProvider {
     @Override
     public Map<UUID, UserShortInfoResponseDto> getByIds(List<UUID> userIds) {
         log.info("Fetching short user info for userIds: {}", userIds);
-        return userRepository.findAllById(userIds).stream()
-                .collect(Collectors.toMap(User::getId, userMapper::toUserShortInfoResponseDto));
+        Map<UUID, UserShortInfoResponseDto> result = new HashMap<>();
+        userDirectorySnapshot.findAll(userIds)
+                .forEach((id, entry) -> result.put(id, userMapper.toUserShortInfoResponseDto(entry.toUser())));
+
+        List<UUID> missingIds = userIds.stream()
+                .filter(id -> !result.containsKey(id))
+                .distinct()
+                .toList();
+        if (!missingIds.isEmpty()) {
+            userRepository.findAllById(missingIds)
+                    .forEach(user -> result.put(user.getId(), userMapper.toUserShortInfoResponseDto(user)));
+        }
+        log.debug("Short user info: {} from snapshot, {} from DB", userIds.size() - missingIds.size(), missingIds.size());
+        return result;
     }
 }
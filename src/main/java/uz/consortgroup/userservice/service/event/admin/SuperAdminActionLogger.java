@@ -5,16 +5,17 @@ import org.springframework.stereotype.Service;
 import uz.consortgroup.userservice.entity.User;
 import uz.consortgroup.userservice.event.admin.SuperAdminActionType;
 import uz.consortgroup.userservice.event.admin.SuperAdminActionEvent;
-import uz.consortgroup.userservice.kafka.SuperAdminActionLogProducer;
+import uz.consortgroup.userservice.service.outbox.OutboxEventWriter;
+import uz.consortgroup.userservice.topic.KafkaTopic;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class SuperAdminActionLogger {
-    private final SuperAdminActionLogProducer superAdminActionLogProducer;
+    private final OutboxEventWriter outboxEventWriter;
+    private final KafkaTopic kafkaTopic;
 
     public void userRoleChangedEvent(User user, UUID adminId, SuperAdminActionType superAdminActionType) {
         SuperAdminActionEvent event = SuperAdminActionEvent.builder()
@@ -27,7 +28,7 @@ public class SuperAdminActionLogger {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        superAdminActionLogProducer.sendSuperAdminActionEvents(List.of(event));
+        outboxEventWriter.enqueue(kafkaTopic.getSuperAdminActionTopic(), event);
     }
 
 
@@ -42,6 +43,6 @@ public class SuperAdminActionLogger {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        superAdminActionLogProducer.sendSuperAdminActionEvents(List.of(event));
+        outboxEventWriter.enqueue(kafkaTopic.getSuperAdminActionTopic(), event);
     }
 }
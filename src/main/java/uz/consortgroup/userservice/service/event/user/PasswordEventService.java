@@ -6,15 +6,16 @@ import org.springframework.stereotype.Service;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.Language;
 import uz.consortgroup.userservice.event.user.EventType;
 import uz.consortgroup.userservice.event.user.PasswordResetRequestedEvent;
-import uz.consortgroup.userservice.kafka.PasswordResetProducer;
+import uz.consortgroup.userservice.service.outbox.OutboxEventWriter;
+import uz.consortgroup.userservice.topic.KafkaTopic;
 
-import java.util.List;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class PasswordEventService {
-    private final PasswordResetProducer passwordResetProducer;
+    private final OutboxEventWriter outboxEventWriter;
+    private final KafkaTopic kafkaTopic;
     @Value("${app.link}")
     private String link;
 
@@ -31,7 +32,7 @@ public class PasswordEventService {
                 .eventType(EventType.PASSWORD_RESET_REQUESTED)
                 .build();
 
-        passwordResetProducer.sendPasswordRequestEvents(List.of(event));
+        outboxEventWriter.enqueue(kafkaTopic.getPasswordResetRequestTopic(), event);
     }
 
     private String generateResetLink(String resetToken) {
@@ -9,20 +9,17 @@ import uz.consortgroup.userservice.event.user.EventType;
 import uz.consortgroup.userservice.event.user.UserProfileUpdateEvent;
 import uz.consortgroup.userservice.event.user.UserRegisteredEvent;
 import uz.consortgroup.userservice.event.user.VerificationCodeResentEvent;
-import uz.consortgroup.userservice.kafka.UserRegisteredProducer;
-import uz.consortgroup.userservice.kafka.UserUpdateProfileProducer;
-import uz.consortgroup.userservice.kafka.VerificationCodeResendProducer;
+import uz.consortgroup.userservice.service.outbox.OutboxEventWriter;
+import uz.consortgroup.userservice.topic.KafkaTopic;
 
-import java.util.List;
 import java.util.UUID;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class UserEventService {
-    private final UserUpdateProfileProducer userUpdateProfileProducer;
-    private final VerificationCodeResendProducer verificationCodeResendProducer;
-    private final UserRegisteredProducer userRegisteredProducer;
+    private final OutboxEventWriter outboxEventWriter;
+    private final KafkaTopic kafkaTopic;
 
     public void sendUserRegisteredEvent(User user, String verificationCode) {
         UserRegisteredEvent event = UserRegisteredEvent.builder()
@@ -34,7 +31,7 @@ public class UserEventService {
                         .eventType(EventType.USER_REGISTERED)
                         .build();
 
-        userRegisteredProducer.sendUserRegisteredEvents(List.of(event));
+        outboxEventWriter.enqueue(kafkaTopic.getUserRegistrationTopic(), event);
     }
 
     public void sendUserUpdateProfileEvent(UUID userId, UserProfileRequestDto userProfileRequestDto) {
@@ -49,7 +46,7 @@ public class UserEventService {
                 .eventType(EventType.USER_PROFILE_UPDATED)
                 .build();
 
-        userUpdateProfileProducer.sendUserUpdateProfileEvents(List.of(event));
+        outboxEventWriter.enqueue(kafkaTopic.getUserUpdateProfileTopic(), event);
     }
 
     public void resendVerificationCodeEvent(User user, String verificationCode) {
@@ -62,6 +59,6 @@ public class UserEventService {
                 .eventType(EventType.VERIFICATION_CODE_SENT)
                 .build();
 
-        verificationCodeResendProducer.sendVerificationCodeResendEvents(List.of(event));
+        outboxEventWriter.enqueue(kafkaTopic.getVerificationCodeResentTopic(), event);
     }
 }
@@ -7,6 +7,7 @@ import org.springframework.transaction.annotation.Transactional;
 import uz.consortgroup.core.api.v1.dto.mintrud.JobPositionResult;
 import uz.consortgroup.userservice.entity.User;
 import uz.consortgroup.userservice.repository.UserRepository;
+import uz.consortgroup.userservice.service.cache.UserCacheSynchronizer;
 
 @Slf4j
 @Service
@@ -16,6 +17,7 @@ public class MehnatAutoFillServiceImpl implements MehnatAutoFillService {
     private final MintrudIntegrationService mintrudIntegrationService;
     private final UserEnrichmentService userEnrichmentService;
     private final UserRepository userRepository;
+    private final UserCacheSynchronizer userCacheSynchronizer;
 
     @Override
     @Transactional
@@ -44,6 +46,7 @@ public class MehnatAutoFillServiceImpl implements MehnatAutoFillService {
         if (changed) {
             user.setMehnatDataFetched(true);
             userRepository.save(user);
+            userCacheSynchronizer.refresh(user);
             log.info("User data enriched and saved for userId={}", user.getId());
         } else {
             log.info("No enrichment needed — user already up-to-date. userId={}", user.getId());
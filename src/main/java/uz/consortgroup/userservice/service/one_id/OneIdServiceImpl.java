@@ -20,6 +20,8 @@ import uz.consortgroup.core.api.v1.dto.user.enumeration.UserStatus;
 import uz.consortgroup.userservice.config.properties.OneIdProperties;
 import uz.consortgroup.userservice.entity.User;
 import uz.consortgroup.userservice.repository.UserRepository;
+import uz.consortgroup.userservice.service.auth.LastLoginRecorder;
+import uz.consortgroup.userservice.service.cache.UserCacheSynchronizer;
 import uz.consortgroup.userservice.service.impl.UserDetailsImpl;
 import uz.consortgroup.userservice.service.mintrud.MehnatAutoFillService;
 import uz.consortgroup.userservice.util.AuthenticationUtils;
@@ -35,6 +37,8 @@ public class OneIdServiceImpl implements OneIdService {
     private final UserRepository userRepository;
     private final AuthenticationUtils authenticationUtils;
     private final MehnatAutoFillService mehnatAutoFillService;
+    private final UserCacheSynchronizer userCacheSynchronizer;
+    private final LastLoginRecorder lastLoginRecorder;
 
     @Override
     public String buildAuthUrl() {
@@ -67,6 +71,7 @@ public class OneIdServiceImpl implements OneIdService {
         Authentication authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
         JwtResponse response = authenticationUtils.performAuthentication(user.getEmail(), authentication);
+        lastLoginRecorder.record(user.getId());
         log.info("JWT token generated for userId={}", user.getId());
 
         return response;
@@ -159,6 +164,7 @@ public class OneIdServiceImpl implements OneIdService {
         user.setOneIdTokenUpdatedAt(Instant.now());
 
         user = userRepository.save(user);
+        userCacheSynchronizer.refresh(user);
 
         log.info("User saved with ID={}, email={}", user.getId(), user.getEmail());
 
@@ -10,17 +10,23 @@ import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
 import uz.consortgroup.userservice.exception.UserNotFoundException;
 import uz.consortgroup.userservice.mapper.UserCacheMapper;
 import uz.consortgroup.userservice.repository.UserRepository;
+import uz.consortgroup.userservice.service.cache.UserCacheMetrics;
 import uz.consortgroup.userservice.service.cache.UserCacheService;
+import uz.consortgroup.userservice.service.cache.UserCacheSynchronizer;
+import uz.consortgroup.userservice.service.cache.UserLoadCoalescer;
+import uz.consortgroup.userservice.service.cache.UserNegativeCache;
 import uz.consortgroup.userservice.validator.UserValidator;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -33,6 +39,9 @@ public class UserOperationsServiceServiceImpl implements UserOperationsService {
     private final UserRepository userRepository;
     private final UserCacheMapper userCacheMapper;
     private final UserValidator userValidator;
+    private final UserNegativeCache userNegativeCache;
+    private final UserLoadCoalescer userLoadCoalescer;
+    private final UserCacheSynchronizer userCacheSynchronizer;
 
     @Transactional
     @Override
@@ -45,8 +54,37 @@ public class UserOperationsServiceServiceImpl implements UserOperationsService {
     @Transactional
     public List<User> batchFindUsersById(List<UUID> userIds) {
         log.info("Batch finding users by IDs: {}", userIds.size());
+        if (userIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<UUID, UserCacheEntity> cached = userCacheService.findUsersByIds(userIds);
+        List<UUID> missingIds = userIds.stream()
+                .filter(id -> !cached.containsKey(id))
+                .distinct()
+                .toList();
+
+        Map<UUID, User> loaded = missingIds.isEmpty() ? Collections.emptyMap()
+                : userRepository.findAllById(missingIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        log.debug("Batch lookup: {} cache hits, {} loaded from DB", cached.size(), loaded.size());
+
+        missingIds.stream()
+                .filter(id -> !loaded.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    log.warn("User not found in DB: {}", id);
+                    throw new UserNotFoundException(String.format("User with id %s not found", id));
+                });
+
+        if (!loaded.isEmpty()) {
+            userCacheService.cacheUsers(loaded.values().stream()
+                    .map(userCacheMapper::toUserCache)
+                    .toList());
+        }
+
         return userIds.stream()
-                .map(this::getUserFromDbAndCacheById)
+                .map(id -> cached.containsKey(id) ? userCacheMapper.toUserEntity(cached.get(id)) : loaded.get(id))
                 .toList();
     }
 
@@ -75,8 +113,7 @@ public class UserOperationsServiceServiceImpl implements UserOperationsService {
         userValidator.validateUniqueFields(user.getEmail(), user.getPinfl(), user.getPhoneNumber());
 
         log.info("Saving user with email: {}", user.getEmail());
-        userCacheService.cacheUser(userCacheMapper.toUserCache(user));
-        userRepository.save(user);
+        userCacheSynchronizer.refresh(userRepository.save(user));
     }
 
     @Override
@@ -85,8 +122,9 @@ public class UserOperationsServiceServiceImpl implements UserOperationsService {
         log.info("Changing role for user {} to {}", email, role);
         User user = getUserFromCacheOrDbByEmail(email);
         user.setRole(role);
-        cacheUser(user);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCacheSynchronizer.refresh(saved);
+        return saved;
     }
 
     @Override
@@ -102,13 +140,9 @@ public class UserOperationsServiceServiceImpl implements UserOperationsService {
                 .map(userCacheMapper::toUserEntity)
                 .orElseGet(() -> {
                     log.debug("User not found in cache. Querying DB for ID: {}", userId);
-                    User user = userRepository.findById(userId)
-                            .orElseThrow(() -> {
-                                log.warn("User not found in DB: {}", userId);
-                                return new UserNotFoundException(String.format("User with id %s not found", userId));
-                            });
-                    cacheUser(user);
-                    return user;
+                    return loadAndCache(UserCacheMetrics.KEY_ID, userId.toString(),
+                            () -> userRepository.findById(userId),
+                            String.format("User with id %s not found", userId));
                 });
     }
 
@@ -119,13 +153,9 @@ public class UserOperationsServiceServiceImpl implements UserOperationsService {
                 .map(userCacheMapper::toUserEntity)
                 .orElseGet(() -> {
                     log.debug("User not found in cache. Querying DB for email: {}", email);
-                    User user = userRepository.findByEmail(email)
-                            .orElseThrow(() -> {
-                                log.warn("User not found in DB: {}", email);
-                                return new UserNotFoundException(String.format("User with email %s not found", email));
-                            });
-                    cacheUser(user);
-                    return user;
+                    return loadAndCache(UserCacheMetrics.KEY_EMAIL, email,
+                            () -> userRepository.findByEmail(email),
+                            String.format("User with email %s not found", email));
                 });
     }
 
@@ -143,16 +173,36 @@ public class UserOperationsServiceServiceImpl implements UserOperationsService {
                 .map(userCacheMapper::toUserEntity)
                 .orElseGet(() -> {
                     log.debug("User not found in cache. Querying DB for PINFL: {}", pinfl);
-                    User user = userRepository.findUserByPinfl(pinfl)
-                            .orElseThrow(() -> {
-                                log.warn("User not found in DB with PINFL: {}", pinfl);
-                                return new UserNotFoundException(String.format("User with pinfl %s not found", pinfl));
-                            });
-                    cacheUser(user);
-                    return user;
+                    return loadAndCache(UserCacheMetrics.KEY_PINFL, pinfl,
+                            () -> userRepository.findUserByPinfl(pinfl),
+                            String.format("User with pinfl %s not found", pinfl));
                 });
     }
 
+    private User loadAndCache(String keyType, String key, Supplier<Optional<User>> loader, String notFoundMessage) {
+        if (userNegativeCache.isAbsent(keyType, key)) {
+            log.debug("User known to be absent by {}: {}", keyType, key);
+            throw new UserNotFoundException(notFoundMessage);
+        }
+        User user = userLoadCoalescer.load(keyType, key, () -> loadFromDbAndCache(keyType, key, loader));
+        if (user == null) {
+            throw new UserNotFoundException(notFoundMessage);
+        }
+        return user;
+    }
+
+    private User loadFromDbAndCache(String keyType, String key, Supplier<Optional<User>> loader) {
+        Optional<User> fromDb = loader.get();
+        if (fromDb.isEmpty()) {
+            log.warn("User not found in DB by {}: {}", keyType, key);
+            userNegativeCache.markAbsent(keyType, key);
+            return null;
+        }
+        User user = fromDb.get();
+        cacheUser(user);
+        return user;
+    }
+
     @Transactional(readOnly = true)
     @Override
     public List<User> findUsersBatch(List<String> emails, List<String> pinfls) {
@@ -197,15 +247,14 @@ public class UserOperationsServiceServiceImpl implements UserOperationsService {
             return cached;
         }
 
-        log.debug("User not found in cache. Trying to get from DB: {}", maskEmail(email));
-        Optional<User> fromDb = userRepository.findByEmail(email);
-
-        fromDb.ifPresent(user -> {
-            cacheUser(user);
-            log.debug("User cached by email: {}", maskEmail(email));
-        });
+        if (userNegativeCache.isAbsent(UserCacheMetrics.KEY_EMAIL, email)) {
+            log.debug("User known to be absent by email: {}", maskEmail(email));
+            return Optional.empty();
+        }
 
-        return fromDb;
+        log.debug("User not found in cache. Trying to get from DB: {}", maskEmail(email));
+        return Optional.ofNullable(userLoadCoalescer.load(UserCacheMetrics.KEY_EMAIL, email,
+                () -> loadFromDbAndCache(UserCacheMetrics.KEY_EMAIL, email, () -> userRepository.findByEmail(email))));
     }
 
     public List<User> findUsersInCacheOrDbByEmails(List<String> emails) {
@@ -255,7 +304,9 @@ public class UserOperationsServiceServiceImpl implements UserOperationsService {
 
         List<User> dbUsers = keysNotInCache.isEmpty() ? Collections.emptyList() : dbFetcher.apply(keysNotInCache);
 
-        dbUsers.forEach(user -> userCacheService.cacheUser(toCacheEntity.apply(user)));
+        if (!dbUsers.isEmpty()) {
+            userCacheService.cacheUsers(dbUsers.stream().map(toCacheEntity).toList());
+        }
 
         List<User> result = new ArrayList<>(cachedUsers.size() + dbUsers.size());
         result.addAll(cachedUsers);
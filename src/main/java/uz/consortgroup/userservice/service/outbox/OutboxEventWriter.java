@@ -0,0 +1,55 @@
+package uz.consortgroup.userservice.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uz.consortgroup.userservice.entity.OutboxEvent;
+import uz.consortgroup.userservice.event.UserKeyedEvent;
+import uz.consortgroup.userservice.repository.OutboxEventRepository;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxEventWriter {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public void enqueue(String topic, Object event) {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+                .topic(topic)
+                .payloadType(event.getClass().getName())
+                .payload(toJson(event))
+                .messageKey(messageKey(event))
+                .attempts(0)
+                .createdAt(now)
+                .availableAt(now)
+                .build();
+
+        outboxEventRepository.save(outboxEvent);
+        log.debug("Queued {} for Kafka topic '{}'", event.getClass().getSimpleName(), topic);
+    }
+
+    // Same key the producer uses, so the relay keeps a user's events in order
+    private String messageKey(Object event) {
+        if (event instanceof UserKeyedEvent keyed && keyed.getUserId() != null) {
+            return keyed.getUserId().toString();
+        }
+        return null;
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(String.format(
+                    "Failed to serialize %s for the outbox", event.getClass().getSimpleName()), e);
+        }
+    }
+}
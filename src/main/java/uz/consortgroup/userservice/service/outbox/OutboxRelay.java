@@ -0,0 +1,183 @@
+package uz.consortgroup.userservice.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.consortgroup.userservice.entity.OutboxEvent;
+import uz.consortgroup.userservice.kafka.OutboxEventPublisher;
+import uz.consortgroup.userservice.repository.OutboxEventRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxRelay {
+    @Value("${outbox.relay.send-timeout:10s}")
+    private Duration sendTimeout;
+
+    @Value("${outbox.relay.retry-delay:30s}")
+    private Duration retryDelay;
+
+    @Value("${outbox.relay.lease:1m}")
+    private Duration lease;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    // Claims and completes in separate short transactions so no connection is held while waiting for Kafka
+    public RelayResult relayBatch(int partition, int partitions, int batchSize) {
+        List<OutboxEvent> batch = claim(LocalDateTime.now(), partition, partitions, batchSize);
+        if (batch.isEmpty()) {
+            return new RelayResult(0, 0, 0, 0);
+        }
+
+        List<OutboxEvent> failed = new ArrayList<>();
+        List<UUID> held = new ArrayList<>();
+        Map<String, List<OutboxEvent>> sent = new LinkedHashMap<>();
+        Map<String, CompletableFuture<Void>> sends = new LinkedHashMap<>();
+        batch.stream()
+                .collect(Collectors.groupingBy(OutboxEvent::getTopic, LinkedHashMap::new, Collectors.toList()))
+                .forEach((topic, events) -> {
+                    List<OutboxEvent> readable = new ArrayList<>();
+                    List<Object> payloads = new ArrayList<>();
+                    Set<String> heldKeys = new HashSet<>();
+                    for (OutboxEvent event : events) {
+                        // Later events of a key wait for an unreadable one rather than overtake it
+                        if (heldKeys.contains(event.getMessageKey())) {
+                            held.add(event.getId());
+                            continue;
+                        }
+                        Object payload = readPayload(event);
+                        if (payload == null) {
+                            failed.add(event);
+                            if (event.getMessageKey() != null) {
+                                heldKeys.add(event.getMessageKey());
+                            }
+                        } else {
+                            readable.add(event);
+                            payloads.add(payload);
+                        }
+                    }
+                    if (readable.isEmpty()) {
+                        return;
+                    }
+                    try {
+                        sends.put(topic, outboxEventPublisher.publish(topic, payloads));
+                        sent.put(topic, readable);
+                    } catch (Exception e) {
+                        log.warn("Failed to hand {} outbox events to Kafka topic '{}': {}",
+                                readable.size(), topic, e.getMessage());
+                        failed.addAll(readable);
+                    }
+                });
+
+        List<UUID> published = new ArrayList<>();
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        sends.forEach((topic, send) -> {
+            List<OutboxEvent> events = sent.get(topic);
+            try {
+                send.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                events.forEach(event -> published.add(event.getId()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.addAll(events);
+            } catch (Exception e) {
+                log.warn("Kafka did not acknowledge {} outbox events for topic '{}', retrying in {}: {}",
+                        events.size(), topic, retryDelay, e.getMessage());
+                failed.addAll(events);
+            }
+        });
+
+        List<OutboxEvent> exhausted = failed.stream()
+                .filter(event -> event.getAttempts() + 1 >= maxAttempts)
+                .toList();
+        List<UUID> retried = failed.stream()
+                .filter(event -> event.getAttempts() + 1 < maxAttempts)
+                .map(OutboxEvent::getId)
+                .toList();
+        exhausted.forEach(event -> log.error("Giving up on outbox event {} for topic '{}' after {} attempts",
+                event.getId(), event.getTopic(), event.getAttempts() + 1));
+
+        complete(published, retried, held, ids(exhausted), LocalDateTime.now());
+        return new RelayResult(batch.size(), published.size(), retried.size() + held.size(), exhausted.size());
+    }
+
+    private List<OutboxEvent> claim(LocalDateTime now, int partition, int partitions, int batchSize) {
+        return transactionTemplate.execute(status -> {
+            if (!outboxEventRepository.tryLockPartition(partition)) {
+                return List.of();
+            }
+            List<OutboxEvent> batch = outboxEventRepository.lockDueBatch(now, partition, partitions, batchSize);
+            if (!batch.isEmpty()) {
+                outboxEventRepository.reschedule(ids(batch), now.plus(lease));
+            }
+            return batch;
+        });
+    }
+
+    private void complete(List<UUID> published, List<UUID> retried, List<UUID> held, List<UUID> exhausted,
+                          LocalDateTime now) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!published.isEmpty()) {
+                outboxEventRepository.deleteAllByIdInBatch(published);
+            }
+            if (!retried.isEmpty()) {
+                outboxEventRepository.postpone(retried, now.plus(retryDelay));
+            }
+            if (!held.isEmpty()) {
+                outboxEventRepository.reschedule(held, now.plus(retryDelay));
+            }
+            if (!exhausted.isEmpty()) {
+                outboxEventRepository.copyToDead(exhausted, now);
+                outboxEventRepository.deleteAllByIdInBatch(exhausted);
+            }
+        });
+    }
+
+    // Payloads are read only as the event type of the producer that owns the topic
+    private Object readPayload(OutboxEvent event) {
+        Class<?> type = outboxEventPublisher.eventType(event.getTopic()).orElse(null);
+        if (type == null) {
+            log.warn("No producer is configured for Kafka topic '{}' of outbox event {} (attempt {})",
+                    event.getTopic(), event.getId(), event.getAttempts() + 1);
+            return null;
+        }
+        try {
+            return objectMapper.readValue(event.getPayload(), type);
+        } catch (Exception e) {
+            log.warn("Failed to read outbox event {} as {} (attempt {}): {}",
+                    event.getId(), type.getSimpleName(), event.getAttempts() + 1, e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<UUID> ids(List<OutboxEvent> events) {
+        return events.stream()
+                .map(OutboxEvent::getId)
+                .toList();
+    }
+
+    // failed counts postponed and held events, dead those moved to outbox_dead_events
+    public record RelayResult(int taken, int published, int failed, int dead) {
+    }
+}
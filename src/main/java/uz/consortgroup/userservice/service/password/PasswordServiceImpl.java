@@ -76,7 +76,7 @@ public class PasswordServiceImpl implements PasswordService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
     public void requestPasswordResetByEmail(String emailRaw) {
         final String email = (emailRaw == null) ? "" : emailRaw.trim().toLowerCase();
         if (email.isBlank()) {
@@ -2,7 +2,11 @@ package uz.consortgroup.userservice.service.purchases;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uz.consortgroup.core.api.v1.dto.course.response.course.CourseResponseDto;
@@ -11,10 +15,15 @@ import uz.consortgroup.userservice.entity.UserPurchasedCourse;
 import uz.consortgroup.userservice.event.coursepurchased.CoursePurchasedEvent;
 import uz.consortgroup.userservice.repository.UserPurchasedCourseRepository;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -22,11 +31,21 @@ import java.util.UUID;
 @Slf4j
 public class CoursePurchaseServiceImpl implements CoursePurchaseService {
     private static final Duration FALLBACK_ACCESS = Duration.ofDays(30);
+    private static final Duration PROCESSED_TTL = Duration.ofHours(1);
+    private static final String PROCESSED_KEY_PREFIX = "course_purchase_processed_";
+    private static final String UPSERT_PURCHASED_COURSE = """
+            INSERT INTO user_schema.user_purchased_course (user_id, course_id, purchased_at, access_until)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (user_id, course_id) DO UPDATE
+            SET access_until = GREATEST(user_purchased_course.access_until, EXCLUDED.access_until)
+            """;
 
     private final UserPurchasedCourseRepository userPurchasedCourseRepository;
     private final StringRedisTemplate redisTemplate;
     private final CourseFeignClient courseFeignClient;
+    private final JdbcTemplate jdbcTemplate;
 
+    // The Redis claims only save work on replays; duplicates are settled by the (user_id, course_id) upsert
     @Override
     @Transactional
     public void saveAllPurchasedCourses(List<CoursePurchasedEvent> events) {
@@ -37,36 +56,30 @@ public class CoursePurchaseServiceImpl implements CoursePurchaseService {
 
         log.info("Processing {} course purchase events", events.size());
 
-        List<UserPurchasedCourse> userPurchasedCourses = events.stream()
-                .filter(event -> {
-                    boolean process = markIfNotProcessed(event.getMessageId());
-                    if (!process) log.debug("Duplicate message ignored: messageId={}", event.getMessageId());
-                    return process;
-                })
-                .map(event -> {
-                    CourseResponseDto course = courseFeignClient.getCourseById(event.getCourseId());
-
-                    Instant accessUntil = computeAccessUntil(
-                            event.getPurchasedAt(),
-                            course.getEndTime(),
-                            course.getAccessDurationMin()
-                    );
-
-                    log.debug("Create UPC: userId={}, courseId={}, purchasedAt={}, accessUntil={}",
-                            event.getUserId(), event.getCourseId(), event.getPurchasedAt(), accessUntil);
-
-                    return UserPurchasedCourse.builder()
-                            .userId(event.getUserId())
-                            .courseId(event.getCourseId())
-                            .purchasedAt(event.getPurchasedAt())
-                            .accessUntil(accessUntil)
-                            .build();
-                })
-                .filter(Objects::nonNull)
-                .toList();
-
-        userPurchasedCourseRepository.saveAll(userPurchasedCourses);
-        log.info("Successfully saved {} UserPurchasedCourse records", userPurchasedCourses.size());
+        List<CoursePurchasedEvent> claimed = markNotProcessed(events);
+        if (claimed.isEmpty()) {
+            log.debug("All {} course purchase events were already processed", events.size());
+            return;
+        }
+
+        try {
+            Map<UUID, CourseResponseDto> courses = fetchCourses(claimed);
+            List<UserPurchasedCourse> userPurchasedCourses = latestPerUserAndCourse(claimed.stream()
+                    .map(event -> toUserPurchasedCourse(event, courses.get(event.getCourseId())))
+                    .toList());
+
+            jdbcTemplate.batchUpdate(UPSERT_PURCHASED_COURSE, userPurchasedCourses, userPurchasedCourses.size(),
+                    (statement, purchase) -> {
+                        statement.setObject(1, purchase.getUserId());
+                        statement.setObject(2, purchase.getCourseId());
+                        statement.setTimestamp(3, Timestamp.from(purchase.getPurchasedAt()));
+                        statement.setTimestamp(4, Timestamp.from(purchase.getAccessUntil()));
+                    });
+            log.info("Successfully saved {} UserPurchasedCourse records", userPurchasedCourses.size());
+        } catch (RuntimeException e) {
+            unmarkProcessed(claimed);
+            throw e;
+        }
     }
 
     @Override
@@ -98,10 +111,82 @@ public class CoursePurchaseServiceImpl implements CoursePurchaseService {
         return purchasedAt.plus(FALLBACK_ACCESS);
     }
 
-    private boolean markIfNotProcessed(UUID messageId) {
-        String key = "course_purchase_processed_" + messageId;
-        Boolean wasSet = redisTemplate.opsForValue().setIfAbsent(key, "true", Duration.ofHours(1));
-        log.debug("Deduplication result for messageId={}: {}", messageId, wasSet);
-        return Boolean.TRUE.equals(wasSet);
+    private UserPurchasedCourse toUserPurchasedCourse(CoursePurchasedEvent event, CourseResponseDto course) {
+        Instant accessUntil = computeAccessUntil(
+                event.getPurchasedAt(),
+                course.getEndTime(),
+                course.getAccessDurationMin()
+        );
+
+        log.debug("Create UPC: userId={}, courseId={}, purchasedAt={}, accessUntil={}",
+                event.getUserId(), event.getCourseId(), event.getPurchasedAt(), accessUntil);
+
+        return UserPurchasedCourse.builder()
+                .userId(event.getUserId())
+                .courseId(event.getCourseId())
+                .purchasedAt(event.getPurchasedAt())
+                .accessUntil(accessUntil)
+                .build();
+    }
+
+    private Map<UUID, CourseResponseDto> fetchCourses(List<CoursePurchasedEvent> events) {
+        Map<UUID, CourseResponseDto> courses = new HashMap<>();
+        events.stream()
+                .map(CoursePurchasedEvent::getCourseId)
+                .distinct()
+                .forEach(courseId -> courses.put(courseId, courseFeignClient.getCourseById(courseId)));
+        log.debug("Fetched {} distinct courses for {} events", courses.size(), events.size());
+        return courses;
+    }
+
+    // One upsert statement cannot touch the same row twice
+    private List<UserPurchasedCourse> latestPerUserAndCourse(List<UserPurchasedCourse> purchases) {
+        Map<List<UUID>, UserPurchasedCourse> latest = new LinkedHashMap<>();
+        purchases.forEach(purchase -> latest.merge(List.of(purchase.getUserId(), purchase.getCourseId()), purchase,
+                (kept, next) -> next.getAccessUntil().isAfter(kept.getAccessUntil()) ? next : kept));
+        return new ArrayList<>(latest.values());
+    }
+
+    // Without Redis every event counts as new and the upsert absorbs the replays
+    private List<CoursePurchasedEvent> markNotProcessed(List<CoursePurchasedEvent> events) {
+        byte[] value = "true".getBytes(StandardCharsets.UTF_8);
+        Expiration expiration = Expiration.from(PROCESSED_TTL);
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                events.forEach(event -> connection.stringCommands()
+                        .set(processedKey(event.getMessageId()), value, expiration, SetOption.ifAbsent()));
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to claim {} course purchase messages, relying on the upsert: {}",
+                    events.size(), e.getMessage());
+            return events;
+        }
+
+        List<CoursePurchasedEvent> claimed = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            if (Boolean.TRUE.equals(results.get(i))) {
+                claimed.add(events.get(i));
+            } else {
+                log.debug("Duplicate message ignored: messageId={}", events.get(i).getMessageId());
+            }
+        }
+        return claimed;
+    }
+
+    private void unmarkProcessed(List<CoursePurchasedEvent> events) {
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                events.forEach(event -> connection.keyCommands().del(processedKey(event.getMessageId())));
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("Failed to release {} course purchase messages for reprocessing", events.size(), e);
+        }
+    }
+
+    private static byte[] processedKey(UUID messageId) {
+        return (PROCESSED_KEY_PREFIX + messageId).getBytes(StandardCharsets.UTF_8);
     }
 }
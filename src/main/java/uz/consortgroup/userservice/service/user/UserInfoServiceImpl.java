@@ -3,10 +3,15 @@ package uz.consortgroup.userservice.service.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.Language;
 import uz.consortgroup.core.api.v1.dto.user.response.UserLanguageInfoDto;
+import uz.consortgroup.userservice.cache.UserDirectorySnapshot;
+import uz.consortgroup.userservice.cache.UserSnapshotEntry;
 import uz.consortgroup.userservice.repository.UserRepository;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -15,17 +20,28 @@ import java.util.UUID;
 public class UserInfoServiceImpl implements UserInfoService {
 
     private final UserRepository userRepository;
+    private final UserDirectorySnapshot userDirectorySnapshot;
 
     @Override
     public List<UserLanguageInfoDto> getUserLanguages(List<UUID> userIds) {
-        List<UserLanguageInfoDto> result = userRepository.findByIdIn(userIds).stream()
-                .map(user -> new UserLanguageInfoDto(
-                        user.getId(),
-                        user.getLanguage().name().toLowerCase()
-                ))
+        Map<UUID, UserSnapshotEntry> fromSnapshot = userDirectorySnapshot.findAll(userIds);
+        List<UserLanguageInfoDto> result = new ArrayList<>(userIds.size());
+        fromSnapshot.values().forEach(entry -> result.add(toLanguageInfo(entry.id(), entry.language())));
+
+        List<UUID> missingIds = userIds.stream()
+                .filter(id -> !fromSnapshot.containsKey(id))
+                .distinct()
                 .toList();
+        if (!missingIds.isEmpty()) {
+            userRepository.findByIdIn(missingIds)
+                    .forEach(user -> result.add(toLanguageInfo(user.getId(), user.getLanguage())));
+        }
 
         log.info("Retrieved language settings for users: {}", userIds);
         return result;
     }
+
+    private static UserLanguageInfoDto toLanguageInfo(UUID userId, Language language) {
+        return new UserLanguageInfoDto(userId, language.name().toLowerCase());
+    }
 }
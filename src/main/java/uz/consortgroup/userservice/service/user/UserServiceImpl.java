@@ -16,7 +16,7 @@ import uz.consortgroup.userservice.entity.User;
 import uz.consortgroup.userservice.exception.UserNotFoundException;
 import uz.consortgroup.userservice.mapper.UserMapper;
 import uz.consortgroup.userservice.repository.UserRepository;
-import uz.consortgroup.userservice.service.cache.UserCacheServiceImpl;
+import uz.consortgroup.userservice.service.cache.UserCacheSynchronizer;
 import uz.consortgroup.userservice.service.event.user.UserEventService;
 import uz.consortgroup.userservice.service.mintrud.MehnatAutoFillService;
 import uz.consortgroup.userservice.service.operation.UserOperationsServiceServiceImpl;
@@ -34,12 +34,12 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final VerificationServiceImpl verificationServiceImpl;
-    private final UserCacheServiceImpl userCacheService;
     private final UserEventService userEventService;
     private final UserServiceValidator userServiceValidator;
     private final PasswordService passwordService;
     private final UserOperationsServiceServiceImpl userOperationService;
     private final MehnatAutoFillService mehnatAutoFillService;
+    private final UserCacheSynchronizer userCacheSynchronizer;
 
     @Transactional
     public UserRegistrationResponseDto registerNewUser(UserRegistrationRequestDto userRegistrationRequestDto) {
@@ -48,6 +48,7 @@ public class UserServiceImpl implements UserService {
         User user = createUser(userRegistrationRequestDto);
 
         userRepository.save(user);
+        userCacheSynchronizer.refresh(user);
         passwordService.savePassword(user, userRegistrationRequestDto.getPassword());
 
         String verificationCode = verificationServiceImpl.generateAndSaveCode(user);
@@ -64,10 +65,7 @@ public class UserServiceImpl implements UserService {
         verificationServiceImpl.verifyCode(user, inputCode);
         userRepository.updateVerificationStatus(userId, true, UserStatus.ACTIVE);
         userRepository.updateUserRole(userId, UserRole.STUDENT);
-
-        removeUserFromCache(userId);
-        userOperationService.cacheUser(userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found")));
+        userCacheSynchronizer.evict(userId);
         log.info("User {} successfully verified", userId);
     }
 
@@ -87,6 +85,7 @@ public class UserServiceImpl implements UserService {
         log.info("Filling user profile for user {}", userId);
         userServiceValidator.validateUserId(userId);
         User user = updateUserProfileById(userId, userProfileRequestDto);
+        userCacheSynchronizer.refresh(user);
         mehnatAutoFillService.tryFetchDataFromMehnat(user);
         userEventService.sendUserUpdateProfileEvent(userId, userProfileRequestDto);
         return userMapper.toUserProfileResponseDto(user);
@@ -104,6 +103,7 @@ public class UserServiceImpl implements UserService {
         userServiceValidator.checkUserRole(updateDto.getRole().name());
         userServiceValidator.validateUserId(userId);
         User user = updateUser(userId, updateDto);
+        userCacheSynchronizer.refresh(user);
         return userMapper.toUserUpdateResponseDto(user);
     }
 
@@ -116,7 +116,7 @@ public class UserServiceImpl implements UserService {
         }
 
         userRepository.deleteById(id);
-        removeUserFromCache(id);
+        userCacheSynchronizer.evict(id);
         log.info("User {} deleted successfully", id);
     }
 
@@ -166,11 +166,6 @@ public class UserServiceImpl implements UserService {
                 });
     }
 
-    private void removeUserFromCache(UUID userId) {
-        log.info("Removing user {} from cache", userId);
-        userCacheService.removeUserFromCache(userId);
-    }
-
     private static void userNotFoundLog(UUID userId) {
         log.error("User {} not found", userId);
     }
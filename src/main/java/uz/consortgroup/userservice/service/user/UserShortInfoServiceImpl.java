@@ -4,11 +4,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import uz.consortgroup.core.api.v1.dto.user.response.UserShortInfoResponseDto;
+import uz.consortgroup.userservice.cache.UserDirectorySnapshot;
+import uz.consortgroup.userservice.cache.UserSnapshotEntry;
 import uz.consortgroup.userservice.entity.User;
 import uz.consortgroup.userservice.mapper.UserMapper;
 import uz.consortgroup.userservice.service.operation.UserOperationsService;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
@@ -17,11 +22,14 @@ import java.util.UUID;
 public class UserShortInfoServiceImpl implements UserShortInfoService {
     private final UserMapper userMapper;
     private final UserOperationsService userOperationsService;
+    private final UserDirectorySnapshot userDirectorySnapshot;
 
     @Override
     public UserShortInfoResponseDto getUserShortInfoById(UUID userId) {
         log.info("Fetching short user info by userId = {}", userId);
-        User userShortInfo = userOperationsService.getUserFromDbAndCacheById(userId);
+        User userShortInfo = userDirectorySnapshot.find(userId)
+                .map(UserSnapshotEntry::toUser)
+                .orElseGet(() -> userOperationsService.getUserFromDbAndCacheById(userId));
         UserShortInfoResponseDto responseDto = userMapper.toUserShortInfoResponseDto(userShortInfo);
         log.info("Successfully retrieved short user info: {}", responseDto);
         return responseDto;
@@ -31,7 +39,19 @@ public class UserShortInfoServiceImpl implements UserShortInfoService {
     public List<UserShortInfoResponseDto> getUserShortInfoByIds(List<UUID> userIds) {
         log.info("Fetching short user info for userIds: {}", userIds);
 
-        List<User> users = userOperationsService.batchFindUsersById(userIds);
+        Map<UUID, User> usersById = new HashMap<>();
+        userDirectorySnapshot.findAll(userIds).forEach((id, entry) -> usersById.put(id, entry.toUser()));
+        List<UUID> missingIds = userIds.stream()
+                .filter(id -> !usersById.containsKey(id))
+                .toList();
+        if (!missingIds.isEmpty()) {
+            userOperationsService.batchFindUsersById(missingIds).forEach(user -> usersById.put(user.getId(), user));
+        }
+
+        List<User> users = userIds.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .toList();
         List<UserShortInfoResponseDto> responseDtos = userMapper.toUserShortInfoResponseDtos(users);
 
         log.info("Retrieved {} user short info records", responseDtos.size());
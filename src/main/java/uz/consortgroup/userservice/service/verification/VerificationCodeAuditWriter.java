@@ -0,0 +1,34 @@
+package uz.consortgroup.userservice.service.verification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.VerificationCodeStatus;
+import uz.consortgroup.userservice.repository.VerificationCodeRepository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// While a code lives the cache holds its authoritative status and attempts; these rows are the audit trail
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VerificationCodeAuditWriter {
+    private final VerificationCodeRepository verificationCodeRepository;
+
+    @Async("async")
+    @Transactional
+    public void recordAttempt(UUID codeId, LocalDateTime at) {
+        verificationCodeRepository.incrementAttempts(codeId, at);
+        log.debug("Recorded failed attempt for verification code {}", codeId);
+    }
+
+    @Async("async")
+    @Transactional
+    public void recordStatus(UUID codeId, VerificationCodeStatus status, LocalDateTime at) {
+        verificationCodeRepository.updateStatus(codeId, status, status.name(), at);
+        log.debug("Recorded status {} for verification code {}", status, codeId);
+    }
+}
@@ -2,6 +2,7 @@ package uz.consortgroup.userservice.service.verification;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.VerificationCodeStatus;
@@ -13,11 +14,13 @@ import uz.consortgroup.userservice.exception.VerificationCodeExpiredException;
 import uz.consortgroup.userservice.mapper.VerificationCodeCacheMapper;
 import uz.consortgroup.userservice.repository.VerificationCodeRepository;
 import uz.consortgroup.userservice.service.cache.VerificationCodeCacheServiceImpl;
+import uz.consortgroup.userservice.service.cache.store.VerificationCodeCacheStore.VerificationOutcome;
+import uz.consortgroup.userservice.service.cache.store.VerificationCodeCacheStore.VerificationResult;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.Optional;
 
+// The database checks a code directly only when the cache is unavailable or cannot hold the code
 @Service
 @Slf4j
 @RequiredArgsConstructor
@@ -26,6 +29,7 @@ public class VerificationServiceImpl implements VerificationService {
     private final VerificationCodeRepository verificationCodeRepository;
     private final VerificationCodeCacheServiceImpl verificationCodeCacheService;
     private final VerificationCodeCacheMapper verificationCodeCacheMapper;
+    private final VerificationCodeAuditWriter verificationCodeAuditWriter;
 
     public String generateAndSaveCode(User user) {
         log.debug("Generating new verification code for user {}", user.getId());
@@ -41,21 +45,55 @@ public class VerificationServiceImpl implements VerificationService {
 
     @Transactional
     public void verifyCode(User user, String inputCode) {
-        VerificationCode code = getActiveCode(user);
-        validateCode(code, inputCode);
-        markCodeAsUsed(code);
-    }
+        VerificationResult result = verificationCodeCacheService.verifyCode(user.getId(), inputCode).orElse(null);
+
+        VerificationCode code = null;
+        if (result != null && result.outcome() == VerificationOutcome.MISSING) {
+            log.debug("Loading verification code of user {} into cache", user.getId());
+            code = getLastCode(user);
+            saveCodeToCache(code);
+            result = verificationCodeCacheService.verifyCode(user.getId(), inputCode)
+                    .filter(retried -> retried.outcome() != VerificationOutcome.MISSING)
+                    .orElse(null);
+        }
 
-    private VerificationCode getActiveCode(User user) {
-        Optional<VerificationCodeCacheEntity> cachedCode =
-                verificationCodeCacheService.findCodeById(user.getId());
+        if (result == null) {
+            log.debug("Verifying code of user {} against DB", user.getId());
+            VerificationCode storedCode = code != null ? code : getLastCode(user);
+            validateCode(storedCode, inputCode);
+            markCodeAsUsed(storedCode);
+            return;
+        }
+        applyCachedResult(user, result);
+    }
 
-        if (cachedCode.isPresent()) {
-            log.debug("Using cached verification code for user {}", user.getId());
-            return verificationCodeCacheMapper.toVerificationCode(cachedCode.get());
+    private void applyCachedResult(User user, VerificationResult result) {
+        LocalDateTime now = LocalDateTime.now();
+        switch (result.outcome()) {
+            case VERIFIED -> {
+                recordStatus(result, VerificationCodeStatus.USED, now);
+                log.info("Marked verification code {} as USED", result.codeId());
+            }
+            case INVALID -> {
+                recordAttempt(result, now);
+                log.error("Invalid verification code entered for user {}", user.getId());
+                throw new InvalidVerificationCodeException("Invalid verification code");
+            }
+            case EXPIRED -> {
+                recordStatus(result, VerificationCodeStatus.EXPIRED, now);
+                log.error("Verification code has expired for user {}", user.getId());
+                throw new VerificationCodeExpiredException("Verification code has expired");
+            }
+            case USED -> {
+                log.error("Verification code {} of user {} is already used", result.codeId(), user.getId());
+                throw new InvalidVerificationCodeException("Verification code has already been used");
+            }
+            default -> throw new IllegalStateException(String.format(
+                    "Unexpected verification outcome %s for user %s", result.outcome(), user.getId()));
         }
+    }
 
-        log.debug("Fetching verification code from DB for user {}", user.getId());
+    private VerificationCode getLastCode(User user) {
         return verificationCodeRepository.findLastActiveCodeByUserId(user.getId())
                 .orElseThrow(() -> new InvalidVerificationCodeException(
                         "No active verification code found for user " + user.getId()));
@@ -77,11 +115,15 @@ public class VerificationServiceImpl implements VerificationService {
     }
 
     private void validateCode(VerificationCode code, String inputCode) {
+        if (code.getStatus() == VerificationCodeStatus.USED) {
+            log.error("Verification code {} of user {} is already used", code.getId(), code.getUser().getId());
+            throw new InvalidVerificationCodeException("Verification code has already been used");
+        }
+
         checkCodeExpiration(code);
 
         if (!inputCode.equals(code.getVerificationCode())) {
             verificationCodeRepository.incrementAttempts(code.getId(), LocalDateTime.now());
-            updateCodeInCache(code);
 
             log.error("Invalid verification code entered for user {}", code.getUser().getId());
             throw new InvalidVerificationCodeException("Invalid verification code");
@@ -97,8 +139,6 @@ public class VerificationServiceImpl implements VerificationService {
                     LocalDateTime.now()
             );
 
-            updateCodeInCache(code);
-
             log.error("Verification code has expired for user {}", code.getUser().getId());
             throw new VerificationCodeExpiredException("Verification code has expired");
         }
@@ -113,11 +153,27 @@ public class VerificationServiceImpl implements VerificationService {
                 VerificationCodeStatus.USED.name(),
                 now
         );
-        updateCodeInCache(code);
 
         log.info("Marked verification code {} as USED", code.getId());
     }
 
+    private void recordAttempt(VerificationResult result, LocalDateTime now) {
+        try {
+            verificationCodeAuditWriter.recordAttempt(result.codeId(), now);
+        } catch (TaskRejectedException e) {
+            log.warn("Audit executor is saturated, recording attempt of code {} synchronously", result.codeId());
+            verificationCodeRepository.incrementAttempts(result.codeId(), now);
+        }
+    }
+
+    private void recordStatus(VerificationResult result, VerificationCodeStatus status, LocalDateTime now) {
+        try {
+            verificationCodeAuditWriter.recordStatus(result.codeId(), status, now);
+        } catch (TaskRejectedException e) {
+            log.warn("Audit executor is saturated, recording status of code {} synchronously", result.codeId());
+            verificationCodeRepository.updateStatus(result.codeId(), status, status.name(), now);
+        }
+    }
 
     private void saveCodeToCache(VerificationCode code) {
         try {
@@ -128,21 +184,19 @@ public class VerificationServiceImpl implements VerificationService {
             log.debug("Saved verification code to cache for user {}", code.getUser().getId());
         } catch (Exception e) {
             log.error("Failed to cache verification code for user {}", code.getUser().getId(), e);
+            removeCodeFromCache(code);
         }
     }
 
-
-    private void updateCodeInCache(VerificationCode code) {
+    // Keeps an older cached code from being verified in place of one that failed to be cached
+    private void removeCodeFromCache(VerificationCode code) {
         try {
-            VerificationCodeCacheEntity cacheEntity =
-                    verificationCodeCacheMapper.toVerificationCodeCacheEntity(code);
-            verificationCodeCacheService.saveVerificationCode(cacheEntity);
+            verificationCodeCacheService.removeCode(code.getUser().getId());
         } catch (Exception e) {
-            log.error("Failed to update verification code in cache for code {}", code.getId(), e);
+            log.error("Failed to remove stale verification code from cache for user {}", code.getUser().getId(), e);
         }
     }
 
-
     private String generate4DigitCode() {
         return String.format("%04d", new SecureRandom().nextInt(10000));
     }
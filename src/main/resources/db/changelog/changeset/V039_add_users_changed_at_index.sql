@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_users_changed_at
+    ON user_schema.users ((COALESCE(updated_at, created_at)), id);
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_users_last_active
+    ON user_schema.users ((COALESCE(last_login, updated_at, created_at)) DESC, id DESC);
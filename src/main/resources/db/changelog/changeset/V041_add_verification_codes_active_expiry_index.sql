@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_verification_codes_active_expires_at
+    ON user_schema.verification_codes (expires_at)
+    WHERE status = 'ACTIVE';
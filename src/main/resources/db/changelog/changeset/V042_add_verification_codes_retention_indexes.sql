@@ -0,0 +1,6 @@
+CREATE INDEX IF NOT EXISTS idx_verification_codes_user_created_at
+    ON user_schema.verification_codes (user_id, created_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_verification_codes_inactive_created_at
+    ON user_schema.verification_codes (created_at)
+    WHERE status <> 'ACTIVE';
@@ -0,0 +1,28 @@
+CREATE TABLE IF NOT EXISTS user_schema.outbox_events (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    topic VARCHAR(255) NOT NULL,
+    payload_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    message_key VARCHAR(255),
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL,
+    available_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_available_at
+    ON user_schema.outbox_events (available_at);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_message_key_created_at
+    ON user_schema.outbox_events (message_key, created_at)
+    WHERE message_key IS NOT NULL;
+
+CREATE TABLE IF NOT EXISTS user_schema.outbox_dead_events (
+    id UUID PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    payload_type VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    message_key VARCHAR(255),
+    attempts INT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    failed_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,11 @@
+DELETE FROM user_schema.user_purchased_course upc
+USING (
+    SELECT id,
+           ROW_NUMBER() OVER (PARTITION BY user_id, course_id ORDER BY access_until DESC, purchased_at, id) AS rn
+    FROM user_schema.user_purchased_course
+) ranked
+WHERE upc.id = ranked.id
+  AND ranked.rn > 1;
+
+ALTER TABLE user_schema.user_purchased_course
+    ADD CONSTRAINT uq_user_purchased_course_user_course UNIQUE (user_id, course_id);
@@ -0,0 +1,11 @@
+-- Removes one UserCacheEntity in the layout used by RedisKeyValueAdapter.
+-- KEYS[1] entity hash, KEYS[2] per-entity index set, KEYS[3] keyspace set
+-- ARGV[1] id
+local id = ARGV[1]
+
+for _, indexKey in ipairs(redis.call('SMEMBERS', KEYS[2])) do
+    redis.call('SREM', indexKey, id)
+end
+redis.call('DEL', KEYS[1], KEYS[2])
+redis.call('SREM', KEYS[3], id)
+return 1
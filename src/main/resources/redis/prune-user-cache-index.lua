@@ -0,0 +1,13 @@
+-- Removes members of one @Indexed value set whose entity hash no longer exists.
+-- KEYS[1] index set
+-- ARGV[1] entity key prefix, e.g. "user_from_cache:"
+-- Returns the number of members removed.
+-- Builds the entity keys from ARGV instead of declaring them in KEYS, so it needs a standalone Redis (or a
+-- primary with replicas): Redis Cluster and ACL key patterns require every accessed key to be declared.
+local removed = 0
+for _, id in ipairs(redis.call('SMEMBERS', KEYS[1])) do
+    if redis.call('EXISTS', ARGV[1] .. id) == 0 then
+        removed = removed + redis.call('SREM', KEYS[1], id)
+    end
+end
+return removed
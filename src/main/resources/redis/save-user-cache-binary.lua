@@ -0,0 +1,25 @@
+-- Writes one binary user entry and its lookup keys unless the cached copy is newer.
+-- KEYS[1] entry, KEYS[2] updatedAt of the entry, KEYS[3..n] email and PINFL lookup keys
+-- ARGV[1] id, ARGV[2] ttl in seconds, ARGV[3] encoded entry, ARGV[4] updatedAt ('' if unknown)
+-- updatedAt is an ISO-8601 local date-time, which sorts chronologically as a string.
+-- Returns 1 when written, 0 when the cached copy was kept.
+local ttl = ARGV[2]
+local updatedAt = ARGV[4]
+
+if updatedAt ~= '' then
+    local cached = redis.call('GET', KEYS[2])
+    if cached and cached > updatedAt then
+        return 0
+    end
+end
+
+redis.call('SET', KEYS[1], ARGV[3], 'EX', ttl)
+if updatedAt ~= '' then
+    redis.call('SET', KEYS[2], updatedAt, 'EX', ttl)
+else
+    redis.call('DEL', KEYS[2])
+end
+for i = 3, #KEYS do
+    redis.call('SET', KEYS[i], ARGV[1], 'EX', ttl)
+end
+return 1
@@ -0,0 +1,35 @@
+-- Writes one UserCacheEntity in the layout used by RedisKeyValueAdapter unless the cached copy is newer.
+-- KEYS[1] entity hash, KEYS[2] per-entity index set, KEYS[3] keyspace set, KEYS[4..n] index keys
+-- ARGV[1] id, ARGV[2] ttl in seconds (0 = no expiry), ARGV[3] updatedAt ('' if unknown),
+-- ARGV[4..n] hash field/value pairs
+-- updatedAt is the ISO-8601 local date-time the converter stores, which sorts chronologically as a string.
+-- Returns 1 when written, 0 when the cached copy was kept.
+local id = ARGV[1]
+local ttl = tonumber(ARGV[2])
+local updatedAt = ARGV[3]
+
+if updatedAt ~= '' then
+    local cached = redis.call('HGET', KEYS[1], 'updatedAt')
+    if cached and cached > updatedAt then
+        return 0
+    end
+end
+
+for _, indexKey in ipairs(redis.call('SMEMBERS', KEYS[2])) do
+    redis.call('SREM', indexKey, id)
+end
+redis.call('DEL', KEYS[1], KEYS[2])
+
+if #ARGV > 3 then
+    redis.call('HSET', KEYS[1], unpack(ARGV, 4))
+end
+redis.call('SADD', KEYS[3], id)
+if ttl > 0 then
+    redis.call('EXPIRE', KEYS[1], ttl)
+end
+
+for i = 4, #KEYS do
+    redis.call('SADD', KEYS[i], id)
+    redis.call('SADD', KEYS[2], KEYS[i])
+end
+return 1
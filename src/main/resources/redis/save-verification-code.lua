@@ -0,0 +1,18 @@
+-- Stores the latest verification code of one user as a hash.
+-- A code created later than the given one is kept, and so is the given code itself once stored, since its status
+-- and attempts in Redis are ahead of the database; warmup and resend may therefore run in any order.
+-- KEYS[1] user's code hash
+-- ARGV[1] code id, ARGV[2] created at (epoch millis), ARGV[3] ttl in milliseconds, ARGV[4..n] hash field/value pairs
+-- Returns 1 if the code was written, 0 if the stored one was kept.
+local stored = redis.call('HMGET', KEYS[1], 'id', 'createdAt')
+local storedCreatedAt = tonumber(stored[2])
+local createdAt = tonumber(ARGV[2])
+
+if storedCreatedAt and (storedCreatedAt > createdAt or stored[1] == ARGV[1]) then
+    return 0
+end
+
+redis.call('DEL', KEYS[1])
+redis.call('HSET', KEYS[1], unpack(ARGV, 4))
+redis.call('PEXPIRE', KEYS[1], ARGV[3])
+return 1
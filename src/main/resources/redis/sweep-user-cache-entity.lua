@@ -0,0 +1,20 @@
+-- Cleans up after one UserCacheEntity whose hash has expired, in the layout used by RedisKeyValueAdapter.
+-- Leaves the entity alone if its hash still exists, so it is safe against a concurrent save.
+-- KEYS[1] entity hash, KEYS[2] per-entity index set, KEYS[3] keyspace set
+-- ARGV[1] id
+-- Returns the number of index memberships removed, or -1 if the entity is alive.
+-- Touches the index sets listed in KEYS[2] without declaring them, so like prune-user-cache-index.lua it needs
+-- a standalone Redis.
+local id = ARGV[1]
+
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    return -1
+end
+
+local removed = 0
+for _, indexKey in ipairs(redis.call('SMEMBERS', KEYS[2])) do
+    removed = removed + redis.call('SREM', indexKey, id)
+end
+redis.call('DEL', KEYS[2])
+redis.call('SREM', KEYS[3], id)
+return removed
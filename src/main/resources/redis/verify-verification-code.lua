@@ -0,0 +1,29 @@
+-- Checks an entered verification code against the one stored for the user and records the outcome, atomically:
+-- a used code stays used, an expired one is marked EXPIRED, a wrong guess increments attempts and a match marks
+-- the code USED.
+-- KEYS[1] user's code hash
+-- ARGV[1] entered code, ARGV[2] now (epoch millis)
+-- Returns {outcome, code id, attempts}; outcome is MISSING, USED, EXPIRED, INVALID or VERIFIED.
+local fields = redis.call('HMGET', KEYS[1], 'id', 'verificationCode', 'status', 'attempts', 'expiresAt')
+local id = fields[1]
+if not id then
+    return {'MISSING'}
+end
+
+local now = ARGV[2]
+local attempts = tonumber(fields[4]) or 0
+if fields[3] == 'USED' then
+    return {'USED', id, tostring(attempts)}
+end
+if fields[3] == 'EXPIRED' or tonumber(fields[5]) <= tonumber(now) then
+    redis.call('HSET', KEYS[1], 'status', 'EXPIRED', 'updatedAt', now)
+    return {'EXPIRED', id, tostring(attempts)}
+end
+if fields[2] ~= ARGV[1] then
+    attempts = redis.call('HINCRBY', KEYS[1], 'attempts', 1)
+    redis.call('HSET', KEYS[1], 'updatedAt', now)
+    return {'INVALID', id, tostring(attempts)}
+end
+
+redis.call('HSET', KEYS[1], 'status', 'USED', 'usedAt', now, 'updatedAt', now)
+return {'VERIFIED', id, tostring(attempts)}
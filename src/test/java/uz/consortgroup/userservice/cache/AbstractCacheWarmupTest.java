@@ -10,6 +10,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -21,10 +22,12 @@ import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
@@ -33,6 +36,8 @@ class AbstractCacheWarmupTest {
     @Autowired
     private ThreadPoolTaskExecutor taskExecutor;
 
+    private final WarmupCheckpointStore checkpointStore = mock(WarmupCheckpointStore.class);
+
     private TestCacheWarmup cacheWarmup;
     private final List<TestEntity> testData = List.of(
             new TestEntity(UUID.randomUUID()),
@@ -42,7 +47,7 @@ class AbstractCacheWarmupTest {
 
     @BeforeEach
     void setUp() {
-        cacheWarmup = spy(new TestCacheWarmup(taskExecutor, testData));
+        cacheWarmup = spy(new TestCacheWarmup(taskExecutor, checkpointStore, testData));
         ReflectionTestUtils.setField(cacheWarmup, "batchSize", 2);
         ReflectionTestUtils.setField(cacheWarmup, "warmupEnabled", true);
         ReflectionTestUtils.setField(cacheWarmup, "warmupTimeout", 5000);
@@ -51,23 +56,56 @@ class AbstractCacheWarmupTest {
 
     @Test
     void warmUpCache_EmptyData_DoesNothing() throws Exception {
-        TestCacheWarmup emptyWarmup = spy(new TestCacheWarmup(taskExecutor, List.of()));
+        TestCacheWarmup emptyWarmup = spy(new TestCacheWarmup(taskExecutor, checkpointStore, List.of()));
         ReflectionTestUtils.setField(emptyWarmup, "batchSize", 2);
 
         CompletableFuture.runAsync(emptyWarmup::warmUpCache, taskExecutor)
                 .get(1, TimeUnit.SECONDS);
 
-        verify(emptyWarmup, times(1)).fetchBatch(any(UUID.class), eq(2));
+        verify(emptyWarmup, times(1)).fetchBatch(any(UUID.class), any(UUID.class), eq(2));
         verify(emptyWarmup, never()).saveCache(anyList());
     }
 
     @Test
     void warmUpCache_FetchFails_RetriesThreeTimes() {
-        doThrow(new RuntimeException()).when(cacheWarmup).fetchBatch(any(UUID.class), anyInt());
+        doThrow(new RuntimeException()).when(cacheWarmup).fetchBatch(any(UUID.class), any(UUID.class), anyInt());
+
+        cacheWarmup.warmUpCache();
+
+        verify(cacheWarmup, times(3)).fetchBatch(any(UUID.class), any(UUID.class), eq(2));
+        verify(checkpointStore, never()).clear("TestCache", 0, 1);
+    }
 
+    @Test
+    void warmUpCache_PartitionCompletes_ClearsCheckpoint() {
         cacheWarmup.warmUpCache();
 
-        verify(cacheWarmup, times(3)).fetchBatch(any(UUID.class), eq(2));
+        verify(checkpointStore).clear("TestCache", 0, 1);
+    }
+
+    @Test
+    void warmUpCache_ResumesFromCheckpoint() {
+        UUID checkpoint = UUID.randomUUID();
+        when(checkpointStore.load("TestCache", 0, 1)).thenReturn(Optional.of(checkpoint));
+        TestCacheWarmup warmup = spy(new TestCacheWarmup(taskExecutor, checkpointStore, List.of()));
+        ReflectionTestUtils.setField(warmup, "batchSize", 2);
+
+        warmup.warmUpCache();
+
+        verify(warmup).fetchBatch(eq(checkpoint), any(UUID.class), eq(2));
+    }
+
+    @Test
+    void warmUpCache_SplitsUuidSpaceAcrossPartitions() {
+        TestCacheWarmup warmup = spy(new TestCacheWarmup(taskExecutor, checkpointStore, List.of()));
+        ReflectionTestUtils.setField(warmup, "batchSize", 2);
+        ReflectionTestUtils.setField(warmup, "parallelism", 2);
+
+        warmup.warmUpCache();
+
+        UUID midpoint = new UUID(Long.MAX_VALUE, -1L);
+        verify(warmup).fetchBatch(new UUID(0L, 0L), midpoint, 2);
+        verify(warmup).fetchBatch(midpoint, new UUID(-1L, -1L), 2);
     }
 
     @Test
@@ -106,13 +144,14 @@ class AbstractCacheWarmupTest {
     static class TestCacheWarmup extends AbstractCacheWarmup<TestEntity, UUID> {
         private final List<TestEntity> mockData;
 
-        TestCacheWarmup(ThreadPoolTaskExecutor executor, List<TestEntity> mockData) {
-            super(executor);
+        TestCacheWarmup(ThreadPoolTaskExecutor executor, WarmupCheckpointStore checkpointStore,
+                        List<TestEntity> mockData) {
+            super(executor, checkpointStore);
             this.mockData = mockData;
         }
 
         @Override
-        protected List<TestEntity> fetchBatch(UUID lastId, int batchSize) {
+        protected List<TestEntity> fetchBatch(UUID lastId, UUID upperBound, int batchSize) {
             int startIndex = lastId.equals(new UUID(0, 0)) ? 0
                     : (int) mockData.stream()
                     .takeWhile(e -> !e.getId().equals(lastId))
@@ -0,0 +1,130 @@
+package uz.consortgroup.userservice.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import uz.consortgroup.userservice.entity.User;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+import uz.consortgroup.userservice.mapper.UserCacheMapper;
+import uz.consortgroup.userservice.repository.UserRepository;
+import uz.consortgroup.userservice.service.cache.CacheWriteReport;
+import uz.consortgroup.userservice.service.cache.UserCacheServiceImpl;
+import uz.consortgroup.userservice.service.cache.store.UserCacheStore;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+    private static final String RECENCY_CHECKPOINT = "userCache:recency";
+
+    @Mock
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    @Mock
+    private WarmupCheckpointStore checkpointStore;
+
+    @Mock
+    private UserCacheServiceImpl userCacheServiceImpl;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserCacheMapper userCacheMapper;
+
+    @Mock
+    private UserCacheStore userCacheStore;
+
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(taskExecutor, checkpointStore, userCacheServiceImpl, userRepository,
+                userCacheMapper, userCacheStore);
+        ReflectionTestUtils.setField(userCache, "strategy", "recency");
+        ReflectionTestUtils.setField(userCache, "maxEntries", 100L);
+        ReflectionTestUtils.setField(userCache, "maxBytes", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(userCache, "batchSize", 2);
+        ReflectionTestUtils.setField(userCache, "minBatchSize", 1);
+        ReflectionTestUtils.setField(userCache, "maxBatchSize", 2);
+        ReflectionTestUtils.setField(userCache, "warmupTimeout", 5000);
+        ReflectionTestUtils.setField(userCache, "checkpointTtl", Duration.ofHours(1));
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(taskExecutor).execute(any());
+        lenient().when(userCacheMapper.toUserCache(any(User.class)))
+                .thenAnswer(invocation -> UserCacheEntity.builder().id(invocation.<User>getArgument(0).getId()).build());
+    }
+
+    @Test
+    void warmUpCache_Recency_WritesPagesAndClearsCheckpoint() {
+        User first = user(LocalDateTime.now());
+        User second = user(LocalDateTime.now().minusDays(1));
+        when(userRepository.findMostRecentlyActive(any(LocalDateTime.class), any(UUID.class), eq(Limit.of(2))))
+                .thenReturn(List.of(first, second), List.of());
+        when(userCacheServiceImpl.cacheUsers(anyList())).thenReturn(new CacheWriteReport(2, List.of(), 1L));
+
+        userCache.warmUpCache();
+
+        verify(checkpointStore).save(RECENCY_CHECKPOINT, 0, 1, second.getId(), Duration.ofHours(1));
+        verify(checkpointStore).clear(RECENCY_CHECKPOINT, 0, 1);
+    }
+
+    @Test
+    void warmUpCache_RecencyPageNotFullyWritten_RetriesPageThenStopsWithCheckpointKept() {
+        User first = user(LocalDateTime.now());
+        when(userRepository.findMostRecentlyActive(any(LocalDateTime.class), any(UUID.class), any(Limit.class)))
+                .thenReturn(List.of(first));
+        when(userCacheServiceImpl.cacheUsers(anyList()))
+                .thenReturn(new CacheWriteReport(1, List.of(first.getId()), 1L));
+
+        userCache.warmUpCache();
+
+        verify(userCacheServiceImpl, times(3)).cacheUsers(anyList());
+        verify(checkpointStore, never()).save(anyString(), anyInt(), anyInt(), any(UUID.class), any(Duration.class));
+        verify(checkpointStore, never()).clear(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void warmUpCache_RecencyCheckpoint_ResumesAfterCheckpointedUser() {
+        User checkpointed = user(LocalDateTime.now().minusHours(3));
+        when(checkpointStore.load(RECENCY_CHECKPOINT, 0, 1)).thenReturn(Optional.of(checkpointed.getId()));
+        when(userRepository.findById(checkpointed.getId())).thenReturn(Optional.of(checkpointed));
+        when(userRepository.findMostRecentlyActive(any(LocalDateTime.class), any(UUID.class), any(Limit.class)))
+                .thenReturn(List.of());
+
+        userCache.warmUpCache();
+
+        verify(userRepository).findMostRecentlyActive(checkpointed.getLastLogin(), checkpointed.getId(), Limit.of(2));
+    }
+
+    private static User user(LocalDateTime lastLogin) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .lastLogin(lastLogin)
+                .build();
+    }
+}
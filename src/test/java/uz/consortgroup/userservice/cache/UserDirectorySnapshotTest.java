@@ -0,0 +1,114 @@
+package uz.consortgroup.userservice.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import uz.consortgroup.userservice.repository.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectorySnapshotTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @InjectMocks
+    private UserDirectorySnapshot userDirectorySnapshot;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userDirectorySnapshot, "enabled", true);
+        ReflectionTestUtils.setField(userDirectorySnapshot, "batchSize", 2);
+    }
+
+    @Test
+    void invalidate_BroadcastsToPeers() {
+        UUID id = UUID.randomUUID();
+
+        userDirectorySnapshot.invalidate(id);
+
+        verify(redisTemplate).convertAndSend(eq("user_directory:invalidations"), endsWith("|" + id));
+    }
+
+    @Test
+    void onMessage_FromPeer_HidesUserEvenWhenCountsBalance() {
+        UserSnapshotEntry deleted = entry(UUID.randomUUID());
+        UserSnapshotEntry registered = entry(UUID.randomUUID());
+        when(userRepository.findSnapshotEntriesChangedSince(any(), any(), any())).thenReturn(List.of(deleted));
+        when(userRepository.count()).thenReturn(1L);
+        userDirectorySnapshot.catchUp();
+        assertTrue(userDirectorySnapshot.find(deleted.id()).isPresent());
+
+        userDirectorySnapshot.onMessage(message("peer|" + deleted.id()), null);
+        when(userRepository.findSnapshotEntriesChangedSince(any(), any(), any())).thenReturn(List.of(registered));
+        userDirectorySnapshot.catchUp();
+
+        assertTrue(userDirectorySnapshot.find(deleted.id()).isEmpty());
+        assertTrue(userDirectorySnapshot.find(registered.id()).isPresent());
+        verify(userRepository, never()).findExistingIds(anyCollection());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void catchUp_MoreKnownUsersThanStored_DropsDeletedInBatches() {
+        UserSnapshotEntry first = entry(UUID.randomUUID());
+        UserSnapshotEntry deleted = entry(UUID.randomUUID());
+        UserSnapshotEntry third = entry(UUID.randomUUID());
+        when(userRepository.findSnapshotEntriesChangedSince(any(), any(), any()))
+                .thenReturn(List.of(first, deleted), List.of(third));
+        when(userRepository.count()).thenReturn(2L);
+        when(userRepository.findExistingIds(anyCollection())).thenAnswer(invocation ->
+                ((Collection<UUID>) invocation.getArgument(0)).stream()
+                        .filter(id -> !id.equals(deleted.id()))
+                        .toList());
+
+        userDirectorySnapshot.catchUp();
+
+        verify(userRepository, times(2)).findExistingIds(anyCollection());
+        assertTrue(userDirectorySnapshot.find(deleted.id()).isEmpty());
+        assertTrue(userDirectorySnapshot.find(first.id()).isPresent());
+        assertTrue(userDirectorySnapshot.find(third.id()).isPresent());
+    }
+
+    private static DefaultMessage message(String payload) {
+        return new DefaultMessage("user_directory:invalidations".getBytes(StandardCharsets.UTF_8),
+                payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserSnapshotEntry entry(UUID id) {
+        return new UserSnapshotEntry(id, null, null, null, "First", "Last", null, null, null, null,
+                LocalDateTime.of(2025, 5, 1, 12, 30));
+    }
+}
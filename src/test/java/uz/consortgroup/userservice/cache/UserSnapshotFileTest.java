@@ -0,0 +1,84 @@
+package uz.consortgroup.userservice.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.Language;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void write_ThenOpen_FindsEveryEntryById() throws IOException {
+        Path path = directory.resolve("users.snapshot");
+        LocalDateTime watermark = LocalDateTime.of(2025, 5, 1, 12, 30);
+        List<UserSnapshotEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            entries.add(entry(UUID.randomUUID(), "User " + i));
+        }
+        entries.add(new UserSnapshotEntry(UUID.randomUUID(), null, null, null,
+                null, null, null, null, null, null, watermark));
+        entries.sort(Comparator.comparing(UserSnapshotEntry::id));
+
+        UserSnapshotFile.write(path, entries.iterator(), entries.size(), watermark);
+        UserSnapshotFile file = UserSnapshotFile.open(path);
+
+        assertEquals(entries.size(), file.size());
+        assertEquals(watermark, file.watermark().orElseThrow());
+        for (UserSnapshotEntry entry : entries) {
+            assertEquals(entry, file.find(entry.id()).orElseThrow());
+        }
+        assertTrue(file.find(UUID.randomUUID()).isEmpty());
+
+        Iterator<UserSnapshotEntry> iterator = file.iterator();
+        for (UserSnapshotEntry entry : entries) {
+            assertEquals(entry, iterator.next());
+        }
+    }
+
+    @Test
+    void find_FollowsUuidCompareToOrder() throws IOException {
+        Path path = directory.resolve("users.snapshot");
+        UserSnapshotEntry low = entry(new UUID(0x1000L, 0L), "Low");
+        UserSnapshotEntry high = entry(new UUID(0x8000_0000_0000_0000L, 0L), "High");
+
+        // UUID.compareTo is signed, so the ID with the top bit set sorts first
+        UserSnapshotFile.write(path, List.of(high, low).iterator(), 2, null);
+        UserSnapshotFile file = UserSnapshotFile.open(path);
+
+        assertEquals(high, file.find(high.id()).orElseThrow());
+        assertEquals(low, file.find(low.id()).orElseThrow());
+        assertTrue(file.watermark().isEmpty());
+    }
+
+    @Test
+    void open_RejectsForeignFile() throws IOException {
+        Path path = directory.resolve("users.snapshot");
+        Files.write(path, new byte[64]);
+
+        assertThrows(IOException.class, () -> UserSnapshotFile.open(path));
+    }
+
+    private static UserSnapshotEntry entry(UUID id, String firstName) {
+        return new UserSnapshotEntry(id, Language.UZBEK, UserRole.STUDENT, UserStatus.ACTIVE,
+                firstName, "Тошматов", null, firstName.replace(' ', '.') + "@example.com",
+                "Consort", "Engineer", LocalDateTime.of(2025, 4, 1, 9, 0));
+    }
+}
@@ -0,0 +1,33 @@
+package uz.consortgroup.userservice.config.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import uz.consortgroup.userservice.exception.FailedRecordRoutingException;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KafkaConsumerConfigTest {
+    private final ConsumerRecord<String, Object> record =
+            new ConsumerRecord<>("course-purchased-topic", 0, 42L, "key", "value");
+
+    @Test
+    void recover_RetryTopicSendFailed_ThrowsSoBatchIsNotCommitted() {
+        Exception exception = new ListenerExecutionFailedException("Listener failed",
+                new FailedRecordRoutingException("Failed to send 1 failed records to course-purchased-topic-retry",
+                        new IllegalStateException("Kafka is down")));
+
+        assertThatThrownBy(() -> KafkaConsumerConfig.recover(record, exception))
+                .isInstanceOf(FailedRecordRoutingException.class)
+                .hasCause(exception);
+    }
+
+    @Test
+    void recover_OtherFailure_LogsAndSkips() {
+        Exception exception = new ListenerExecutionFailedException("Listener failed",
+                new IllegalStateException("Unexpected"));
+
+        assertThatCode(() -> KafkaConsumerConfig.recover(record, exception)).doesNotThrowAnyException();
+    }
+}
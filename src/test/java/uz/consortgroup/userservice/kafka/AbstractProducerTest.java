@@ -7,56 +7,98 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
+import uz.consortgroup.userservice.event.user.UserRegisteredEvent;
 
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class AbstractProducerTest {
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
 
+    @Mock
+    private KafkaProducerMetrics kafkaProducerMetrics;
+
     private AbstractProducer producer;
 
     @BeforeEach
     void setUp() {
-        producer = new AbstractProducer(kafkaTemplate) {
+        producer = new AbstractProducer(kafkaTemplate, kafkaProducerMetrics) {
             @Override
             protected String getTopic() {
                 return "test-topic";
             }
+
+            @Override
+            protected Class<?> getEventType() {
+                return Object.class;
+            }
         };
     }
 
     @Test
     void sendEventToTopic_Success() {
         List<Object> messages = List.of("Message 1", "Message 2");
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
 
-        producer.sendEventToTopic("test-topic", messages);
+        CompletableFuture<Void> sent = producer.sendEventToTopic("test-topic", messages);
 
         ArgumentCaptor<Object> messageCaptor = ArgumentCaptor.forClass(Object.class);
-        verify(kafkaTemplate, times(2)).send(eq("test-topic"), messageCaptor.capture());
+        verify(kafkaTemplate, times(2)).send(eq("test-topic"), isNull(), messageCaptor.capture());
 
         List<Object> sentMessages = messageCaptor.getAllValues();
         assertEquals(messages, sentMessages);
+        assertTrue(sent.isDone());
+        verify(kafkaProducerMetrics, times(2)).recordSend(eq("test-topic"), eq(true), anyLong());
+    }
+
+    @Test
+    void sendEventToTopic_UserEvent_KeyedByUserId() {
+        UUID userId = UUID.randomUUID();
+        UserRegisteredEvent event = UserRegisteredEvent.builder().userId(userId).build();
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        producer.sendEventToTopic("test-topic", List.of(event));
+
+        verify(kafkaTemplate).send("test-topic", userId.toString(), event);
+    }
+
+    @Test
+    void sendEventToTopic_BrokerRejects_FailsFutureAndRecordsFailure() {
+        when(kafkaTemplate.send(anyString(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker error")));
+
+        CompletableFuture<Void> sent = producer.sendEventToTopic("test-topic", List.of("Message 1"));
+
+        assertTrue(sent.isCompletedExceptionally());
+        verify(kafkaProducerMetrics).recordSend(eq("test-topic"), eq(false), anyLong());
     }
 
     @Test
     void sendEventToTopic_Fail() {
         List<Object> messages = List.of("Message 1");
-        doThrow(new RuntimeException("Kafka error")).when(kafkaTemplate).send(anyString(), any());
+        doThrow(new RuntimeException("Kafka error")).when(kafkaTemplate).send(anyString(), any(), any());
 
         RuntimeException thrown = assertThrows(RuntimeException.class, () -> producer.sendEventToTopic("test-topic", messages));
         assertEquals("Kafka error", thrown.getMessage());
 
-        verify(kafkaTemplate, times(1)).send(eq("test-topic"), eq("Message 1"));
+        verify(kafkaTemplate, times(1)).send(eq("test-topic"), isNull(), eq("Message 1"));
+        verifyNoInteractions(kafkaProducerMetrics);
     }
 }
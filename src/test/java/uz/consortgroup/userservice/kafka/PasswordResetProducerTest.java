@@ -9,6 +9,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import uz.consortgroup.userservice.topic.KafkaTopic;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -24,6 +25,9 @@ class PasswordResetProducerTest {
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
 
+    @Mock
+    private KafkaProducerMetrics kafkaProducerMetrics;
+
     @Mock
     private KafkaTopic kafkaTopic;
 
@@ -36,11 +40,12 @@ class PasswordResetProducerTest {
         List<Object> messages = List.of("message1", "message2");
 
         when(kafkaTopic.getPasswordResetRequestTopic()).thenReturn(topicName);
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
 
         passwordResetProducer.sendPasswordRequestEvents(messages);
 
-        verify(kafkaTemplate).send(topicName, "message1");
-        verify(kafkaTemplate).send(topicName, "message2");
+        verify(kafkaTemplate).send(topicName, null, "message1");
+        verify(kafkaTemplate).send(topicName, null, "message2");
     }
 
     @Test
@@ -62,7 +67,7 @@ class PasswordResetProducerTest {
 
         passwordResetProducer.sendPasswordRequestEvents(messages);
 
-        verify(kafkaTemplate, never()).send(anyString(), any());
+        verify(kafkaTemplate, never()).send(anyString(), any(), any());
     }
 
     @Test
@@ -79,7 +84,7 @@ class PasswordResetProducerTest {
         List<Object> messages = List.of("message1");
 
         when(kafkaTopic.getPasswordResetRequestTopic()).thenReturn(topicName);
-        when(kafkaTemplate.send(topicName, "message1"))
+        when(kafkaTemplate.send(topicName, null, "message1"))
                 .thenThrow(new RuntimeException("Kafka error"));
 
         assertThatThrownBy(() -> passwordResetProducer.sendPasswordRequestEvents(messages))
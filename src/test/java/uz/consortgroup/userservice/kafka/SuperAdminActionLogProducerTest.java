@@ -9,6 +9,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import uz.consortgroup.userservice.topic.KafkaTopic;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,6 +20,9 @@ class SuperAdminActionLogProducerTest {
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
 
+    @Mock
+    private KafkaProducerMetrics kafkaProducerMetrics;
+
     @Mock
     private KafkaTopic kafkaTopic;
 
@@ -34,7 +38,7 @@ class SuperAdminActionLogProducerTest {
         superAdminActionLogProducer.sendSuperAdminActionEvents(emptyMessages);
 
         verify(kafkaTopic, times(2)).getSuperAdminActionTopic(); // Изменили на 2 вызова
-        verify(kafkaTemplate, never()).send(anyString(), any());
+        verify(kafkaTemplate, never()).send(anyString(), any(), any());
     }
 
     @Test
@@ -42,11 +46,12 @@ class SuperAdminActionLogProducerTest {
         String topicName = "user-created-topic";
         when(kafkaTopic.getSuperAdminActionTopic()).thenReturn(topicName);
         List<Object> messages = List.of("message1", "message2");
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
 
         superAdminActionLogProducer.sendSuperAdminActionEvents(messages);
 
         verify(kafkaTopic, times(2)).getSuperAdminActionTopic(); // Изменили на 2 вызова
-        verify(kafkaTemplate, times(messages.size())).send(eq(topicName), any());
+        verify(kafkaTemplate, times(messages.size())).send(eq(topicName), any(), any());
     }
 
     @Test
@@ -71,7 +76,7 @@ class SuperAdminActionLogProducerTest {
         String topicName = "user-created-topic";
         when(kafkaTopic.getSuperAdminActionTopic()).thenReturn(topicName);
         List<Object> messages = List.of("message1");
-        doThrow(new RuntimeException("Kafka error")).when(kafkaTemplate).send(anyString(), any());
+        doThrow(new RuntimeException("Kafka error")).when(kafkaTemplate).send(anyString(), any(), any());
 
         assertThrows(RuntimeException.class, 
             () -> superAdminActionLogProducer.sendSuperAdminActionEvents(messages));
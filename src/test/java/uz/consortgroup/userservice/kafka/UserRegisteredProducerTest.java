@@ -9,6 +9,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import uz.consortgroup.userservice.topic.KafkaTopic;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -19,6 +20,9 @@ class UserRegisteredProducerTest {
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
 
+    @Mock
+    private KafkaProducerMetrics kafkaProducerMetrics;
+
     @Mock
     private KafkaTopic kafkaTopic;
 
@@ -31,11 +35,12 @@ class UserRegisteredProducerTest {
         List<Object> messages = List.of("message1", "message2");
 
         when(kafkaTopic.getUserRegistrationTopic()).thenReturn(topicName);
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
 
         userRegisteredProducer.sendUserRegisteredEvents(messages);
 
-        verify(kafkaTemplate).send(topicName, "message1");
-        verify(kafkaTemplate).send(topicName, "message2");
+        verify(kafkaTemplate).send(topicName, null, "message1");
+        verify(kafkaTemplate).send(topicName, null, "message2");
     }
 
     @Test
@@ -57,7 +62,7 @@ class UserRegisteredProducerTest {
 
         userRegisteredProducer.sendUserRegisteredEvents(messages);
 
-        verify(kafkaTemplate, never()).send(anyString(), any());
+        verify(kafkaTemplate, never()).send(anyString(), any(), any());
     }
 
     @Test
@@ -72,7 +77,7 @@ class UserRegisteredProducerTest {
         List<Object> messages = List.of("message1");
 
         when(kafkaTopic.getUserRegistrationTopic()).thenReturn(topicName);
-        when(kafkaTemplate.send(topicName, "message1"))
+        when(kafkaTemplate.send(topicName, null, "message1"))
                 .thenThrow(new RuntimeException("Kafka error"));
 
         assertThatThrownBy(() -> userRegisteredProducer.sendUserRegisteredEvents(messages))
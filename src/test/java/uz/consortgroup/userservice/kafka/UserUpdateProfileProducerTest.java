@@ -9,6 +9,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import uz.consortgroup.userservice.topic.KafkaTopic;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -25,6 +26,9 @@ class UserUpdateProfileProducerTest {
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
 
+    @Mock
+    private KafkaProducerMetrics kafkaProducerMetrics;
+
     @Mock
     private KafkaTopic kafkaTopic;
 
@@ -37,11 +41,12 @@ class UserUpdateProfileProducerTest {
         List<Object> messages = List.of("msg1", "msg2");
 
         when(kafkaTopic.getUserUpdateProfileTopic()).thenReturn(topic);
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
 
         userUpdateProfileProducer.sendUserUpdateProfileEvents(messages);
 
-        verify(kafkaTemplate).send(topic, "msg1");
-        verify(kafkaTemplate).send(topic, "msg2");
+        verify(kafkaTemplate).send(topic, null, "msg1");
+        verify(kafkaTemplate).send(topic, null, "msg2");
     }
 
     @Test
@@ -53,7 +58,7 @@ class UserUpdateProfileProducerTest {
 
         userUpdateProfileProducer.sendUserUpdateProfileEvents(messages);
 
-        verify(kafkaTemplate, never()).send(anyString(), any());
+        verify(kafkaTemplate, never()).send(anyString(), any(), any());
     }
 
     @Test
@@ -72,9 +77,10 @@ class UserUpdateProfileProducerTest {
         List<Object> messages = List.of("msg1", "msg2", "msg3");
 
         when(kafkaTopic.getUserUpdateProfileTopic()).thenReturn(topic);
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
 
         userUpdateProfileProducer.sendUserUpdateProfileEvents(messages);
 
-        verify(kafkaTemplate, times(3)).send(eq(topic), any());
+        verify(kafkaTemplate, times(3)).send(eq(topic), any(), any());
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import uz.consortgroup.userservice.topic.KafkaTopic;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.*;
@@ -19,6 +20,9 @@ class VerificationCodeResendProducerTest {
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
     
+    @Mock
+    private KafkaProducerMetrics kafkaProducerMetrics;
+
     @Mock
     private KafkaTopic kafkaTopic;
     
@@ -31,11 +35,12 @@ class VerificationCodeResendProducerTest {
         List<Object> messages = List.of("msg1", "msg2");
         
         when(kafkaTopic.getVerificationCodeResentTopic()).thenReturn(topic);
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
         
         producer.sendVerificationCodeResendEvents(messages);
         
-        verify(kafkaTemplate).send(topic, "msg1");
-        verify(kafkaTemplate).send(topic, "msg2");
+        verify(kafkaTemplate).send(topic, null, "msg1");
+        verify(kafkaTemplate).send(topic, null, "msg2");
     }
 
     @Test
@@ -46,7 +51,7 @@ class VerificationCodeResendProducerTest {
         
         producer.sendVerificationCodeResendEvents(List.of());
         
-        verify(kafkaTemplate, never()).send(anyString(), any());
+        verify(kafkaTemplate, never()).send(anyString(), any(), any());
     }
 
     @Test
@@ -66,9 +71,10 @@ class VerificationCodeResendProducerTest {
         List<Object> messages = List.of("msg1", "msg2", "msg3");
         
         when(kafkaTopic.getVerificationCodeResentTopic()).thenReturn(topic);
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
         
         producer.sendVerificationCodeResendEvents(messages);
         
-        verify(kafkaTemplate, times(3)).send(eq(topic), any());
+        verify(kafkaTemplate, times(3)).send(eq(topic), any(), any());
     }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package uz.consortgroup.userservice.kafka.consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.Acknowledgment;
+import uz.consortgroup.userservice.event.coursepurchased.CoursePurchasedEvent;
+import uz.consortgroup.userservice.exception.FailedRecordRoutingException;
+import uz.consortgroup.userservice.kafka.consumer.KafkaConsumerMetrics.RecordOutcome;
+import uz.consortgroup.userservice.service.processor.CoursePurchasedEventProcessor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CoursePurchasedConsumerTest {
+    private static final String CONSUMER = "CoursePurchasedConsumer";
+    private static final String RETRY_TOPIC = "course-purchased-topic-retry";
+
+    @Mock
+    private FailedRecordRouter failedRecordRouter;
+
+    @Mock
+    private KafkaConsumerMetrics kafkaConsumerMetrics;
+
+    @Mock
+    private CoursePurchasedEventProcessor coursePurchasedEventProcessor;
+
+    @Mock
+    private Acknowledgment ack;
+
+    private KeyOrderedExecutor keyOrderedExecutor;
+    private CoursePurchasedConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        keyOrderedExecutor = new KeyOrderedExecutor(4);
+        consumer = new CoursePurchasedConsumer(keyOrderedExecutor, failedRecordRouter, kafkaConsumerMetrics,
+                coursePurchasedEventProcessor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        keyOrderedExecutor.shutdown();
+    }
+
+    @Test
+    void processBatch_AllSucceed_AcknowledgesWithoutRetry() {
+        List<CoursePurchasedEvent> events = List.of(event(UUID.randomUUID()), event(UUID.randomUUID()));
+
+        consumer.processBatch(events, ack);
+
+        verify(coursePurchasedEventProcessor).process(events);
+        verify(failedRecordRouter, never()).route(anyString(), anyList(), any());
+        verify(ack).acknowledge();
+        verify(kafkaConsumerMetrics).recordOutcome(CONSUMER, RecordOutcome.SUCCEEDED, 2);
+        verify(kafkaConsumerMetrics).recordOutcome(CONSUMER, RecordOutcome.RETRIED, 0);
+    }
+
+    @Test
+    void processBatch_OneFails_RoutesItAndLaterEventsOfSameUserAndAcknowledges() {
+        UUID failingUser = UUID.randomUUID();
+        CoursePurchasedEvent failing = event(failingUser);
+        CoursePurchasedEvent sameUserLater = event(failingUser);
+        CoursePurchasedEvent other = event(UUID.randomUUID());
+        List<CoursePurchasedEvent> events = List.of(failing, other, sameUserLater);
+        doAnswer(invocation -> {
+            List<CoursePurchasedEvent> batch = invocation.getArgument(0);
+            if (batch.contains(failing)) {
+                throw new IllegalStateException("Course service is down");
+            }
+            return null;
+        }).when(coursePurchasedEventProcessor).process(anyList());
+
+        consumer.processBatch(events, ack);
+
+        verify(coursePurchasedEventProcessor).process(List.of(other));
+        verify(coursePurchasedEventProcessor, never()).process(List.of(sameUserLater));
+        verify(failedRecordRouter).route(eq(RETRY_TOPIC), eq(List.of(failing, sameUserLater)), any());
+        verify(ack).acknowledge();
+        verify(kafkaConsumerMetrics).recordOutcome(CONSUMER, RecordOutcome.SUCCEEDED, 1);
+        verify(kafkaConsumerMetrics).recordOutcome(CONSUMER, RecordOutcome.RETRIED, 2);
+    }
+
+    @Test
+    void processBatch_RetryTopicUnavailable_DoesNotAcknowledge() {
+        CoursePurchasedEvent failing = event(UUID.randomUUID());
+        doThrow(new IllegalStateException("Course service is down"))
+                .when(coursePurchasedEventProcessor).process(anyList());
+        doThrow(new FailedRecordRoutingException("Kafka is down", new IllegalStateException("Timed out")))
+                .when(failedRecordRouter).route(eq(RETRY_TOPIC), eq(List.of(failing)), any());
+
+        assertThatThrownBy(() -> consumer.processBatch(List.of(failing), ack))
+                .isInstanceOf(FailedRecordRoutingException.class)
+                .hasMessage("Kafka is down");
+
+        verify(ack, never()).acknowledge();
+        verify(kafkaConsumerMetrics, never()).recordOutcome(anyString(), any(), anyInt());
+    }
+
+    @Test
+    void onRetry_Fails_RethrowsForNextTier() {
+        CoursePurchasedEvent event = event(UUID.randomUUID());
+        doThrow(new IllegalStateException("Course service is down"))
+                .when(coursePurchasedEventProcessor).process(List.of(event));
+
+        assertThatThrownBy(() -> consumer.onRetry(event)).isInstanceOf(IllegalStateException.class);
+
+        verify(kafkaConsumerMetrics, never()).recordOutcome(CONSUMER, RecordOutcome.RECOVERED, 1);
+    }
+
+    @Test
+    void onDeadLetter_CountsDeadLetter() {
+        consumer.onDeadLetter(event(UUID.randomUUID()), "Course service is down");
+
+        verify(kafkaConsumerMetrics).recordOutcome(CONSUMER, RecordOutcome.DEAD_LETTERED, 1);
+    }
+
+    private static CoursePurchasedEvent event(UUID userId) {
+        return CoursePurchasedEvent.builder()
+                .messageId(UUID.randomUUID())
+                .userId(userId)
+                .courseId(UUID.randomUUID())
+                .purchasedAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package uz.consortgroup.userservice.kafka.consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import uz.consortgroup.userservice.exception.FailedRecordRoutingException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FailedRecordRouterTest {
+    private static final String RETRY_TOPIC = "course-purchased-topic-retry";
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @InjectMocks
+    private FailedRecordRouter failedRecordRouter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(failedRecordRouter, "sendTimeout", Duration.ofSeconds(1));
+    }
+
+    @Test
+    void route_AllSent_Returns() {
+        when(kafkaTemplate.send(RETRY_TOPIC, "a", "first")).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(RETRY_TOPIC, "b", "second")).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThatCode(() -> failedRecordRouter.route(RETRY_TOPIC, List.of("first", "second"),
+                record -> record.equals("first") ? "a" : "b")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void route_SendFails_ThrowsRoutingException() {
+        when(kafkaTemplate.send(RETRY_TOPIC, "a", "first"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Kafka is down")));
+
+        assertThatThrownBy(() -> failedRecordRouter.route(RETRY_TOPIC, List.of("first"), record -> "a"))
+                .isInstanceOf(FailedRecordRoutingException.class)
+                .hasMessageContaining(RETRY_TOPIC);
+    }
+
+    @Test
+    void route_SendNeverAcknowledged_ThrowsRoutingException() {
+        when(kafkaTemplate.send(RETRY_TOPIC, "a", "first")).thenReturn(new CompletableFuture<>());
+
+        assertThatThrownBy(() -> failedRecordRouter.route(RETRY_TOPIC, List.of("first"), record -> "a"))
+                .isInstanceOf(FailedRecordRoutingException.class);
+    }
+}
@@ -0,0 +1,91 @@
+package uz.consortgroup.userservice.kafka.consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyOrderedExecutorTest {
+    private KeyOrderedExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void executeInOrder_SameKey_HandledInGivenOrder() throws InterruptedException {
+        executor = new KeyOrderedExecutor(8);
+        List<Record> records = new ArrayList<>();
+        for (int seq = 0; seq < 20; seq++) {
+            for (String key : List.of("a", "b", "c")) {
+                records.add(new Record(key, seq));
+            }
+        }
+        Map<String, List<Integer>> handled = new ConcurrentHashMap<>();
+
+        executor.executeInOrder(records, Record::key, record -> {
+            sleep(1);
+            handled.computeIfAbsent(record.key(), k -> new CopyOnWriteArrayList<>()).add(record.seq());
+        });
+
+        List<Integer> expected = records.stream().filter(r -> r.key().equals("a")).map(Record::seq).toList();
+        assertThat(handled).hasSize(3);
+        handled.values().forEach(seqs -> assertThat(seqs).isEqualTo(expected));
+    }
+
+    @Test
+    void executeInOrder_ManyKeys_RunsAtMostMaxInFlight() throws InterruptedException {
+        executor = new KeyOrderedExecutor(2);
+        List<Record> records = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            records.add(new Record("key-" + i, 0));
+        }
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        executor.executeInOrder(records, Record::key, record -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(20);
+            running.decrementAndGet();
+        });
+
+        assertThat(maxRunning.get()).isBetween(1, 2);
+    }
+
+    @Test
+    void executeInOrder_HandlerFails_SkipsRestOfKeyAndRethrows() {
+        executor = new KeyOrderedExecutor(4);
+        List<Record> records = List.of(new Record("a", 0), new Record("a", 1), new Record("b", 0));
+        List<Record> handled = new CopyOnWriteArrayList<>();
+
+        assertThatThrownBy(() -> executor.executeInOrder(records, Record::key, record -> {
+            if (record.key().equals("a") && record.seq() == 0) {
+                throw new IllegalStateException("boom");
+            }
+            handled.add(record);
+        })).isInstanceOf(CompletionException.class).hasCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(handled).containsExactly(new Record("b", 0));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Record(String key, int seq) {
+    }
+}
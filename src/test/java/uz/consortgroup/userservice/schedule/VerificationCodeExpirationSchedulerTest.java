@@ -0,0 +1,92 @@
+package uz.consortgroup.userservice.schedule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import uz.consortgroup.userservice.repository.VerificationCodeRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VerificationCodeExpirationSchedulerTest {
+
+    @Mock
+    private VerificationCodeRepository verificationCodeRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private VerificationCodeExpirationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new VerificationCodeExpirationScheduler(verificationCodeRepository, redisTemplate, meterRegistry);
+        ReflectionTestUtils.setField(scheduler, "interval", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(scheduler, "batchSize", 2);
+        ReflectionTestUtils.setField(scheduler, "maxBatches", 3);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void expireOldCodes_LockHeldElsewhere_DoesNothing() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        scheduler.expireOldCodes();
+
+        verifyNoInteractions(verificationCodeRepository);
+    }
+
+    @Test
+    void expireOldCodes_ExpiresInBatchesUntilOneIsShort() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(verificationCodeRepository.expireCodesBatch(any(LocalDateTime.class), eq(2))).thenReturn(2, 1);
+
+        scheduler.expireOldCodes();
+
+        verify(verificationCodeRepository, times(2)).expireCodesBatch(any(LocalDateTime.class), eq(2));
+        assertThat(meterRegistry.counter("verification.codes.expired").count()).isEqualTo(3);
+        assertThat(meterRegistry.timer("verification.codes.expiry.duration").count()).isEqualTo(1);
+    }
+
+    @Test
+    void expireOldCodes_StopsAfterMaxBatches() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(verificationCodeRepository.expireCodesBatch(any(LocalDateTime.class), eq(2))).thenReturn(2);
+
+        scheduler.expireOldCodes();
+
+        verify(verificationCodeRepository, times(3)).expireCodesBatch(any(LocalDateTime.class), eq(2));
+    }
+
+    @Test
+    void expireOldCodes_RedisUnavailable_RunsWithoutLock() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RuntimeException("Redis down"));
+        when(verificationCodeRepository.expireCodesBatch(any(LocalDateTime.class), eq(2))).thenReturn(0);
+
+        scheduler.expireOldCodes();
+
+        verify(verificationCodeRepository).expireCodesBatch(any(LocalDateTime.class), eq(2));
+    }
+}
@@ -0,0 +1,88 @@
+package uz.consortgroup.userservice.schedule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import uz.consortgroup.userservice.repository.VerificationCodeRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VerificationCodeRetentionSchedulerTest {
+
+    @Mock
+    private VerificationCodeRepository verificationCodeRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private VerificationCodeRetentionScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new VerificationCodeRetentionScheduler(verificationCodeRepository, redisTemplate, meterRegistry);
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "period", Duration.ofDays(30));
+        ReflectionTestUtils.setField(scheduler, "interval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(scheduler, "batchSize", 2);
+        ReflectionTestUtils.setField(scheduler, "maxBatches", 10);
+    }
+
+    @Test
+    void purgeOldCodes_DeletesInBatchesOlderThanRetentionPeriod() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(verificationCodeRepository.deleteInactiveCodesBatch(any(LocalDateTime.class), eq(2))).thenReturn(2, 0);
+
+        scheduler.purgeOldCodes();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(verificationCodeRepository, times(2)).deleteInactiveCodesBatch(cutoff.capture(), eq(2));
+        assertThat(cutoff.getValue()).isBefore(LocalDateTime.now().minusDays(30).plusMinutes(1));
+        assertThat(meterRegistry.counter("verification.codes.purged").count()).isEqualTo(2);
+    }
+
+    @Test
+    void purgeOldCodes_RedisUnavailable_SkipsRun() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("Redis is down"));
+
+        scheduler.purgeOldCodes();
+
+        verify(verificationCodeRepository, never()).deleteInactiveCodesBatch(any(), anyInt());
+    }
+
+    @Test
+    void purgeOldCodes_Disabled_DoesNothing() {
+        ReflectionTestUtils.setField(scheduler, "enabled", false);
+
+        scheduler.purgeOldCodes();
+
+        verify(verificationCodeRepository, times(0)).deleteInactiveCodesBatch(any(), eq(2));
+    }
+}
@@ -0,0 +1,82 @@
+package uz.consortgroup.userservice.service.auth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LastLoginRecorderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private LastLoginRecorder lastLoginRecorder;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(lastLoginRecorder, "enabled", true);
+        ReflectionTestUtils.setField(lastLoginRecorder, "batchSize", 500);
+        ReflectionTestUtils.setField(lastLoginRecorder, "maxPending", 100);
+    }
+
+    @Test
+    void flush_CollapsesRepeatedLoginsIntoOneRow() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        lastLoginRecorder.record(first);
+        lastLoginRecorder.record(first);
+        lastLoginRecorder.record(second);
+
+        lastLoginRecorder.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Object>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), anyInt(), any());
+        assertEquals(2, batch.getValue().size());
+    }
+
+    @Test
+    void flush_FailedBatchIsRetriedWithNextFlush() {
+        lastLoginRecorder.record(UUID.randomUUID());
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[][]{{1}});
+
+        lastLoginRecorder.flush();
+        lastLoginRecorder.flush();
+        lastLoginRecorder.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+    }
+
+    @Test
+    void record_Disabled_WritesNothing() {
+        ReflectionTestUtils.setField(lastLoginRecorder, "enabled", false);
+
+        lastLoginRecorder.record(UUID.randomUUID());
+        lastLoginRecorder.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
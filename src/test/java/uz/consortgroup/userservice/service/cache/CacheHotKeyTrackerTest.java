@@ -0,0 +1,54 @@
+package uz.consortgroup.userservice.service.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import uz.consortgroup.userservice.service.cache.CacheHotKeyTracker.HotKey;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheHotKeyTrackerTest {
+
+    private CacheHotKeyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new CacheHotKeyTracker();
+        ReflectionTestUtils.setField(tracker, "enabled", true);
+        ReflectionTestUtils.setField(tracker, "sampleRate", 1.0);
+        ReflectionTestUtils.setField(tracker, "capacity", 3);
+    }
+
+    @Test
+    void topKeys_KeepsHotKeysWhenColdKeysChurn() {
+        UUID hot = UUID.randomUUID();
+        UUID warm = UUID.randomUUID();
+        IntStream.range(0, 50).forEach(i -> tracker.record(UserCacheMetrics.CACHE_USER, UserCacheMetrics.KEY_ID, hot));
+        IntStream.range(0, 20).forEach(i -> tracker.record(UserCacheMetrics.CACHE_USER, UserCacheMetrics.KEY_ID, warm));
+        IntStream.range(0, 10).forEach(i ->
+                tracker.record(UserCacheMetrics.CACHE_USER, UserCacheMetrics.KEY_ID, UUID.randomUUID()));
+
+        List<HotKey> top = tracker.topKeys(UserCacheMetrics.CACHE_USER, 2);
+
+        assertEquals(2, top.size());
+        assertEquals(hot.toString(), top.get(0).key());
+        assertEquals(UserCacheMetrics.KEY_ID, top.get(0).keyType());
+        assertEquals(50, top.get(0).estimatedLookups());
+        assertEquals(0, top.get(0).maxOverestimate());
+        assertEquals(warm.toString(), top.get(1).key());
+    }
+
+    @Test
+    void record_Disabled_TracksNothing() {
+        ReflectionTestUtils.setField(tracker, "enabled", false);
+
+        tracker.record(UserCacheMetrics.CACHE_VERIFICATION_CODE, UserCacheMetrics.KEY_ID, UUID.randomUUID());
+
+        assertTrue(tracker.topKeys(10).isEmpty());
+    }
+}
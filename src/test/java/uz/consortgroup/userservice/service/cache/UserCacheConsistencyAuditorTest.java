@@ -0,0 +1,156 @@
+package uz.consortgroup.userservice.service.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import uz.consortgroup.userservice.entity.User;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+import uz.consortgroup.userservice.mapper.UserCacheMapper;
+import uz.consortgroup.userservice.repository.UserRepository;
+import uz.consortgroup.userservice.service.cache.store.UserCacheStore;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheConsistencyAuditorTest {
+
+    @Mock
+    private UserCacheStore userCacheStore;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserCacheMapper userCacheMapper;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private UserCacheMetrics userCacheMetrics;
+
+    @InjectMocks
+    private UserCacheConsistencyAuditor userCacheConsistencyAuditor;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userCacheConsistencyAuditor, "enabled", true);
+        ReflectionTestUtils.setField(userCacheConsistencyAuditor, "interval", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(userCacheConsistencyAuditor, "sampleSize", 10);
+        ReflectionTestUtils.setField(userCacheConsistencyAuditor, "repair", true);
+    }
+
+    @Test
+    void audit_LockHeldElsewhere_DoesNothing() {
+        lockAcquired(false);
+
+        userCacheConsistencyAuditor.audit();
+
+        verifyNoInteractions(userCacheStore, userRepository, userCacheService, userCacheMetrics);
+    }
+
+    @Test
+    void audit_EvictsStaleAndOrphanedEntries() {
+        UUID consistentId = UUID.randomUUID();
+        UUID staleId = UUID.randomUUID();
+        UUID orphanedId = UUID.randomUUID();
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_789);
+
+        UserCacheEntity consistent = cacheEntity(consistentId, "Ali", updatedAt);
+        UserCacheEntity stale = cacheEntity(staleId, "Old", updatedAt);
+        UserCacheEntity orphaned = cacheEntity(orphanedId, "Gone", updatedAt);
+        Map<UUID, UserCacheEntity> cached = new LinkedHashMap<>();
+        cached.put(consistentId, consistent);
+        cached.put(staleId, stale);
+        cached.put(orphanedId, orphaned);
+
+        User consistentUser = User.builder().id(consistentId).build();
+        User staleUser = User.builder().id(staleId).build();
+        UserCacheEntity fresh = cacheEntity(staleId, "New", updatedAt);
+
+        lockAcquired(true);
+        when(userCacheStore.sampleIds(10)).thenReturn(List.of(consistentId, staleId, orphanedId));
+        when(userCacheStore.findAllByIds(List.of(consistentId, staleId, orphanedId))).thenReturn(cached);
+        when(userRepository.findAllById(cached.keySet())).thenReturn(List.of(consistentUser, staleUser));
+        when(userCacheMapper.toUserCache(consistentUser))
+                .thenReturn(cacheEntity(consistentId, "Ali", updatedAt.withNano(123_000_000)));
+        when(userCacheMapper.toUserCache(staleUser)).thenReturn(fresh);
+
+        userCacheConsistencyAuditor.audit();
+
+        verify(userCacheMetrics).recordAudit(3, 1, 1, Map.of("firstName", 1));
+        verify(userCacheService).removeUsersFromCache(List.of(staleId, orphanedId));
+        verify(userCacheService, never()).cacheUsers(any());
+    }
+
+    @Test
+    void audit_RepairDisabled_OnlyReports() {
+        UUID id = UUID.randomUUID();
+        Map<UUID, UserCacheEntity> cached = Map.of(id, cacheEntity(id, "Ali", null));
+        User user = User.builder().id(id).build();
+        ReflectionTestUtils.setField(userCacheConsistencyAuditor, "repair", false);
+
+        lockAcquired(true);
+        when(userCacheStore.sampleIds(anyInt())).thenReturn(List.of(id));
+        when(userCacheStore.findAllByIds(List.of(id))).thenReturn(cached);
+        when(userRepository.findAllById(cached.keySet())).thenReturn(List.of(user));
+        when(userCacheMapper.toUserCache(user)).thenReturn(cacheEntity(id, "Vali", null));
+
+        userCacheConsistencyAuditor.audit();
+
+        verify(userCacheMetrics).recordAudit(1, 1, 0, Map.of("firstName", 1));
+        verify(userCacheService, never()).removeUsersFromCache(any());
+    }
+
+    @Test
+    void diff_IgnoresSubMillisecondTimestampDifferences() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 5_000_001);
+
+        assertThat(UserCacheConsistencyAuditor.diff(
+                cacheEntity(id, "Ali", updatedAt), cacheEntity(id, "Ali", updatedAt.withNano(5_000_000)))).isEmpty();
+        assertThat(UserCacheConsistencyAuditor.diff(
+                cacheEntity(id, "Ali", updatedAt), cacheEntity(id, "Ali", updatedAt.plusSeconds(1))))
+                .containsExactly("updatedAt");
+    }
+
+    private void lockAcquired(boolean acquired) {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(acquired);
+    }
+
+    private static UserCacheEntity cacheEntity(UUID id, String firstName, LocalDateTime updatedAt) {
+        return UserCacheEntity.builder()
+                .id(id)
+                .firstName(firstName)
+                .email("user@example.com")
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
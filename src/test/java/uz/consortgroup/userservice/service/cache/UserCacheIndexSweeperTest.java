@@ -0,0 +1,99 @@
+package uz.consortgroup.userservice.service.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import uz.consortgroup.userservice.repository.UserRedisBulkOperations.SweepResult;
+import uz.consortgroup.userservice.repository.UserRedisRepository;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheIndexSweeperTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private UserRedisRepository userRedisRepository;
+
+    @Mock
+    private UserCacheMetrics userCacheMetrics;
+
+    @InjectMocks
+    private UserCacheIndexSweeper userCacheIndexSweeper;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userCacheIndexSweeper, "enabled", true);
+        ReflectionTestUtils.setField(userCacheIndexSweeper, "interval", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(userCacheIndexSweeper, "batchSize", 2);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void sweep_LockHeldElsewhere_DoesNothing() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        userCacheIndexSweeper.sweep();
+
+        verifyNoInteractions(userRedisRepository, userCacheMetrics);
+    }
+
+    @Test
+    void sweep_SweepsKeyspaceAndIndexesInBatchesAndReportsSizes() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        Cursor<String> keyspace = cursorOf("a", "b", "c");
+        when(setOperations.scan(eq("user_from_cache"), any(ScanOptions.class))).thenReturn(keyspace);
+        Cursor<String> emailKeys = cursorOf("user_from_cache:email:x@example.com");
+        Cursor<String> pinflKeys = cursorOf();
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(emailKeys, pinflKeys);
+        when(userRedisRepository.sweepExpiredPipelined(List.of("a", "b"))).thenReturn(new SweepResult(1, 2));
+        when(userRedisRepository.sweepExpiredPipelined(List.of("c"))).thenReturn(new SweepResult(0, 0));
+        when(userRedisRepository.pruneIndexesPipelined(List.of("user_from_cache:email:x@example.com"))).thenReturn(1L);
+
+        userCacheIndexSweeper.sweep();
+
+        verify(userCacheMetrics).recordIndexSweep("keyspace", 2, 1);
+        verify(userCacheMetrics).recordIndexSweep(UserCacheMetrics.KEY_EMAIL, 1, 1);
+        verify(userCacheMetrics).recordIndexSweep(UserCacheMetrics.KEY_PINFL, 0, 0);
+        verify(keyspace).close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursorOf(String... values) {
+        Iterator<String> iterator = List.of(values).iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        if (values.length > 0) {
+            when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        }
+        return cursor;
+    }
+}
@@ -0,0 +1,148 @@
+package uz.consortgroup.userservice.service.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.consortgroup.userservice.entity.User;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+import uz.consortgroup.userservice.mapper.UserCacheMapper;
+import uz.consortgroup.userservice.repository.UserRepository;
+import uz.consortgroup.userservice.service.cache.store.UserCacheStore;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheRefreshAheadTest {
+
+    @Mock
+    private UserCacheStore userCacheStore;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private ObjectProvider<UserCacheService> userCacheServiceProvider;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserCacheMapper userCacheMapper;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UserCacheMetrics userCacheMetrics;
+
+    private UserCacheRefreshAhead refreshAhead;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        refreshAhead = new UserCacheRefreshAhead(userCacheStore, userCacheServiceProvider, userRepository,
+                userCacheMapper, redisTemplate, taskExecutor, new TransactionTemplate(transactionManager),
+                userCacheMetrics);
+        ReflectionTestUtils.setField(refreshAhead, "enabled", true);
+        ReflectionTestUtils.setField(refreshAhead, "hotThreshold", 3);
+        ReflectionTestUtils.setField(refreshAhead, "accessWindow", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(refreshAhead, "checkInterval", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(refreshAhead, "refreshWindow", Duration.ofHours(2));
+        ReflectionTestUtils.setField(refreshAhead, "beta", 1.0);
+        ReflectionTestUtils.setField(refreshAhead, "maximumTracked", 100L);
+        refreshAhead.init();
+    }
+
+    @Test
+    void onRead_ColdEntry_DoesNotScheduleRefresh() {
+        UserCacheEntity user = UserCacheEntity.builder().id(userId).build();
+
+        refreshAhead.onRead(user);
+        refreshAhead.onRead(user);
+
+        verify(taskExecutor, never()).execute(any());
+    }
+
+    @Test
+    void onRead_HotEntryNearExpiry_ReloadsThroughCacheService() {
+        UserCacheEntity cached = UserCacheEntity.builder().id(userId).build();
+        User dbUser = User.builder().id(userId).build();
+        UserCacheEntity fresh = UserCacheEntity.builder().id(userId).build();
+
+        runDueRefresh();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(dbUser));
+        when(userCacheMapper.toUserCache(dbUser)).thenReturn(fresh);
+
+        for (int i = 0; i < 3; i++) {
+            refreshAhead.onRead(cached);
+        }
+
+        verify(userCacheService).cacheUser(fresh);
+        verify(userCacheStore, never()).save(any());
+        verify(userCacheMetrics).recordRefreshAhead("refreshed");
+    }
+
+    @Test
+    void onRead_HotEntryDeletedFromDb_EvictsThroughCacheService() {
+        UserCacheEntity cached = UserCacheEntity.builder().id(userId).build();
+
+        runDueRefresh();
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            refreshAhead.onRead(cached);
+        }
+
+        verify(userCacheService).removeUserFromCache(userId);
+        verify(userCacheStore, never()).deleteById(any());
+        verify(userCacheMetrics).recordRefreshAhead("evicted");
+    }
+
+    @Test
+    void isDue_ShouldFavourEntriesCloseToExpiry() {
+        assertTrue(refreshAhead.isDue(Duration.ofMinutes(1), 0.5));
+        assertFalse(refreshAhead.isDue(Duration.ofHours(20), 0.5));
+    }
+
+    private void runDueRefresh() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(taskExecutor).execute(any());
+        when(userCacheStore.remainingTtl(userId)).thenReturn(Optional.of(Duration.ZERO));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), eq("1"), any(Duration.class))).thenReturn(true);
+        when(userCacheServiceProvider.getObject()).thenReturn(userCacheService);
+    }
+}
@@ -6,9 +6,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
-import uz.consortgroup.userservice.repository.UserRedisRepository;
+import uz.consortgroup.userservice.service.cache.store.UserCacheStore;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,7 +17,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -25,7 +28,22 @@ import static org.mockito.Mockito.when;
 class UserCacheServiceImplTest {
 
     @Mock
-    private UserRedisRepository userRedisRepository;
+    private UserCacheStore userCacheStore;
+
+    @Mock
+    private UserNearCache userNearCache;
+
+    @Mock
+    private UserCacheMetrics userCacheMetrics;
+
+    @Mock
+    private UserNegativeCache userNegativeCache;
+
+    @Mock
+    private UserCacheRefreshAhead userCacheRefreshAhead;
+
+    @Mock
+    private CacheHotKeyTracker cacheHotKeyTracker;
 
     @InjectMocks
     private UserCacheServiceImpl userCacheServiceImpl;
@@ -45,52 +63,91 @@ class UserCacheServiceImplTest {
     void findUserById_Success() {
         UserCacheEntity user = buildUserCacheEntity(testUserId);
 
-        when(userRedisRepository.findById(testUserId)).thenReturn(Optional.of(user));
+        when(userCacheStore.findById(testUserId)).thenReturn(Optional.of(user));
 
         Optional<UserCacheEntity> result = userCacheServiceImpl.findUserById(testUserId);
 
         assertTrue(result.isPresent());
         assertEquals(testUserId, result.get().getId());
-        verify(userRedisRepository).findById(testUserId);
+        verify(userCacheStore).findById(testUserId);
+        verify(userCacheRefreshAhead).onRead(user);
+    }
+
+    @Test
+    void findUserById_NearCacheHit_SkipsRedis() {
+        UserCacheEntity user = buildUserCacheEntity(testUserId);
+
+        when(userNearCache.getById(testUserId)).thenReturn(Optional.of(user));
+
+        Optional<UserCacheEntity> result = userCacheServiceImpl.findUserById(testUserId);
+
+        assertTrue(result.isPresent());
+        verify(userCacheStore, never()).findById(any());
+    }
+
+    @Test
+    void findUserById_RecordsRedisLatencyLookupAndHotKey() {
+        when(userCacheStore.findById(testUserId)).thenReturn(Optional.empty());
+
+        userCacheServiceImpl.findUserById(testUserId);
+
+        verify(cacheHotKeyTracker).record(UserCacheMetrics.CACHE_USER, UserCacheMetrics.KEY_ID, testUserId);
+        verify(userCacheMetrics).recordRedisCommand(eq(UserCacheMetrics.CACHE_USER), eq("find_by_id"), anyLong());
+        verify(userCacheMetrics).recordLookup(UserCacheMetrics.TIER_REDIS, UserCacheMetrics.KEY_ID, false);
     }
 
     @Test
     void findUserById_NotFound() {
-        when(userRedisRepository.findById(testUserId)).thenReturn(Optional.empty());
+        when(userCacheStore.findById(testUserId)).thenReturn(Optional.empty());
 
         Optional<UserCacheEntity> result = userCacheServiceImpl.findUserById(testUserId);
 
         assertTrue(result.isEmpty());
-        verify(userRedisRepository).findById(testUserId);
+        verify(userCacheStore).findById(testUserId);
     }
 
     @Test
     void cacheUser_Success() {
         UserCacheEntity user = buildUserCacheEntity(testUserId);
+        when(userCacheStore.save(user)).thenReturn(true);
 
         userCacheServiceImpl.cacheUser(user);
 
-        verify(userRedisRepository).save(user);
+        verify(userCacheStore).save(user);
+        verify(userNearCache).invalidate(List.of(testUserId));
+        verify(userNegativeCache).evict(testUserId, user.getEmail(), user.getPinfl());
+    }
+
+    @Test
+    void cacheUser_CachedCopyIsNewer_KeepsCachedCopy() {
+        UserCacheEntity stale = buildUserCacheEntity(testUserId);
+        when(userCacheStore.save(stale)).thenReturn(false);
+
+        userCacheServiceImpl.cacheUser(stale);
+
+        verify(userCacheStore, never()).findById(any());
+        verify(userNearCache, never()).put(any());
+        verify(userNegativeCache, never()).evict(any(), any(), any());
     }
 
     @Test
     void cacheUser_Failure() {
         UserCacheEntity user = buildUserCacheEntity(testUserId);
 
-        doThrow(new RuntimeException("Redis error")).when(userRedisRepository).save(user);
+        doThrow(new RuntimeException("Redis error")).when(userCacheStore).save(user);
 
         Exception exception = assertThrows(RuntimeException.class,
                 () -> userCacheServiceImpl.cacheUser(user));
 
         assertEquals("Failed to cache user: " + testUserId, exception.getMessage());
-        verify(userRedisRepository).save(user);
+        verify(userCacheStore).save(user);
     }
 
     @Test
     void cacheUser_NullUser() {
         userCacheServiceImpl.cacheUser(null);
 
-        verify(userRedisRepository, never()).save(any());
+        verify(userCacheStore, never()).save(any());
     }
 
     @Test
@@ -99,7 +156,7 @@ class UserCacheServiceImplTest {
 
         userCacheServiceImpl.cacheUser(user);
 
-        verify(userRedisRepository, never()).save(any());
+        verify(userCacheStore, never()).save(any());
     }
 
     @Test
@@ -110,42 +167,99 @@ class UserCacheServiceImplTest {
 
         userCacheServiceImpl.cacheUsers(users);
 
-        verify(userRedisRepository).save(user1);
-        verify(userRedisRepository).save(user2);
+        verify(userCacheStore).saveAll(users);
+        verify(userCacheStore, never()).save(any());
+        verify(userNegativeCache).evictAll(users);
     }
 
     @Test
-    void cacheUsers_PartialFailure() {
+    void cacheUsers_Failure() {
         UserCacheEntity user1 = buildUserCacheEntity(testUserId);
         UserCacheEntity user2 = buildUserCacheEntity(UUID.randomUUID());
         List<UserCacheEntity> users = List.of(user1, user2);
 
-        doThrow(new RuntimeException("Redis error")).when(userRedisRepository).save(user1);
+        doThrow(new RuntimeException("Redis error")).when(userCacheStore).saveAll(users);
 
         Exception exception = assertThrows(RuntimeException.class,
                 () -> userCacheServiceImpl.cacheUsers(users));
 
-        assertEquals("Failed to cache users: " + testUserId, exception.getMessage());
-        verify(userRedisRepository).save(user1);
-        verify(userRedisRepository, never()).save(user2);
+        assertEquals("Failed to cache users: 2", exception.getMessage());
+        verify(userCacheStore).saveAll(users);
+    }
+
+    @Test
+    void cacheUsers_PartialFailure_ReportsFailedIdsWithoutAborting() {
+        UUID failedId = UUID.randomUUID();
+        UserCacheEntity user1 = buildUserCacheEntity(testUserId);
+        UserCacheEntity user2 = buildUserCacheEntity(failedId);
+        List<UserCacheEntity> users = List.of(user1, user2);
+
+        when(userCacheStore.saveAll(users)).thenReturn(List.of(failedId));
+
+        CacheWriteReport report = userCacheServiceImpl.cacheUsers(users);
+
+        assertEquals(2, report.requested());
+        assertEquals(1, report.written());
+        assertEquals(List.of(failedId), report.failedIds());
+        verify(userCacheMetrics).recordBulkWrite(report);
+    }
+
+    @Test
+    void findUsersByIds_UsesBulkLookup() {
+        UserCacheEntity user = buildUserCacheEntity(testUserId);
+        List<UUID> ids = List.of(testUserId, UUID.randomUUID());
+
+        when(userCacheStore.findAllByIds(ids)).thenReturn(Map.of(testUserId, user));
+
+        Map<UUID, UserCacheEntity> result = userCacheServiceImpl.findUsersByIds(ids);
+
+        assertEquals(1, result.size());
+        assertEquals(user, result.get(testUserId));
+        verify(userCacheStore, never()).findById(any());
     }
 
     @Test
     void removeUserFromCache_Success() {
         userCacheServiceImpl.removeUserFromCache(testUserId);
 
-        verify(userRedisRepository).deleteById(testUserId);
+        verify(userCacheStore).deleteById(testUserId);
+        verify(userNearCache).invalidate(List.of(testUserId));
     }
 
     @Test
     void removeUserFromCache_Failure() {
         doThrow(new RuntimeException("Redis error"))
-                .when(userRedisRepository).deleteById(testUserId);
+                .when(userCacheStore).deleteById(testUserId);
 
         Exception exception = assertThrows(RuntimeException.class,
                 () -> userCacheServiceImpl.removeUserFromCache(testUserId));
 
         assertEquals("Failed to remove user from cache: " + testUserId, exception.getMessage());
-        verify(userRedisRepository).deleteById(testUserId);
+        verify(userCacheStore).deleteById(testUserId);
+    }
+
+    @Test
+    void findUsersByEmails_UsesBulkLookup() {
+        UserCacheEntity user = buildUserCacheEntity(testUserId);
+        List<String> emails = List.of("test@example.com", "missing@example.com");
+
+        when(userCacheStore.findAllByEmails(emails)).thenReturn(List.of(user));
+
+        List<UserCacheEntity> result = userCacheServiceImpl.findUsersByEmails(emails);
+
+        assertEquals(List.of(user), result);
+        verify(userCacheStore).findAllByEmails(emails);
+        verify(userCacheStore, never()).findByEmail(any());
+    }
+
+    @Test
+    void findUsersByPinfls_RedisFailure_ReturnsEmpty() {
+        List<String> pinfls = List.of("12345678901234");
+
+        when(userCacheStore.findAllByPinfls(pinfls)).thenThrow(new RuntimeException("Redis error"));
+
+        List<UserCacheEntity> result = userCacheServiceImpl.findUsersByPinfls(pinfls);
+
+        assertTrue(result.isEmpty());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package uz.consortgroup.userservice.service.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uz.consortgroup.userservice.cache.UserDirectorySnapshot;
+import uz.consortgroup.userservice.entity.User;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+import uz.consortgroup.userservice.mapper.UserCacheMapper;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheSynchronizerTest {
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private UserCacheMapper userCacheMapper;
+
+    @Mock
+    private UserDirectorySnapshot userDirectorySnapshot;
+
+    @InjectMocks
+    private UserCacheSynchronizer userCacheSynchronizer;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void refresh_WithoutTransaction_AppliesImmediately() {
+        User user = User.builder().id(UUID.randomUUID()).build();
+        UserCacheEntity cacheEntity = UserCacheEntity.builder().id(user.getId()).build();
+        when(userCacheMapper.toUserCache(user)).thenReturn(cacheEntity);
+        when(userCacheService.cacheUsers(List.of(cacheEntity)))
+                .thenReturn(new CacheWriteReport(1, List.of(), 1));
+
+        userCacheSynchronizer.refresh(user);
+
+        verify(userCacheService).cacheUsers(List.of(cacheEntity));
+        verify(userCacheService, never()).removeUsersFromCache(anyCollection());
+    }
+
+    @Test
+    void changesInTransaction_AreBatchedAndAppliedAfterCommit() {
+        User first = User.builder().id(UUID.randomUUID()).build();
+        User second = User.builder().id(UUID.randomUUID()).build();
+        UUID deletedId = UUID.randomUUID();
+        UserCacheEntity firstEntity = UserCacheEntity.builder().id(first.getId()).build();
+        UserCacheEntity secondEntity = UserCacheEntity.builder().id(second.getId()).build();
+        when(userCacheMapper.toUserCache(first)).thenReturn(firstEntity);
+        when(userCacheMapper.toUserCache(second)).thenReturn(secondEntity);
+        when(userCacheService.cacheUsers(List.of(firstEntity, secondEntity)))
+                .thenReturn(new CacheWriteReport(2, List.of(second.getId()), 1));
+
+        TransactionSynchronizationManager.initSynchronization();
+        userCacheSynchronizer.refresh(first);
+        userCacheSynchronizer.refresh(second);
+        userCacheSynchronizer.evict(deletedId);
+
+        verifyNoInteractions(userCacheService);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(userCacheService).cacheUsers(List.of(firstEntity, secondEntity));
+        verify(userCacheService).removeUsersFromCache(List.of(deletedId, second.getId()));
+        verify(userDirectorySnapshot).refresh(first);
+        verify(userDirectorySnapshot).refresh(second);
+        verify(userDirectorySnapshot).invalidate(deletedId);
+    }
+
+    @Test
+    void changesInTransaction_AreDiscardedOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        userCacheSynchronizer.evict(UUID.randomUUID());
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verifyNoInteractions(userCacheService, userDirectorySnapshot);
+        verify(userCacheMapper, never()).toUserCache(any());
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,111 @@
+package uz.consortgroup.userservice.service.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import uz.consortgroup.userservice.entity.User;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+import uz.consortgroup.userservice.exception.UserNotFoundException;
+import uz.consortgroup.userservice.mapper.UserCacheMapper;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserLoadCoalescerTest {
+
+    @Mock
+    private UserCacheMapper userCacheMapper;
+
+    @Mock
+    private UserCacheMetrics userCacheMetrics;
+
+    @InjectMocks
+    private UserLoadCoalescer userLoadCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userLoadCoalescer, "waitTimeout", Duration.ofSeconds(5));
+    }
+
+    @Test
+    void load_ShouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        User user = User.builder().id(UUID.randomUUID()).build();
+        UserCacheEntity cacheEntity = new UserCacheEntity();
+        User copy = User.builder().id(user.getId()).build();
+        when(userCacheMapper.toUserCache(user)).thenReturn(cacheEntity);
+        when(userCacheMapper.toUserEntity(cacheEntity)).thenReturn(copy);
+
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<User> leader = CompletableFuture.supplyAsync(() -> userLoadCoalescer.load("id", "key", () -> {
+            loads.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return user;
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<User> follower = CompletableFuture.supplyAsync(() -> userLoadCoalescer.load("id", "key", () -> {
+            loads.incrementAndGet();
+            return user;
+        }));
+        verify(userCacheMetrics, timeout(5000)).recordCoalescedLoad("id");
+        release.countDown();
+
+        assertSame(user, leader.get(5, TimeUnit.SECONDS));
+        assertSame(copy, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void load_ShouldRunSequentialCallsIndependently() {
+        AtomicInteger loads = new AtomicInteger();
+
+        userLoadCoalescer.load("email", "a@example.com", () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        userLoadCoalescer.load("email", "a@example.com", () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        assertEquals(2, loads.get());
+        verify(userCacheMetrics, never()).recordCoalescedLoad("email");
+    }
+
+    @Test
+    void load_ShouldPropagateLeaderFailure() {
+        assertThrows(UserNotFoundException.class, () -> userLoadCoalescer.load("pinfl", "123", () -> {
+            throw new UserNotFoundException("User with pinfl 123 not found");
+        }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -7,7 +7,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.VerificationCodeStatus;
 import uz.consortgroup.userservice.entity.cacheEntity.VerificationCodeCacheEntity;
-import uz.consortgroup.userservice.repository.VerificationCodeRedisRepository;
+import uz.consortgroup.userservice.service.cache.store.VerificationCodeCacheStore;
+import uz.consortgroup.userservice.service.cache.store.VerificationCodeCacheStore.VerificationOutcome;
+import uz.consortgroup.userservice.service.cache.store.VerificationCodeCacheStore.VerificationResult;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,13 +18,23 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class VerificationCodeCacheServiceImplTest {
     @Mock
-    private VerificationCodeRedisRepository verificationCodeRedisRepository;
+    private VerificationCodeCacheStore verificationCodeCacheStore;
+
+    @Mock
+    private UserCacheMetrics userCacheMetrics;
+
+    @Mock
+    private CacheHotKeyTracker cacheHotKeyTracker;
 
     @InjectMocks
     private VerificationCodeCacheServiceImpl verificationCodeCacheService;
@@ -41,30 +53,53 @@ class VerificationCodeCacheServiceImplTest {
     }
 
     @Test
-    void findCodeById_ExistingCode_ShouldReturnCode() {
+    void findCodeByUserId_ExistingCode_ShouldReturnCode() {
         UUID codeId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
         VerificationCodeCacheEntity code = createTestCode(codeId, userId, "ABCD");
 
-        when(verificationCodeRedisRepository.findById(codeId)).thenReturn(Optional.of(code));
+        when(verificationCodeCacheStore.findByUserId(userId)).thenReturn(Optional.of(code));
 
-        Optional<VerificationCodeCacheEntity> result = verificationCodeCacheService.findCodeById(codeId);
+        Optional<VerificationCodeCacheEntity> result = verificationCodeCacheService.findCodeByUserId(userId);
 
         assertThat(result).isPresent();
         assertThat(result.get().getId()).isEqualTo(codeId);
         assertThat(result.get().getUserId()).isEqualTo(userId);
-        verify(verificationCodeRedisRepository).findById(codeId);
+        verify(verificationCodeCacheStore).findByUserId(userId);
     }
 
     @Test
-    void findCodeById_NonExistingCode_ShouldReturnEmpty() {
-        UUID codeId = UUID.randomUUID();
-        when(verificationCodeRedisRepository.findById(codeId)).thenReturn(Optional.empty());
+    void findCodeByUserId_NonExistingCode_ShouldReturnEmpty() {
+        UUID userId = UUID.randomUUID();
+        when(verificationCodeCacheStore.findByUserId(userId)).thenReturn(Optional.empty());
 
-        Optional<VerificationCodeCacheEntity> result = verificationCodeCacheService.findCodeById(codeId);
+        Optional<VerificationCodeCacheEntity> result = verificationCodeCacheService.findCodeByUserId(userId);
 
         assertThat(result).isEmpty();
-        verify(verificationCodeRedisRepository).findById(codeId);
+        verify(verificationCodeCacheStore).findByUserId(userId);
+        verify(userCacheMetrics).recordVerificationCodeLookup(false);
+        verify(userCacheMetrics).recordRedisCommand(eq(UserCacheMetrics.CACHE_VERIFICATION_CODE), eq("find_by_user_id"), anyLong());
+    }
+
+    @Test
+    void verifyCode_CachedCode_ShouldReturnOutcomeAndRecordHit() {
+        UUID userId = UUID.randomUUID();
+        VerificationResult verified = new VerificationResult(VerificationOutcome.VERIFIED, UUID.randomUUID(), 1);
+        when(verificationCodeCacheStore.verify(eq(userId), eq("1234"), any(LocalDateTime.class))).thenReturn(verified);
+
+        Optional<VerificationResult> result = verificationCodeCacheService.verifyCode(userId, "1234");
+
+        assertThat(result).contains(verified);
+        verify(userCacheMetrics).recordVerificationCodeLookup(true);
+    }
+
+    @Test
+    void verifyCode_StoreFails_ShouldReturnEmpty() {
+        UUID userId = UUID.randomUUID();
+        when(verificationCodeCacheStore.verify(eq(userId), eq("1234"), any(LocalDateTime.class)))
+                .thenThrow(new RuntimeException("Redis error"));
+
+        assertThat(verificationCodeCacheService.verifyCode(userId, "1234")).isEmpty();
     }
 
     @Test
@@ -75,7 +110,7 @@ class VerificationCodeCacheServiceImplTest {
 
         verificationCodeCacheService.saveVerificationCode(code);
 
-        verify(verificationCodeRedisRepository).save(code);
+        verify(verificationCodeCacheStore).save(code);
     }
 
     @Test
@@ -89,7 +124,7 @@ class VerificationCodeCacheServiceImplTest {
 
         verificationCodeCacheService.saveVerificationCodes(codes);
 
-        verify(verificationCodeRedisRepository).saveAll(codes);
+        verify(verificationCodeCacheStore).saveAll(codes);
     }
 
     @Test
@@ -97,12 +132,12 @@ class VerificationCodeCacheServiceImplTest {
         UUID userId = UUID.randomUUID();
         VerificationCodeCacheEntity code = createTestCode(UUID.randomUUID(), userId, "ABCD");
 
-        when(verificationCodeRedisRepository.save(code)).thenThrow(new RuntimeException("DB error"));
+        doThrow(new RuntimeException("DB error")).when(verificationCodeCacheStore).save(code);
 
         assertThatThrownBy(() -> verificationCodeCacheService.saveVerificationCode(code))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Failed to cache verification code");
 
-        verify(verificationCodeRedisRepository).save(code);
+        verify(verificationCodeCacheStore).save(code);
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package uz.consortgroup.userservice.service.cache.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryUserCacheStoreTest {
+    private static final Duration TTL = Duration.ofDays(1);
+
+    private final AtomicLong now = new AtomicLong();
+    private InMemoryUserCacheStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryUserCacheStore(256, now::get);
+    }
+
+    @Test
+    void save_ReadsBackCopiesByIdEmailAndPinfl() {
+        UserCacheEntity user = user(UUID.randomUUID(), "ali@example.com", "12345678901234");
+
+        store.save(user);
+        user.setFirstName("Changed");
+
+        assertThat(store.findById(user.getId())).get()
+                .extracting(UserCacheEntity::getFirstName).isEqualTo("Ali");
+        assertThat(store.findByEmail("ali@example.com")).get()
+                .extracting(UserCacheEntity::getId).isEqualTo(user.getId());
+        assertThat(store.findAllByPinfls(List.of("12345678901234", "missing")))
+                .extracting(UserCacheEntity::getId).containsExactly(user.getId());
+    }
+
+    @Test
+    void save_ChangedEmail_DropsOldLookup() {
+        UUID id = UUID.randomUUID();
+        store.save(user(id, "old@example.com", null));
+
+        store.save(user(id, "new@example.com", null));
+
+        assertThat(store.findByEmail("old@example.com")).isEmpty();
+        assertThat(store.findByEmail("new@example.com")).isPresent();
+    }
+
+    @Test
+    void save_OlderThanCachedCopy_KeepsCachedCopy() {
+        LocalDateTime committedAt = LocalDateTime.of(2025, 5, 1, 12, 30);
+        UserCacheEntity cached = user(UUID.randomUUID(), "new@example.com", null);
+        cached.setUpdatedAt(committedAt);
+        UserCacheEntity stale = user(cached.getId(), "old@example.com", null);
+        stale.setUpdatedAt(committedAt.minusSeconds(5));
+
+        assertThat(store.save(cached)).isTrue();
+        assertThat(store.save(stale)).isFalse();
+
+        assertThat(store.findByEmail("new@example.com")).isPresent();
+        assertThat(store.findByEmail("old@example.com")).isEmpty();
+    }
+
+    @Test
+    void findById_AfterTtl_ReadsAsMissAndClearsLookups() {
+        UserCacheEntity user = user(UUID.randomUUID(), "ali@example.com", null);
+        store.save(user);
+
+        now.addAndGet(TTL.minusSeconds(1).toNanos());
+        assertThat(store.remainingTtl(user.getId())).contains(Duration.ofSeconds(1));
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(store.findById(user.getId())).isEmpty();
+        assertThat(store.findByEmail("ali@example.com")).isEmpty();
+        assertThat(store.sampleIds(10)).isEmpty();
+    }
+
+    @Test
+    void deleteAll_RemovesEntriesAndLookups() {
+        UserCacheEntity first = user(UUID.randomUUID(), "first@example.com", null);
+        UserCacheEntity second = user(UUID.randomUUID(), "second@example.com", null);
+        store.saveAll(List.of(first, second));
+
+        store.deleteAll(List.of(first.getId()));
+
+        assertThat(store.findAllByIds(List.of(first.getId(), second.getId()))).containsOnlyKeys(second.getId());
+        assertThat(store.findByEmail("first@example.com")).isEmpty();
+        assertThat(store.sampleIds(10)).containsExactly(second.getId());
+    }
+
+    private static UserCacheEntity user(UUID id, String email, String pinfl) {
+        return UserCacheEntity.builder()
+                .id(id)
+                .firstName("Ali")
+                .email(email)
+                .pinfl(pinfl)
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package uz.consortgroup.userservice.service.cache.store;
+
+import org.junit.jupiter.api.Test;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.VerificationCodeStatus;
+import uz.consortgroup.userservice.entity.cacheEntity.VerificationCodeCacheEntity;
+import uz.consortgroup.userservice.service.cache.store.VerificationCodeCacheStore.VerificationOutcome;
+import uz.consortgroup.userservice.service.cache.store.VerificationCodeCacheStore.VerificationResult;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryVerificationCodeCacheStoreTest {
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    private final InMemoryVerificationCodeCacheStore store = new InMemoryVerificationCodeCacheStore(clock);
+    private final LocalDateTime now = LocalDateTime.now(clock);
+
+    @Test
+    void verify_WrongThenRightCode_CountsAttemptAndMarksUsedOnce() {
+        UUID userId = UUID.randomUUID();
+        VerificationCodeCacheEntity code = code(userId, "1234", now.minusMinutes(1));
+        store.save(code);
+
+        assertThat(store.verify(userId, "0000", now))
+                .isEqualTo(new VerificationResult(VerificationOutcome.INVALID, code.getId(), 1));
+        assertThat(store.verify(userId, "1234", now))
+                .isEqualTo(new VerificationResult(VerificationOutcome.VERIFIED, code.getId(), 1));
+        assertThat(store.verify(userId, "1234", now).outcome()).isEqualTo(VerificationOutcome.USED);
+        assertThat(store.findByUserId(userId)).get()
+                .extracting(VerificationCodeCacheEntity::getStatus).isEqualTo(VerificationCodeStatus.USED);
+    }
+
+    @Test
+    void save_OlderCodeOrSameCodeAgain_KeepsStoredState() {
+        UUID userId = UUID.randomUUID();
+        VerificationCodeCacheEntity older = code(userId, "1111", now.minusMinutes(2));
+        VerificationCodeCacheEntity newer = code(userId, "2222", now.minusMinutes(1));
+        store.save(newer);
+        store.verify(userId, "0000", now);
+
+        store.save(older);
+        store.save(newer);
+
+        assertThat(store.findByUserId(userId)).get()
+                .satisfies(stored -> {
+                    assertThat(stored.getId()).isEqualTo(newer.getId());
+                    assertThat(stored.getAttempts()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    void verify_AfterExpiry_ReadsAsMissing() {
+        UUID userId = UUID.randomUUID();
+        store.save(code(userId, "1234", now.minusMinutes(1)));
+
+        assertThat(store.verify(userId, "1234", now.plusMinutes(5)).outcome()).isEqualTo(VerificationOutcome.EXPIRED);
+        assertThat(store.verify(UUID.randomUUID(), "1234", now)).isEqualTo(VerificationResult.missing());
+    }
+
+    @Test
+    void save_ExpiredCode_IsSkipped() {
+        UUID userId = UUID.randomUUID();
+        VerificationCodeCacheEntity expired = code(userId, "1234", now.minusMinutes(10));
+
+        store.save(expired);
+
+        assertThat(store.findByUserId(userId)).isEmpty();
+    }
+
+    private static VerificationCodeCacheEntity code(UUID userId, String value, LocalDateTime createdAt) {
+        return VerificationCodeCacheEntity.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .verificationCode(value)
+                .status(VerificationCodeStatus.ACTIVE)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .expiresAt(createdAt.plusMinutes(5))
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package uz.consortgroup.userservice.service.cache.store;
+
+import org.junit.jupiter.api.Test;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserStatus;
+import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserCacheEntityCodecTest {
+
+    private UserCacheEntity buildFullUser() {
+        return UserCacheEntity.builder()
+                .id(UUID.randomUUID())
+                .language("UZBEK")
+                .firstName("Алишер")
+                .middleName("Навоий")
+                .lastName("Doe")
+                .bornDate(LocalDate.of(1990, 5, 17))
+                .phoneNumber("+998901234567")
+                .workPlace("Consort Group")
+                .email("john.doe@example.com")
+                .position("Engineer")
+                .pinfl("12345678901234")
+                .isVerified(true)
+                .role(UserRole.STUDENT)
+                .status(UserStatus.ACTIVE)
+                .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 600_000_000))
+                .updatedAt(LocalDateTime.of(2024, 2, 3, 4, 5, 6))
+                .build();
+    }
+
+    @Test
+    void roundTrip_PreservesAllFields() {
+        UserCacheEntity user = buildFullUser();
+        UserCacheEntityCodec codec = new UserCacheEntityCodec(0);
+
+        UserCacheEntity decoded = codec.decode(codec.encode(user));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(user);
+    }
+
+    @Test
+    void roundTrip_WithCompression_PreservesAllFields() {
+        UserCacheEntity user = buildFullUser();
+        user.setWorkPlace("Consort Group ".repeat(40));
+        UserCacheEntityCodec codec = new UserCacheEntityCodec(64);
+
+        byte[] encoded = codec.encode(user);
+        UserCacheEntity decoded = codec.decode(encoded);
+
+        assertThat(encoded[1] & 1).isEqualTo(1);
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(user);
+    }
+
+    @Test
+    void roundTrip_OnlyId_KeepsOtherFieldsNull() {
+        UserCacheEntity user = UserCacheEntity.builder().id(UUID.randomUUID()).build();
+        UserCacheEntityCodec codec = new UserCacheEntityCodec(0);
+
+        byte[] encoded = codec.encode(user);
+
+        assertThat(encoded).hasSize(2 + Integer.BYTES + 2 * Long.BYTES);
+        assertThat(codec.decode(encoded)).usingRecursiveComparison().isEqualTo(user);
+    }
+
+    @Test
+    void decode_UnknownVersion_Throws() {
+        byte[] encoded = new UserCacheEntityCodec(0).encode(buildFullUser());
+        encoded[0] = 99;
+
+        assertThatThrownBy(() -> new UserCacheEntityCodec(0).decode(encoded))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
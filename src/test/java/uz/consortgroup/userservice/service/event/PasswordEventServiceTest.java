@@ -8,21 +8,29 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.Language;
 import uz.consortgroup.userservice.event.user.PasswordResetRequestedEvent;
-import uz.consortgroup.userservice.kafka.PasswordResetProducer;
 import uz.consortgroup.userservice.service.event.user.PasswordEventService;
+import uz.consortgroup.userservice.service.outbox.OutboxEventWriter;
+import uz.consortgroup.userservice.topic.KafkaTopic;
 
 import java.util.UUID;
 
-import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class PasswordEventServiceTest {
 
+    private static final String PASSWORD_RESET_TOPIC = "password-reset-request-topic";
+
+    @Mock
+    private OutboxEventWriter outboxEventWriter;
+
     @Mock
-    private PasswordResetProducer passwordResetProducer;
+    private KafkaTopic kafkaTopic;
 
     @InjectMocks
     private PasswordEventService passwordEventService;
@@ -35,12 +43,12 @@ class PasswordEventServiceTest {
         String expectedLink = "http://localhost?token=test-token";
 
         ReflectionTestUtils.setField(passwordEventService, "link", "http://localhost");
+        when(kafkaTopic.getPasswordResetRequestTopic()).thenReturn(PASSWORD_RESET_TOPIC);
 
         passwordEventService.sendPasswordEvent(email, userId, token, Language.ENGLISH);
 
-        verify(passwordResetProducer).sendPasswordRequestEvents(argThat(events -> {
-            if (events.size() != 1) return false;
-            PasswordResetRequestedEvent event = (PasswordResetRequestedEvent) events.get(0);
+        verify(outboxEventWriter).enqueue(eq(PASSWORD_RESET_TOPIC), argThat(message -> {
+            if (!(message instanceof PasswordResetRequestedEvent event)) return false;
             return event.getEmail().equals(email)
                     && event.getToken().equals(token)
                     && event.getResetLink().equals(expectedLink)
@@ -50,10 +58,11 @@ class PasswordEventServiceTest {
 
     @Test
     void sendPasswordEvent_ShouldGenerateUniqueMessageIds() {
+        when(kafkaTopic.getPasswordResetRequestTopic()).thenReturn(PASSWORD_RESET_TOPIC);
 
         passwordEventService.sendPasswordEvent("email1@test.com", UUID.randomUUID(),"token1", Language.ENGLISH);
         passwordEventService.sendPasswordEvent("email2@test.com", UUID.randomUUID(), "token2", Language.ENGLISH);
 
-        verify(passwordResetProducer, times(2)).sendPasswordRequestEvents(anyList());
+        verify(outboxEventWriter, times(2)).enqueue(eq(PASSWORD_RESET_TOPIC), any());
     }
 }
\ No newline at end of file
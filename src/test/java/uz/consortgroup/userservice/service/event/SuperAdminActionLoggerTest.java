@@ -10,12 +10,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import uz.consortgroup.userservice.entity.User;
 import uz.consortgroup.userservice.event.admin.SuperAdminActionType;
 import uz.consortgroup.userservice.event.admin.SuperAdminActionEvent;
-import uz.consortgroup.userservice.kafka.SuperAdminActionLogProducer;
 import uz.consortgroup.userservice.service.event.admin.SuperAdminActionLogger;
+import uz.consortgroup.userservice.service.outbox.OutboxEventWriter;
+import uz.consortgroup.userservice.topic.KafkaTopic;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,8 +23,13 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class SuperAdminActionLoggerTest {
 
+    private static final String SUPER_ADMIN_ACTION_TOPIC = "super-admin-action-topic";
+
+    @Mock
+    private OutboxEventWriter outboxEventWriter;
+
     @Mock
-    private SuperAdminActionLogProducer superAdminActionLogProducer;
+    private KafkaTopic kafkaTopic;
 
     @InjectMocks
     private SuperAdminActionLogger superAdminActionLogger;
@@ -40,16 +44,14 @@ class SuperAdminActionLoggerTest {
         UUID adminId = UUID.randomUUID();
         SuperAdminActionType superAdminActionType = SuperAdminActionType.USER_CREATED;
 
-        superAdminActionLogger.userRoleChangedEvent(user, adminId, superAdminActionType);
+        when(kafkaTopic.getSuperAdminActionTopic()).thenReturn(SUPER_ADMIN_ACTION_TOPIC);
 
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<List<SuperAdminActionEvent>> captor = ArgumentCaptor.forClass(List.class);
-        verify(superAdminActionLogProducer).sendSuperAdminActionEvents(Collections.singletonList(captor.capture()));
+        superAdminActionLogger.userRoleChangedEvent(user, adminId, superAdminActionType);
 
-        List<SuperAdminActionEvent> events = captor.getValue();
-        assertEquals(1, events.size());
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(outboxEventWriter).enqueue(eq(SUPER_ADMIN_ACTION_TOPIC), captor.capture());
 
-        SuperAdminActionEvent event = events.get(0);
+        SuperAdminActionEvent event = (SuperAdminActionEvent) captor.getValue();
         assertEquals(userId, event.getUserId());
         assertEquals(adminId, event.getAdminId());
         assertEquals("newuser@example.com", event.getEmail());
@@ -61,20 +63,21 @@ class SuperAdminActionLoggerTest {
     }
 
     @Test
-    void logSuperAdmin_Actions_WhenProducerThrows_ShouldPropagateException() {
+    void logSuperAdmin_Actions_WhenOutboxWriteFails_ShouldPropagateException() {
         User user = new User();
         user.setId(UUID.randomUUID());
         user.setEmail("erroruser@example.com");
         UUID adminId = UUID.randomUUID();
         SuperAdminActionType superAdminActionType = SuperAdminActionType.USER_CREATED;
 
-        doThrow(new RuntimeException("Kafka error"))
-                .when(superAdminActionLogProducer).sendSuperAdminActionEvents(anyList());
+        when(kafkaTopic.getSuperAdminActionTopic()).thenReturn(SUPER_ADMIN_ACTION_TOPIC);
+        doThrow(new RuntimeException("Outbox error"))
+                .when(outboxEventWriter).enqueue(anyString(), any());
 
         RuntimeException ex = assertThrows(RuntimeException.class, () ->
                 superAdminActionLogger.userRoleChangedEvent(user, adminId, superAdminActionType)
         );
-        assertEquals("Kafka error", ex.getMessage());
+        assertEquals("Outbox error", ex.getMessage());
     }
 
     @Test
@@ -86,6 +89,6 @@ class SuperAdminActionLoggerTest {
                 superAdminActionLogger.userRoleChangedEvent(null, adminId, superAdminActionType)
         );
 
-        verify(superAdminActionLogProducer, never()).sendSuperAdminActionEvents(anyList());
+        verify(outboxEventWriter, never()).enqueue(anyString(), any());
     }
 }
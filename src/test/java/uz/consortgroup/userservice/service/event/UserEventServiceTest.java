@@ -13,30 +13,32 @@ import uz.consortgroup.userservice.event.user.EventType;
 import uz.consortgroup.userservice.event.user.UserProfileUpdateEvent;
 import uz.consortgroup.userservice.event.user.UserRegisteredEvent;
 import uz.consortgroup.userservice.event.user.VerificationCodeResentEvent;
-import uz.consortgroup.userservice.kafka.UserRegisteredProducer;
-import uz.consortgroup.userservice.kafka.UserUpdateProfileProducer;
-import uz.consortgroup.userservice.kafka.VerificationCodeResendProducer;
 import uz.consortgroup.userservice.service.event.user.UserEventService;
+import uz.consortgroup.userservice.service.outbox.OutboxEventWriter;
+import uz.consortgroup.userservice.topic.KafkaTopic;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class UserEventServiceTest {
 
-    @Mock
-    private UserUpdateProfileProducer userUpdateProfileProducer;
+    private static final String USER_REGISTRATION_TOPIC = "user-registered-topic";
+    private static final String USER_UPDATE_PROFILE_TOPIC = "user-update-profile-topic";
+    private static final String VERIFICATION_CODE_RESENT_TOPIC = "verification-code-resent-topic";
 
     @Mock
-    private VerificationCodeResendProducer verificationCodeResendProducer;
+    private OutboxEventWriter outboxEventWriter;
 
     @Mock
-    private UserRegisteredProducer userRegisteredProducer;
+    private KafkaTopic kafkaTopic;
 
     @InjectMocks
     private UserEventService userEventService;
@@ -49,16 +51,14 @@ class UserEventServiceTest {
         user.setEmail("test@example.com");
         String verificationCode = "123456";
 
-        userEventService.sendUserRegisteredEvent(user, verificationCode);
+        when(kafkaTopic.getUserRegistrationTopic()).thenReturn(USER_REGISTRATION_TOPIC);
 
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<List<Object>> captor = ArgumentCaptor.forClass(List.class);
-        verify(userRegisteredProducer).sendUserRegisteredEvents(captor.capture());
+        userEventService.sendUserRegisteredEvent(user, verificationCode);
 
-        List<Object> events = captor.getValue();
-        assertEquals(1, events.size());
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(outboxEventWriter).enqueue(eq(USER_REGISTRATION_TOPIC), captor.capture());
 
-        UserRegisteredEvent event = (UserRegisteredEvent) events.get(0);
+        UserRegisteredEvent event = (UserRegisteredEvent) captor.getValue();
         assertEquals(user.getId(), event.getUserId());
         assertEquals(user.getLanguage(), event.getLanguage());
         assertEquals(user.getEmail(), event.getEmail());
@@ -77,16 +77,14 @@ class UserEventServiceTest {
         userProfileRequestDto.setBornDate(LocalDate.of(1990, 1, 1));
         userProfileRequestDto.setPhoneNumber("+1234567890");
 
-        userEventService.sendUserUpdateProfileEvent(userId, userProfileRequestDto);
+        when(kafkaTopic.getUserUpdateProfileTopic()).thenReturn(USER_UPDATE_PROFILE_TOPIC);
 
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<List<Object>> captor = ArgumentCaptor.forClass(List.class);
-        verify(userUpdateProfileProducer).sendUserUpdateProfileEvents(captor.capture());
+        userEventService.sendUserUpdateProfileEvent(userId, userProfileRequestDto);
 
-        List<Object> events = captor.getValue();
-        assertEquals(1, events.size());
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(outboxEventWriter).enqueue(eq(USER_UPDATE_PROFILE_TOPIC), captor.capture());
 
-        UserProfileUpdateEvent event = (UserProfileUpdateEvent) events.get(0);
+        UserProfileUpdateEvent event = (UserProfileUpdateEvent) captor.getValue();
         assertEquals(userId, event.getUserId());
         assertEquals("Doe", event.getLastName());
         assertEquals("John", event.getFirstName());
@@ -105,16 +103,14 @@ class UserEventServiceTest {
         user.setEmail("test@example.com");
         String verificationCode = "654321";
 
-        userEventService.resendVerificationCodeEvent(user, verificationCode);
+        when(kafkaTopic.getVerificationCodeResentTopic()).thenReturn(VERIFICATION_CODE_RESENT_TOPIC);
 
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<List<Object>> captor = ArgumentCaptor.forClass(List.class);
-        verify(verificationCodeResendProducer).sendVerificationCodeResendEvents(captor.capture());
+        userEventService.resendVerificationCodeEvent(user, verificationCode);
 
-        List<Object> events = captor.getValue();
-        assertEquals(1, events.size());
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(outboxEventWriter).enqueue(eq(VERIFICATION_CODE_RESENT_TOPIC), captor.capture());
 
-        VerificationCodeResentEvent event = (VerificationCodeResentEvent) events.get(0);
+        VerificationCodeResentEvent event = (VerificationCodeResentEvent) captor.getValue();
         assertEquals(user.getId(), event.getUserId());
         assertEquals(user.getLanguage(), event.getLanguage());
         assertEquals(user.getEmail(), event.getEmail());
@@ -135,21 +131,22 @@ class UserEventServiceTest {
         user2.setLanguage(Language.ENGLISH);
         user2.setEmail("test2@example.com");
 
+        when(kafkaTopic.getUserRegistrationTopic()).thenReturn(USER_REGISTRATION_TOPIC);
+
         userEventService.sendUserRegisteredEvent(user1, "111111");
         userEventService.sendUserRegisteredEvent(user2, "222222");
 
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<List<Object>> captor = ArgumentCaptor.forClass(List.class);
-        verify(userRegisteredProducer, times(2)).sendUserRegisteredEvents(captor.capture());
-        List<List<Object>> allCalls = captor.getAllValues();
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(outboxEventWriter, times(2)).enqueue(eq(USER_REGISTRATION_TOPIC), captor.capture());
+        List<Object> allCalls = captor.getAllValues();
 
         assertEquals(2, allCalls.size());
 
-        UserRegisteredEvent event1 = (UserRegisteredEvent) allCalls.get(0).get(0);
+        UserRegisteredEvent event1 = (UserRegisteredEvent) allCalls.get(0);
         assertEquals(user1.getId(), event1.getUserId());
         assertEquals("111111", event1.getVerificationCode());
 
-        UserRegisteredEvent event2 = (UserRegisteredEvent) allCalls.get(1).get(0);
+        UserRegisteredEvent event2 = (UserRegisteredEvent) allCalls.get(1);
         assertEquals(user2.getId(), event2.getUserId());
         assertEquals("222222", event2.getVerificationCode());
     }
@@ -159,16 +156,14 @@ class UserEventServiceTest {
         UUID userId = UUID.randomUUID();
         UserProfileRequestDto userProfileRequestDto = new UserProfileRequestDto();
 
-        userEventService.sendUserUpdateProfileEvent(userId, userProfileRequestDto);
+        when(kafkaTopic.getUserUpdateProfileTopic()).thenReturn(USER_UPDATE_PROFILE_TOPIC);
 
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<List<Object>> captor = ArgumentCaptor.forClass(List.class);
-        verify(userUpdateProfileProducer).sendUserUpdateProfileEvents(captor.capture());
+        userEventService.sendUserUpdateProfileEvent(userId, userProfileRequestDto);
 
-        List<Object> events = captor.getValue();
-        assertEquals(1, events.size());
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(outboxEventWriter).enqueue(eq(USER_UPDATE_PROFILE_TOPIC), captor.capture());
 
-        UserProfileUpdateEvent event = (UserProfileUpdateEvent) events.get(0);
+        UserProfileUpdateEvent event = (UserProfileUpdateEvent) captor.getValue();
         assertEquals(userId, event.getUserId());
         assertNull(event.getFirstName());
         assertNull(event.getLastName());
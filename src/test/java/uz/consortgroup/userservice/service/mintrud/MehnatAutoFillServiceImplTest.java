@@ -9,6 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
 import uz.consortgroup.core.api.v1.dto.mintrud.JobPositionResult;
 import uz.consortgroup.userservice.entity.User;
 import uz.consortgroup.userservice.repository.UserRepository;
+import uz.consortgroup.userservice.service.cache.UserCacheSynchronizer;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -30,6 +31,9 @@ class MehnatAutoFillServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserCacheSynchronizer userCacheSynchronizer;
+
     @InjectMocks
     private MehnatAutoFillServiceImpl mehnatAutoFillService;
 
@@ -49,6 +53,7 @@ class MehnatAutoFillServiceImplTest {
         verify(mintrudIntegrationService).getJobInfo(user.getPinfl());
         verify(userEnrichmentService).enrichUserFromMehnat(user, result);
         verify(userRepository).save(user);
+        verify(userCacheSynchronizer).refresh(user);
         assertTrue(user.getMehnatDataFetched());
     }
 
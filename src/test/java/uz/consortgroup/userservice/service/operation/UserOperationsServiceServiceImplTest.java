@@ -1,5 +1,6 @@
 package uz.consortgroup.userservice.service.operation;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -10,11 +11,18 @@ import uz.consortgroup.userservice.entity.cacheEntity.UserCacheEntity;
 import uz.consortgroup.userservice.exception.UserNotFoundException;
 import uz.consortgroup.userservice.mapper.UserCacheMapper;
 import uz.consortgroup.userservice.repository.UserRepository;
+import uz.consortgroup.userservice.service.cache.UserCacheMetrics;
 import uz.consortgroup.userservice.service.cache.UserCacheServiceImpl;
+import uz.consortgroup.userservice.service.cache.UserCacheSynchronizer;
+import uz.consortgroup.userservice.service.cache.UserLoadCoalescer;
+import uz.consortgroup.userservice.service.cache.UserNegativeCache;
 import uz.consortgroup.userservice.service.operation.UserOperationsServiceServiceImpl;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,9 +39,24 @@ class UserOperationsServiceServiceImplTest {
     @Mock
     private UserCacheMapper userCacheMapper;
 
+    @Mock
+    private UserNegativeCache userNegativeCache;
+
+    @Mock
+    private UserLoadCoalescer userLoadCoalescer;
+
+    @Mock
+    private UserCacheSynchronizer userCacheSynchronizer;
+
     @InjectMocks
     private UserOperationsServiceServiceImpl userOperationsService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(userLoadCoalescer.load(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<User>>getArgument(2).get());
+    }
+
     @Test
     void findUserById_ShouldReturnUserFromCache() {
         UUID userId = UUID.randomUUID();
@@ -78,6 +101,41 @@ class UserOperationsServiceServiceImplTest {
 
         verify(userCacheService).findUserById(userId);
         verify(userRepository).findById(userId);
+        verify(userNegativeCache).markAbsent(UserCacheMetrics.KEY_ID, userId.toString());
+    }
+
+    @Test
+    void findUserById_ShouldSkipDbWhenUserKnownAbsent() {
+        UUID userId = UUID.randomUUID();
+        when(userCacheService.findUserById(userId)).thenReturn(Optional.empty());
+        when(userNegativeCache.isAbsent(UserCacheMetrics.KEY_ID, userId.toString())).thenReturn(true);
+
+        assertThrows(UserNotFoundException.class, () -> userOperationsService.findUserById(userId));
+
+        verifyNoInteractions(userRepository);
+        verify(userNegativeCache, never()).markAbsent(any(), any());
+    }
+
+    @Test
+    void findByEmailIfExists_ShouldReturnEmptyWithoutDbWhenEmailKnownAbsent() {
+        String email = "absent@example.com";
+        when(userCacheService.findUserByEmail(email)).thenReturn(Optional.empty());
+        when(userNegativeCache.isAbsent(UserCacheMetrics.KEY_EMAIL, email)).thenReturn(true);
+
+        assertTrue(userOperationsService.findByEmailIfExists(" Absent@Example.com ").isEmpty());
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void findByEmailIfExists_ShouldMarkEmailAbsentWhenMissingInDb() {
+        String email = "absent@example.com";
+        when(userCacheService.findUserByEmail(email)).thenReturn(Optional.empty());
+        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+
+        assertTrue(userOperationsService.findByEmailIfExists(email).isEmpty());
+
+        verify(userNegativeCache).markAbsent(UserCacheMetrics.KEY_EMAIL, email);
     }
 
     @Test
@@ -143,4 +201,37 @@ class UserOperationsServiceServiceImplTest {
         verify(userCacheService, never()).cacheUser(any());
         verify(userCacheMapper, never()).toUserCache(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void batchFindUsersById_ShouldMergeCacheHitsAndDbLoadsInInputOrder() {
+        UUID cachedId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        UserCacheEntity cachedEntity = new UserCacheEntity();
+        User cachedUser = User.builder().id(cachedId).build();
+        User dbUser = User.builder().id(missingId).build();
+
+        when(userCacheService.findUsersByIds(List.of(missingId, cachedId))).thenReturn(Map.of(cachedId, cachedEntity));
+        when(userCacheMapper.toUserEntity(cachedEntity)).thenReturn(cachedUser);
+        when(userRepository.findAllById(List.of(missingId))).thenReturn(List.of(dbUser));
+
+        List<User> result = userOperationsService.batchFindUsersById(List.of(missingId, cachedId));
+
+        assertEquals(List.of(dbUser, cachedUser), result);
+        verify(userRepository, never()).findById(any());
+        verify(userCacheService).cacheUsers(anyList());
+        verify(userCacheService, never()).cacheUser(any());
+    }
+
+    @Test
+    void batchFindUsersById_ShouldThrowWhenUserMissingEverywhere() {
+        UUID missingId = UUID.randomUUID();
+
+        when(userCacheService.findUsersByIds(List.of(missingId))).thenReturn(Map.of());
+        when(userRepository.findAllById(List.of(missingId))).thenReturn(List.of());
+
+        assertThrows(UserNotFoundException.class,
+                () -> userOperationsService.batchFindUsersById(List.of(missingId)));
+
+        verify(userCacheService, never()).cacheUsers(anyList());
+    }
+}
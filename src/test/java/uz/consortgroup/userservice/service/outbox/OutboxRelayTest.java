@@ -0,0 +1,165 @@
+package uz.consortgroup.userservice.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.consortgroup.userservice.entity.OutboxEvent;
+import uz.consortgroup.userservice.event.user.UserRegisteredEvent;
+import uz.consortgroup.userservice.kafka.OutboxEventPublisher;
+import uz.consortgroup.userservice.repository.OutboxEventRepository;
+import uz.consortgroup.userservice.service.outbox.OutboxRelay.RelayResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+    private static final String TOPIC = "user-registered-topic";
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxEventPublisher outboxEventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxEventPublisher, objectMapper,
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(outboxRelay, "retryDelay", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(outboxRelay, "lease", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 3);
+        lenient().when(outboxEventRepository.tryLockPartition(anyInt())).thenReturn(true);
+        lenient().when(outboxEventPublisher.eventType(TOPIC)).thenReturn(Optional.of(UserRegisteredEvent.class));
+    }
+
+    @Test
+    void relayBatch_Acknowledged_LeasesThenDeletesEvents() throws Exception {
+        UserRegisteredEvent event = UserRegisteredEvent.builder().userId(UUID.randomUUID()).email("a@b.uz").build();
+        OutboxEvent row = row(objectMapper.writeValueAsString(event), "user-1", 0);
+        when(outboxEventRepository.lockDueBatch(any(LocalDateTime.class), eq(1), eq(4), eq(10)))
+                .thenReturn(List.of(row));
+        when(outboxEventPublisher.publish(eq(TOPIC), anyList())).thenReturn(CompletableFuture.completedFuture(null));
+
+        RelayResult result = outboxRelay.relayBatch(1, 4, 10);
+
+        assertThat(result).isEqualTo(new RelayResult(1, 1, 0, 0));
+        verify(outboxEventRepository).reschedule(eq(List.of(row.getId())), any(LocalDateTime.class));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object>> sent = ArgumentCaptor.forClass(List.class);
+        verify(outboxEventPublisher).publish(eq(TOPIC), sent.capture());
+        assertThat(sent.getValue()).containsExactly(event);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(row.getId()));
+        verify(outboxEventRepository, never()).postpone(anyList(), any());
+    }
+
+    @Test
+    void relayBatch_BrokerRejects_PostponesEvents() throws Exception {
+        OutboxEvent row = row(objectMapper.writeValueAsString(
+                UserRegisteredEvent.builder().userId(UUID.randomUUID()).build()), "user-1", 0);
+        when(outboxEventRepository.lockDueBatch(any(LocalDateTime.class), anyInt(), anyInt(), anyInt()))
+                .thenReturn(List.of(row));
+        when(outboxEventPublisher.publish(eq(TOPIC), anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker error")));
+
+        RelayResult result = outboxRelay.relayBatch(0, 4, 10);
+
+        assertThat(result).isEqualTo(new RelayResult(1, 0, 1, 0));
+        verify(outboxEventRepository).postpone(eq(List.of(row.getId())), any(LocalDateTime.class));
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void relayBatch_TopicWithoutProducer_PostponedWithoutPublishingAndHoldsLaterEventsOfKey() {
+        when(outboxEventPublisher.eventType("removed-topic")).thenReturn(Optional.empty());
+        OutboxEvent unreadable = row("{}", "user-1", 0);
+        unreadable.setTopic("removed-topic");
+        OutboxEvent later = row("{}", "user-1", 0);
+        later.setTopic("removed-topic");
+        when(outboxEventRepository.lockDueBatch(any(LocalDateTime.class), anyInt(), anyInt(), anyInt()))
+                .thenReturn(List.of(unreadable, later));
+
+        RelayResult result = outboxRelay.relayBatch(0, 4, 10);
+
+        assertThat(result).isEqualTo(new RelayResult(2, 0, 2, 0));
+        verify(outboxEventPublisher, never()).publish(any(), anyList());
+        verify(outboxEventRepository).postpone(eq(List.of(unreadable.getId())), any(LocalDateTime.class));
+        verify(outboxEventRepository).reschedule(eq(List.of(later.getId())), any(LocalDateTime.class));
+    }
+
+    @Test
+    void relayBatch_LastAttemptFails_MovesEventToDeadTable() {
+        OutboxEvent row = row("not json", "user-1", 2);
+        when(outboxEventRepository.lockDueBatch(any(LocalDateTime.class), anyInt(), anyInt(), anyInt()))
+                .thenReturn(List.of(row));
+
+        RelayResult result = outboxRelay.relayBatch(0, 4, 10);
+
+        assertThat(result).isEqualTo(new RelayResult(1, 0, 0, 1));
+        verify(outboxEventRepository).copyToDead(eq(List.of(row.getId())), any(LocalDateTime.class));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(row.getId()));
+        verify(outboxEventRepository, never()).postpone(anyList(), any());
+    }
+
+    @Test
+    void relayBatch_PartitionClaimedElsewhere_DoesNothing() {
+        when(outboxEventRepository.tryLockPartition(2)).thenReturn(false);
+
+        assertThat(outboxRelay.relayBatch(2, 4, 10).taken()).isZero();
+        verify(outboxEventRepository, never()).lockDueBatch(any(), anyInt(), anyInt(), anyInt());
+        verifyNoInteractions(outboxEventPublisher);
+    }
+
+    @Test
+    void relayBatch_EmptyOutbox_DoesNothing() {
+        when(outboxEventRepository.lockDueBatch(any(LocalDateTime.class), anyInt(), anyInt(), anyInt()))
+                .thenReturn(List.of());
+
+        assertThat(outboxRelay.relayBatch(0, 4, 10).taken()).isZero();
+        verifyNoInteractions(outboxEventPublisher);
+    }
+
+    private static OutboxEvent row(String payload, String messageKey, int attempts) {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .topic(TOPIC)
+                .payloadType(UserRegisteredEvent.class.getName())
+                .payload(payload)
+                .messageKey(messageKey)
+                .attempts(attempts)
+                .createdAt(now)
+                .availableAt(now)
+                .build();
+    }
+}
@@ -2,17 +2,22 @@ package uz.consortgroup.userservice.service.purchases;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
 import uz.consortgroup.core.api.v1.dto.course.response.course.CourseResponseDto;
 import uz.consortgroup.userservice.client.CourseFeignClient;
 import uz.consortgroup.userservice.entity.UserPurchasedCourse;
 import uz.consortgroup.userservice.event.coursepurchased.CoursePurchasedEvent;
 import uz.consortgroup.userservice.repository.UserPurchasedCourseRepository;
 
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -26,9 +31,12 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,7 +52,7 @@ class CoursePurchaseServiceImplTest {
     private CourseFeignClient courseFeignClient;
 
     @Mock
-    private ValueOperations<String, String> valueOperations;
+    private JdbcTemplate jdbcTemplate;
 
     @InjectMocks
     private CoursePurchaseServiceImpl coursePurchaseService;
@@ -55,19 +63,85 @@ class CoursePurchaseServiceImplTest {
         CoursePurchasedEvent event = createTestEvent(messageId);
         CourseResponseDto courseResponse = createTestCourseResponse();
 
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.setIfAbsent(anyString(), anyString(), any())).thenReturn(true);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(true));
         when(courseFeignClient.getCourseById(event.getCourseId())).thenReturn(courseResponse);
 
         coursePurchaseService.saveAllPurchasedCourses(List.of(event));
 
-        verify(userPurchasedCourseRepository).saveAll(anyList());
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList(), eq(1), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void saveAllPurchasedCourses_BindsPurchaseTimeFromEvent() throws Exception {
+        CoursePurchasedEvent event = createTestEvent(UUID.randomUUID());
+        event.setPurchasedAt(Instant.now().minus(Duration.ofMinutes(10)));
+
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(true));
+        when(courseFeignClient.getCourseById(event.getCourseId())).thenReturn(createTestCourseResponse());
+
+        coursePurchaseService.saveAllPurchasedCourses(List.of(event));
+
+        ArgumentCaptor<List<UserPurchasedCourse>> purchases = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<UserPurchasedCourse>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), purchases.capture(), eq(1), setter.capture());
+
+        PreparedStatement statement = mock(PreparedStatement.class);
+        setter.getValue().setValues(statement, purchases.getValue().get(0));
+
+        verify(statement).setTimestamp(3, Timestamp.from(event.getPurchasedAt()));
+    }
+
+    @Test
+    void saveAllPurchasedCourses_SameCourse_FetchesCourseOnceAndInsertsInOneBatch() {
+        UUID courseId = UUID.randomUUID();
+        CoursePurchasedEvent first = createTestEvent(UUID.randomUUID());
+        CoursePurchasedEvent second = createTestEvent(UUID.randomUUID());
+        first.setCourseId(courseId);
+        second.setCourseId(courseId);
+
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(true, true));
+        when(courseFeignClient.getCourseById(courseId)).thenReturn(createTestCourseResponse());
+
+        coursePurchaseService.saveAllPurchasedCourses(List.of(first, second));
+
+        verify(courseFeignClient, times(1)).getCourseById(courseId);
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList(), eq(2), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void saveAllPurchasedCourses_SameUserAndCourseTwice_UpsertsOneRow() {
+        CoursePurchasedEvent first = createTestEvent(UUID.randomUUID());
+        CoursePurchasedEvent second = createTestEvent(UUID.randomUUID());
+        second.setUserId(first.getUserId());
+        second.setCourseId(first.getCourseId());
+
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(true, true));
+        when(courseFeignClient.getCourseById(first.getCourseId())).thenReturn(createTestCourseResponse());
+
+        coursePurchaseService.saveAllPurchasedCourses(List.of(first, second));
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList(), eq(1), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void saveAllPurchasedCourses_RedisUnavailable_StillUpserts() {
+        CoursePurchasedEvent event = createTestEvent(UUID.randomUUID());
+
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new IllegalStateException("Redis is down"));
+        when(courseFeignClient.getCourseById(event.getCourseId())).thenReturn(createTestCourseResponse());
+
+        coursePurchaseService.saveAllPurchasedCourses(List.of(event));
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList(), eq(1), any(ParameterizedPreparedStatementSetter.class));
     }
 
     @Test
     void saveAllPurchasedCourses_EmptyList() {
         coursePurchaseService.saveAllPurchasedCourses(List.of());
-        verify(userPurchasedCourseRepository, never()).saveAll(any());
+        verifyNoInteractions(redisTemplate, jdbcTemplate);
     }
 
     @Test
@@ -75,12 +149,11 @@ class CoursePurchaseServiceImplTest {
         UUID messageId = UUID.randomUUID();
         CoursePurchasedEvent event = createTestEvent(messageId);
 
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.setIfAbsent(anyString(), anyString(), any())).thenReturn(false);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(false));
 
         coursePurchaseService.saveAllPurchasedCourses(List.of(event));
 
-        verify(userPurchasedCourseRepository, times(1)).saveAll(any());
+        verifyNoInteractions(courseFeignClient, jdbcTemplate);
     }
 
     @Test
@@ -88,11 +161,13 @@ class CoursePurchaseServiceImplTest {
         UUID messageId = UUID.randomUUID();
         CoursePurchasedEvent event = createTestEvent(messageId);
 
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.setIfAbsent(anyString(), anyString(), any())).thenReturn(true);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(true));
 
         assertThrows(RuntimeException.class, () ->
             coursePurchaseService.saveAllPurchasedCourses(List.of(event)));
+
+        verify(redisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), eq(1), any(ParameterizedPreparedStatementSetter.class));
     }
 
     @Test
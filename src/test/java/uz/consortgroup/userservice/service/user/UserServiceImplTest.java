@@ -17,7 +17,7 @@ import uz.consortgroup.userservice.entity.User;
 import uz.consortgroup.userservice.mapper.UserCacheMapper;
 import uz.consortgroup.userservice.mapper.UserMapper;
 import uz.consortgroup.userservice.repository.UserRepository;
-import uz.consortgroup.userservice.service.cache.UserCacheServiceImpl;
+import uz.consortgroup.userservice.service.cache.UserCacheSynchronizer;
 import uz.consortgroup.userservice.service.event.user.UserEventService;
 import uz.consortgroup.userservice.service.operation.UserOperationsServiceServiceImpl;
 import uz.consortgroup.userservice.service.password.PasswordServiceImpl;
@@ -49,9 +49,6 @@ class UserServiceImplTest {
     @Mock
     private VerificationServiceImpl verificationServiceImpl;
 
-    @Mock
-    private UserCacheServiceImpl userCacheService;
-
     @Mock
     private UserCacheMapper userCacheMapper;
 
@@ -67,6 +64,9 @@ class UserServiceImplTest {
     @Mock
     private UserServiceValidator userServiceValidator;
 
+    @Mock
+    private UserCacheSynchronizer userCacheSynchronizer;
+
     @InjectMocks
     private UserServiceImpl userServiceImpl;
 
@@ -119,20 +119,17 @@ class UserServiceImplTest {
         verify(userRepository).save(any(User.class));
         verify(userMapper).toUserRegistrationResponseDto(any(User.class));
         verify(passwordServiceImpl).savePassword(any(User.class), anyString());
+        verify(userCacheSynchronizer).refresh(any(User.class));
     }
 
     @Test
     void verifyUser_ValidCode_Success() {
         UUID userId = UUID.randomUUID();
-        User user = userBuilder().id(userId).build();
-
-        when(userRepository.findById(eq(userId))).thenReturn(Optional.of(user));
-
         userServiceImpl.verifyUser(userId, "123456");
 
         verify(userRepository).updateVerificationStatus(eq(userId), eq(true), eq(UserStatus.ACTIVE));
         verify(userRepository).updateUserRole(eq(userId), eq(UserRole.STUDENT));
-        verify(userCacheService).removeUserFromCache(eq(userId));
+        verify(userCacheSynchronizer).evict(eq(userId));
     }
 
     @Test
@@ -236,6 +233,7 @@ class UserServiceImplTest {
         UserUpdateResponseDto actualResponse = userServiceImpl.updateUserById(userId, updateDto);
 
         assertThat(actualResponse).isEqualTo(expectedResponse);
+        verify(userCacheSynchronizer).refresh(updatedUser);
     }
 
     @Test
@@ -246,6 +244,6 @@ class UserServiceImplTest {
         userServiceImpl.deleteUserById(userId);
 
         verify(userRepository).deleteById(eq(userId));
-        verify(userCacheService).removeUserFromCache(eq(userId));
+        verify(userCacheSynchronizer).evict(eq(userId));
     }
 }
\ No newline at end of file
@@ -14,6 +14,8 @@ import uz.consortgroup.userservice.exception.VerificationCodeExpiredException;
 import uz.consortgroup.userservice.mapper.VerificationCodeCacheMapper;
 import uz.consortgroup.userservice.repository.VerificationCodeRepository;
 import uz.consortgroup.userservice.service.cache.VerificationCodeCacheServiceImpl;
+import uz.consortgroup.userservice.service.cache.store.VerificationCodeCacheStore.VerificationOutcome;
+import uz.consortgroup.userservice.service.cache.store.VerificationCodeCacheStore.VerificationResult;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -26,6 +28,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +43,9 @@ class VerificationServiceImplTest {
     @Mock
     private VerificationCodeCacheMapper verificationCodeCacheMapper;
 
+    @Mock
+    private VerificationCodeAuditWriter verificationCodeAuditWriter;
+
     @InjectMocks
     private VerificationServiceImpl verificationServiceImpl;
 
@@ -90,61 +96,108 @@ class VerificationServiceImplTest {
     }
 
     @Test
-    void verifyCode_ValidCode_ShouldNotThrowException() {
-        UUID userId = UUID.randomUUID();
-        User user = createTestUser(userId);
-        String inputCode = "1234";
-        VerificationCode code = createTestCode(UUID.randomUUID(), user, inputCode);
-        VerificationCodeCacheEntity cacheEntity = new VerificationCodeCacheEntity();
+    void verifyCode_ValidCachedCode_ShouldRecordUsedAsynchronously() {
+        User user = createTestUser(UUID.randomUUID());
+        UUID codeId = UUID.randomUUID();
 
-        when(verificationCodeCacheServiceImpl.findCodeById(user.getId()))
-                .thenReturn(Optional.of(cacheEntity));
-        when(verificationCodeCacheMapper.toVerificationCode(cacheEntity))
-                .thenReturn(code);
+        when(verificationCodeCacheServiceImpl.verifyCode(user.getId(), "1234"))
+                .thenReturn(Optional.of(new VerificationResult(VerificationOutcome.VERIFIED, codeId, 1)));
 
         assertThatNoException()
-                .isThrownBy(() -> verificationServiceImpl.verifyCode(user, inputCode));
+                .isThrownBy(() -> verificationServiceImpl.verifyCode(user, "1234"));
 
-        verify(verificationCodeRepository).updateStatus(
-                eq(code.getId()),
-                eq(VerificationCodeStatus.USED),
-                eq(VerificationCodeStatus.USED.name()),
-                any(LocalDateTime.class)
-        );
+        verify(verificationCodeAuditWriter).recordStatus(
+                eq(codeId), eq(VerificationCodeStatus.USED), any(LocalDateTime.class));
+        verifyNoInteractions(verificationCodeRepository);
     }
 
     @Test
-    void verifyCode_InvalidCode_ShouldThrowInvalidVerificationCodeException() {
-        UUID userId = UUID.randomUUID();
-        User user = createTestUser(userId);
+    void verifyCode_InvalidCachedCode_ShouldThrowInvalidVerificationCodeException() {
+        User user = createTestUser(UUID.randomUUID());
+        UUID codeId = UUID.randomUUID();
+
+        when(verificationCodeCacheServiceImpl.verifyCode(user.getId(), "wrong"))
+                .thenReturn(Optional.of(new VerificationResult(VerificationOutcome.INVALID, codeId, 2)));
+
+        assertThatThrownBy(() -> verificationServiceImpl.verifyCode(user, "wrong"))
+                .isInstanceOf(InvalidVerificationCodeException.class);
+
+        verify(verificationCodeAuditWriter).recordAttempt(eq(codeId), any(LocalDateTime.class));
+        verifyNoInteractions(verificationCodeRepository);
+    }
+
+    @Test
+    void verifyCode_ExpiredCachedCode_ShouldThrowVerificationCodeExpiredException() {
+        User user = createTestUser(UUID.randomUUID());
+        UUID codeId = UUID.randomUUID();
+
+        when(verificationCodeCacheServiceImpl.verifyCode(user.getId(), "1234"))
+                .thenReturn(Optional.of(new VerificationResult(VerificationOutcome.EXPIRED, codeId, 1)));
+
+        assertThatThrownBy(() -> verificationServiceImpl.verifyCode(user, "1234"))
+                .isInstanceOf(VerificationCodeExpiredException.class);
+
+        verify(verificationCodeAuditWriter).recordStatus(
+                eq(codeId), eq(VerificationCodeStatus.EXPIRED), any(LocalDateTime.class));
+    }
+
+    @Test
+    void verifyCode_UsedCachedCode_ShouldThrowInvalidVerificationCodeException() {
+        User user = createTestUser(UUID.randomUUID());
+
+        when(verificationCodeCacheServiceImpl.verifyCode(user.getId(), "1234"))
+                .thenReturn(Optional.of(new VerificationResult(VerificationOutcome.USED, UUID.randomUUID(), 1)));
+
+        assertThatThrownBy(() -> verificationServiceImpl.verifyCode(user, "1234"))
+                .isInstanceOf(InvalidVerificationCodeException.class)
+                .hasMessageContaining("already been used");
+
+        verifyNoInteractions(verificationCodeAuditWriter);
+    }
+
+    @Test
+    void verifyCode_CodeNotCached_ShouldLoadItAndVerifyAgainstCache() {
+        User user = createTestUser(UUID.randomUUID());
         VerificationCode code = createTestCode(UUID.randomUUID(), user, "1234");
         VerificationCodeCacheEntity cacheEntity = new VerificationCodeCacheEntity();
 
-        when(verificationCodeCacheServiceImpl.findCodeById(user.getId()))
-                .thenReturn(Optional.of(cacheEntity));
-        when(verificationCodeCacheMapper.toVerificationCode(cacheEntity))
-                .thenReturn(code);
+        when(verificationCodeCacheServiceImpl.verifyCode(user.getId(), "1234"))
+                .thenReturn(Optional.of(VerificationResult.missing()))
+                .thenReturn(Optional.of(new VerificationResult(VerificationOutcome.VERIFIED, code.getId(), 1)));
+        when(verificationCodeRepository.findLastActiveCodeByUserId(user.getId())).thenReturn(Optional.of(code));
+        when(verificationCodeCacheMapper.toVerificationCodeCacheEntity(code)).thenReturn(cacheEntity);
+
+        verificationServiceImpl.verifyCode(user, "1234");
+
+        verify(verificationCodeCacheServiceImpl).saveVerificationCode(cacheEntity);
+        verify(verificationCodeAuditWriter).recordStatus(
+                eq(code.getId()), eq(VerificationCodeStatus.USED), any(LocalDateTime.class));
+    }
+
+    @Test
+    void verifyCode_CacheUnavailable_ShouldVerifyAgainstDatabase() {
+        User user = createTestUser(UUID.randomUUID());
+        VerificationCode code = createTestCode(UUID.randomUUID(), user, "1234");
+
+        when(verificationCodeCacheServiceImpl.verifyCode(user.getId(), "wrong")).thenReturn(Optional.empty());
+        when(verificationCodeRepository.findLastActiveCodeByUserId(user.getId())).thenReturn(Optional.of(code));
 
         assertThatThrownBy(() -> verificationServiceImpl.verifyCode(user, "wrong"))
                 .isInstanceOf(InvalidVerificationCodeException.class);
 
-        verify(verificationCodeRepository).incrementAttempts(
-                eq(code.getId()),
-                any(LocalDateTime.class));
+        verify(verificationCodeRepository).incrementAttempts(eq(code.getId()), any(LocalDateTime.class));
+        verifyNoInteractions(verificationCodeAuditWriter);
     }
 
     @Test
-    void verifyCode_ExpiredCode_ShouldThrowVerificationCodeExpiredException() {
-        UUID userId = UUID.randomUUID();
-        User user = createTestUser(userId);
+    void verifyCode_ExpiredCodeNotCacheable_ShouldExpireItInDatabase() {
+        User user = createTestUser(UUID.randomUUID());
         VerificationCode code = createTestCode(UUID.randomUUID(), user, "1234");
         code.setExpiresAt(LocalDateTime.now().minusMinutes(1));
-        VerificationCodeCacheEntity cacheEntity = new VerificationCodeCacheEntity();
 
-        when(verificationCodeCacheServiceImpl.findCodeById(user.getId()))
-                .thenReturn(Optional.of(cacheEntity));
-        when(verificationCodeCacheMapper.toVerificationCode(cacheEntity))
-                .thenReturn(code);
+        when(verificationCodeCacheServiceImpl.verifyCode(user.getId(), "1234"))
+                .thenReturn(Optional.of(VerificationResult.missing()));
+        when(verificationCodeRepository.findLastActiveCodeByUserId(user.getId())).thenReturn(Optional.of(code));
 
         assertThatThrownBy(() -> verificationServiceImpl.verifyCode(user, "1234"))
                 .isInstanceOf(VerificationCodeExpiredException.class);
@@ -162,8 +215,8 @@ class VerificationServiceImplTest {
         UUID userId = UUID.randomUUID();
         User user = createTestUser(userId);
 
-        when(verificationCodeCacheServiceImpl.findCodeById(user.getId()))
-                .thenReturn(Optional.empty());
+        when(verificationCodeCacheServiceImpl.verifyCode(user.getId(), "1234"))
+                .thenReturn(Optional.of(VerificationResult.missing()));
         when(verificationCodeRepository.findLastActiveCodeByUserId(user.getId()))
                 .thenReturn(Optional.empty());
 